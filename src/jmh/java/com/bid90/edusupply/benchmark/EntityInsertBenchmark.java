@@ -0,0 +1,78 @@
+package com.bid90.edusupply.benchmark;
+
+import com.bid90.edusupply.EdusupplyApplication;
+import com.bid90.edusupply.model.Location;
+import com.bid90.edusupply.model.LocationType;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persisting many entities in one transaction against H2, with pooled sequence ids.
+ * A JDBC batch size of 1 sends one statement per insert, as {@code IDENTITY} ids forced before;
+ * an allocation size of 1 adds a sequence call per insert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EntityInsertBenchmark {
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"1", "50"})
+    public int allocationSize;
+
+    @Param({"1000"})
+    public int entities;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(EdusupplyApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:insert-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "spring.jpa.properties.edusupply.id.allocation_size=" + allocationSize,
+                        "logging.level.root=WARN")
+                .run();
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long insert() {
+        return transactionTemplate.execute(status -> {
+            long last = 0;
+            for (int i = 0; i < entities; i++) {
+                var location = new Location();
+                location.setName("Room " + i);
+                location.setType(LocationType.CLASSROOM);
+                location.setBuilding("A");
+                location.setFloor(i % 4);
+                entityManager.persist(location);
+                last = location.getId();
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return last;
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.bid90.edusupply.benchmark;
+
+import com.bid90.edusupply.model.Group;
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.model.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shared configuration and data of the benchmarks.
+ */
+final class Fixtures {
+
+    static final String SECRET = "22389bb4-3784-4fa3-ab3f-c93c5ca38c05";
+    static final long ACCESS_EXPIRATION_MS = 3_600_000L;
+    static final long REFRESH_EXPIRATION_MS = 2_592_000_000L;
+
+    private Fixtures() {
+    }
+
+    static Map<String, Object> accessClaims() {
+        return Map.of(
+                "id", UUID.randomUUID().toString(),
+                "role", Role.ADMIN.name(),
+                "email", "admin@admin",
+                "groups", List.of(1L, 2L, 3L));
+    }
+
+    static User user() {
+        var group = new Group();
+        group.setId(1L);
+        group.setName("ALL");
+        group.setDescription("ALL");
+
+        var user = new User();
+        user.setId(1L);
+        user.setName("Admin");
+        user.setEmail("admin@admin");
+        user.setPassword("not-a-hash");
+        user.setRole(Role.ADMIN);
+        user.getGroups().add(group);
+        return user;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bid90.edusupply.benchmark;
+
+import com.bid90.edusupply.filters.JwtRequestFilter;
+import com.bid90.edusupply.service.ClusterSync;
+import com.bid90.edusupply.service.JwtKeyManager;
+import com.bid90.edusupply.service.JwtTokenCache;
+import com.bid90.edusupply.service.JwtTokenService;
+import com.bid90.edusupply.service.RefreshTokenStore;
+import com.bid90.edusupply.service.TokenDenylist;
+import com.bid90.edusupply.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link JwtRequestFilter} with a mocked user lookup and filter chain,
+ * with and without the verified-token cache, in database and claims-only mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtRequestFilterBenchmark {
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    @Param({"false", "true"})
+    public boolean claimsOnly;
+
+    private JwtRequestFilter filter;
+    private FilterChain chain;
+    private String authorization;
+
+    @Setup
+    public void setup() {
+        var keyManager = new JwtKeyManager(Fixtures.SECRET, "", "", "", 5000, Fixtures.REFRESH_EXPIRATION_MS);
+        var jwtTokenService = new JwtTokenService(keyManager, Fixtures.ACCESS_EXPIRATION_MS, Fixtures.REFRESH_EXPIRATION_MS);
+        var userService = Mockito.mock(UserService.class);
+        Mockito.when(userService.getUserById(1L)).thenReturn(Optional.of(Fixtures.user()));
+
+        filter = new JwtRequestFilter(jwtTokenService,
+                new JwtTokenCache(cacheSize, new SimpleMeterRegistry(), ClusterSync.local()),
+                new TokenDenylist(Fixtures.REFRESH_EXPIRATION_MS, ClusterSync.local()),
+                new RefreshTokenStore(ClusterSync.local(), new SimpleMeterRegistry(), 60_000),
+                userService,
+                claimsOnly);
+        chain = (request, response) -> { };
+        authorization = "Bearer " + jwtTokenService.generateToken("1", Fixtures.accessClaims());
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/group");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.bid90.edusupply.benchmark;
+
+import com.bid90.edusupply.service.JwtKeyManager;
+import com.bid90.edusupply.service.JwtTokenService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and verification cost of {@link JwtTokenService} with the shared key material.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtTokenServiceBenchmark {
+
+    private JwtTokenService jwtTokenService;
+    private Map<String, Object> accessClaims;
+    private Map<String, Object> refreshClaims;
+    private String token;
+
+    @Setup
+    public void setup() {
+        var keyManager = new JwtKeyManager(Fixtures.SECRET, "", "", "", 5000, Fixtures.REFRESH_EXPIRATION_MS);
+        jwtTokenService = new JwtTokenService(keyManager, Fixtures.ACCESS_EXPIRATION_MS, Fixtures.REFRESH_EXPIRATION_MS);
+        accessClaims = Fixtures.accessClaims();
+        refreshClaims = Map.of("id", UUID.randomUUID().toString(), "refresh", true);
+        token = jwtTokenService.generateToken("1", accessClaims);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenService.generateToken("1", accessClaims);
+    }
+
+    @Benchmark
+    public Object generateTokens() {
+        return jwtTokenService.generateTokens("1", accessClaims, refreshClaims);
+    }
+
+    @Benchmark
+    public Object verificationToken() {
+        return jwtTokenService.verificationToken(token);
+    }
+}
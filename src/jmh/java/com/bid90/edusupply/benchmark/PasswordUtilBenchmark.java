@@ -0,0 +1,44 @@
+package com.bid90.edusupply.benchmark;
+
+import com.bid90.edusupply.PasswordUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link PasswordUtil#getPassword} with an inline secret and with a secret file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PasswordUtilBenchmark {
+
+    private Path secretFile;
+
+    @Setup
+    public void setup() throws IOException {
+        secretFile = Files.createTempFile("jwt-secret", ".txt");
+        Files.writeString(secretFile, Fixtures.SECRET + "\n");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(secretFile);
+    }
+
+    @Benchmark
+    public String inlineSecret() {
+        return PasswordUtil.getPassword(Fixtures.SECRET, "");
+    }
+
+    @Benchmark
+    public String fileSecret() {
+        return PasswordUtil.getPassword(Fixtures.SECRET, secretFile.toString());
+    }
+}
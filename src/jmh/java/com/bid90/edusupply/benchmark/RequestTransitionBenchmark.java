@@ -0,0 +1,104 @@
+package com.bid90.edusupply.benchmark;
+
+import com.bid90.edusupply.EdusupplyApplication;
+import com.bid90.edusupply.dto.request.BulkTransitionResultDTO;
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.EquipmentRequest;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.model.RequestStatus;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import com.bid90.edusupply.repository.EquipmentRequestRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.RequestWorkflowService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bulk approval of pending equipment requests against an H2 file database, reported in transitions per second.
+ * Every invocation puts the batch back to PENDING first, outside the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 8, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OperationsPerInvocation(RequestTransitionBenchmark.BATCH)
+public class RequestTransitionBenchmark {
+
+    static final int BATCH = 1000;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private RequestWorkflowService requestWorkflowService;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> ids;
+    private Long approverId;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("transitions");
+        context = new SpringApplicationBuilder(EdusupplyApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:file:" + directory.resolve("h2db"),
+                        "outbox.relay.interval-ms=3600000",
+                        "logging.level.root=WARN")
+                .run();
+        requestWorkflowService = context.getBean(RequestWorkflowService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        var requester = context.getBean(UserRepository.class).findByEmail("admin@admin").orElseThrow();
+        approverId = requester.getId();
+        var equipment = new Equipment();
+        equipment.setName("Projector");
+        equipment.setStatus(EquipmentStatus.FUNCTIONAL);
+        equipment = context.getBean(EquipmentRepository.class).save(equipment);
+        List<EquipmentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < BATCH; i++) {
+            var request = new EquipmentRequest();
+            request.setEquipment(equipment);
+            request.setRequester(requester);
+            request.setStatus(RequestStatus.PENDING);
+            request.setRequestDate(LocalDateTime.now());
+            requests.add(request);
+        }
+        ids = context.getBean(EquipmentRequestRepository.class).saveAll(requests).stream()
+                .map(EquipmentRequest::getId)
+                .toList();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetBatch() {
+        jdbcTemplate.update("UPDATE equipment_request_tb SET status = 'PENDING', approved_by_id = NULL, "
+                + "approval_date = NULL WHERE equipment_id = (SELECT equipment_id FROM equipment_request_tb WHERE id = ?)",
+                ids.get(0));
+        // the relay is not running, keep the outbox from growing across invocations
+        jdbcTemplate.update("DELETE FROM outbox_event_tb");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public BulkTransitionResultDTO approve() {
+        return requestWorkflowService.transitionEquipmentRequests(ids, RequestStatus.APPROVED, approverId);
+    }
+}
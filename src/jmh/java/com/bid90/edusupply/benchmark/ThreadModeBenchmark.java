@@ -0,0 +1,101 @@
+package com.bid90.edusupply.benchmark;
+
+import com.bid90.edusupply.config.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform versus virtual threads on the same blocking workload: a burst of requests that each wait on a
+ * remote call without a connection, then run a query while holding a pooled H2 connection.
+ * The platform mode uses a pool of the size of Tomcat's default request pool; the virtual mode starts one
+ * thread per request, with and without {@link ConnectionLimitingDataSource} in front of the pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ThreadModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int POOL_SIZE = 10;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"false", "true"})
+    public boolean connectionLimit;
+
+    @Param({"2000"})
+    public int requests;
+
+    @Param({"5"})
+    public int remoteLatencyMs;
+
+    @Param({"1"})
+    public int queryLatencyMs;
+
+    private HikariDataSource pool;
+    private DataSource dataSource;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() throws SQLException {
+        var config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:thread-mode;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(60_000);
+        pool = new HikariDataSource(config);
+        try (var connection = pool.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("create table if not exists item (id bigint primary key, name varchar(64))");
+            statement.execute("merge into item key (id) values (1, 'one'), (2, 'two'), (3, 'three')");
+        }
+        dataSource = connectionLimit ? new ConnectionLimitingDataSource(pool, POOL_SIZE, 60_000) : pool;
+        executor = mode.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<Long>> results = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            results.add(executor.submit(this::handle));
+        }
+        long sum = 0;
+        for (var result : results) {
+            sum += result.get();
+        }
+        return sum;
+    }
+
+    private long handle() throws Exception {
+        Thread.sleep(remoteLatencyMs);
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("select count(*) from item");
+             var resultSet = statement.executeQuery()) {
+            resultSet.next();
+            // network round trip of a real database, the connection stays borrowed meanwhile
+            Thread.sleep(queryLatencyMs);
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bid90.edusupply.benchmark;
+
+import com.bid90.edusupply.dto.user.RegisterUserDTO;
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.service.UserValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * {@link UserValidator} against the former per-call {@code Pattern.matches} checks, on a valid user and on
+ * a user with a long password that makes the lookahead pattern backtrack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserValidatorBenchmark {
+
+    @Param({"valid", "long-password"})
+    public String input;
+
+    private UserValidator validator;
+    private RegisterUserDTO user;
+
+    @Setup
+    public void setup() {
+        validator = new UserValidator();
+        user = new RegisterUserDTO();
+        user.setName("Jane Doe");
+        user.setEmail("jane.doe@school.test");
+        user.setRole(Role.USER);
+        user.setPassword(input.equals("valid") ? "Secret123@" : "a".repeat(10_000));
+    }
+
+    @Benchmark
+    public List<String> validator() {
+        return validator.validate(user);
+    }
+
+    @Benchmark
+    public boolean patternMatches() {
+        return Pattern.matches("^[A-Za-z0-9+_.-]+@(.+)$", user.getEmail())
+                && !user.getName().trim().isEmpty()
+                && Pattern.matches("^(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$", user.getPassword());
+    }
+}
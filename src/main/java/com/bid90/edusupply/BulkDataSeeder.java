@@ -0,0 +1,225 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.model.Consumable;
+import com.bid90.edusupply.model.ConsumableRequest;
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.EquipmentRequest;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.model.Group;
+import com.bid90.edusupply.model.Location;
+import com.bid90.edusupply.model.LocationType;
+import com.bid90.edusupply.model.RequestStatus;
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.GroupRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds a large, reproducible data set on top of the default data of {@link DataInitializer}.
+ * <p>
+ * Enabled with {@code seed.bulk.enabled=true}, used by the load tests and for sizing. The amount of users,
+ * groups, locations, equipment, consumables and requests is configurable and every random choice comes from
+ * {@code seed.bulk.random-seed}, so two runs with the same settings produce the same data. Rows are inserted
+ * in chunks of {@code seed.bulk.chunk-size}, one transaction per chunk. Seeding is skipped when the first
+ * seeded user already exists. All seeded users share the password {@code seed.bulk.password}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "seed.bulk.enabled", havingValue = "true")
+public class BulkDataSeeder extends DataInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDataSeeder.class);
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Settings settings;
+
+    public BulkDataSeeder(UserRepository userRepository,
+                          GroupRepository groupRepository,
+                          PasswordEncoder passwordEncoder,
+                          EntityManager entityManager,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${seed.bulk.users:10000}") int users,
+                          @Value("${seed.bulk.groups:200}") int groups,
+                          @Value("${seed.bulk.max-groups-per-user:5}") int maxGroupsPerUser,
+                          @Value("${seed.bulk.locations:50}") int locations,
+                          @Value("${seed.bulk.equipment:5000}") int equipment,
+                          @Value("${seed.bulk.consumables:500}") int consumables,
+                          @Value("${seed.bulk.requests:20000}") int requests,
+                          @Value("${seed.bulk.password:Seed123@}") String password,
+                          @Value("${seed.bulk.random-seed:42}") long randomSeed,
+                          @Value("${seed.bulk.chunk-size:1000}") int chunkSize) {
+        super(userRepository, groupRepository, passwordEncoder);
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.settings = new Settings(users, groups, maxGroupsPerUser, locations, equipment, consumables, requests,
+                password, randomSeed, Math.max(chunkSize, 1));
+    }
+
+    /**
+     * Email of the n-th seeded user.
+     *
+     * @param n index of the user, starting at 0
+     * @return the email address
+     */
+    public static String userEmail(int n) {
+        return "seed" + n + "@school.test";
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        super.run(args);
+        if (settings.users() <= 0 || userRepository.findByEmail(userEmail(0)).isPresent()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        var random = new Random(settings.randomSeed());
+        // one hash for all users, encoding thousands of passwords would dominate the seeding time
+        var passwordHash = passwordEncoder.encode(settings.password());
+
+        var groups = insert(settings.groups(), i -> {
+            var group = new Group();
+            group.setName("SEED_GROUP_" + i);
+            group.setDescription("Seeded group " + i);
+            return group;
+        });
+        var users = insert(settings.users(), i -> {
+            var user = new User();
+            user.setName("Seed User " + i);
+            user.setEmail(userEmail(i));
+            user.setPassword(passwordHash);
+            user.setRole(i % 50 == 0 ? Role.MANAGER : Role.USER);
+            if (!groups.isEmpty()) {
+                int memberships = random.nextInt(Math.min(settings.maxGroupsPerUser(), groups.size()) + 1);
+                // compare ids, Group.equals would initialize the references
+                Set<Long> groupIds = new HashSet<>();
+                for (int m = 0; m < memberships; m++) {
+                    var groupId = groups.get(random.nextInt(groups.size()));
+                    if (groupIds.add(groupId)) {
+                        user.getGroups().add(entityManager.getReference(Group.class, groupId));
+                    }
+                }
+            }
+            return user;
+        });
+        var locations = insert(settings.locations(), i -> {
+            var location = new Location();
+            location.setName("Room " + i);
+            location.setType(LocationType.values()[random.nextInt(LocationType.values().length)]);
+            location.setFloor(random.nextInt(5));
+            location.setBuilding("Building " + (char) ('A' + random.nextInt(4)));
+            location.setDescription("Seeded location " + i);
+            return location;
+        });
+        var equipment = insert(settings.equipment(), i -> {
+            var item = new Equipment();
+            item.setName("Equipment " + i);
+            item.setDescription("Seeded equipment " + i);
+            item.setCategory("Category " + random.nextInt(20));
+            item.setStatus(random.nextInt(10) == 0 ? EquipmentStatus.DEFECTIVE : EquipmentStatus.FUNCTIONAL);
+            item.setLocation(randomReference(Location.class, locations, random));
+            item.setPurchaseDate(LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3650)));
+            item.setInventoryCode("INV-" + i);
+            return item;
+        });
+        var consumables = insert(settings.consumables(), i -> {
+            var consumable = new Consumable();
+            consumable.setName("Consumable " + i);
+            consumable.setQuantity(random.nextInt(1000));
+            consumable.setUnit("pcs");
+            consumable.setLocation(randomReference(Location.class, locations, random));
+            return consumable;
+        });
+
+        var now = LocalDateTime.now();
+        int equipmentRequests = equipment.isEmpty() ? 0 : consumables.isEmpty() ? settings.requests() : settings.requests() / 2;
+        int consumableRequests = consumables.isEmpty() ? 0 : settings.requests() - equipmentRequests;
+        insert(equipmentRequests, i -> {
+            var request = new EquipmentRequest();
+            request.setRequester(randomReference(User.class, users, random));
+            request.setEquipment(randomReference(Equipment.class, equipment, random));
+            request.setStatus(randomStatus(random));
+            request.setRequestDate(now.minusMinutes(random.nextInt(525_600)));
+            request.setReason("Seeded request " + i);
+            return request;
+        });
+        insert(consumableRequests, i -> {
+            var request = new ConsumableRequest();
+            request.setRequester(randomReference(User.class, users, random));
+            request.setConsumable(randomReference(Consumable.class, consumables, random));
+            request.setQuantity(1 + random.nextInt(10));
+            request.setStatus(randomStatus(random));
+            request.setRequestDate(now.minusMinutes(random.nextInt(525_600)));
+            request.setReason("Seeded request " + i);
+            return request;
+        });
+
+        logger.info("Bulk seed done in {} ms: {}", System.currentTimeMillis() - start, settings);
+    }
+
+    /**
+     * Persists {@code count} entities built by the factory, one transaction per chunk.
+     *
+     * @return the ids of the persisted entities, in creation order
+     */
+    private List<Long> insert(int count, IntFunction<Object> factory) {
+        List<Long> ids = new ArrayList<>(Math.max(count, 0));
+        for (int from = 0; from < count; from += settings.chunkSize()) {
+            int to = Math.min(from + settings.chunkSize(), count);
+            int chunkStart = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Object> entities = new ArrayList<>(to - chunkStart);
+                for (int i = chunkStart; i < to; i++) {
+                    var entity = factory.apply(i);
+                    entityManager.persist(entity);
+                    entities.add(entity);
+                }
+                entityManager.flush();
+                entities.forEach(entity ->
+                        ids.add((Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity)));
+                entityManager.clear();
+            });
+        }
+        return ids;
+    }
+
+    private <T> T randomReference(Class<T> type, List<Long> ids, Random random) {
+        return ids.isEmpty() ? null : entityManager.getReference(type, ids.get(random.nextInt(ids.size())));
+    }
+
+    private static RequestStatus randomStatus(Random random) {
+        int roll = random.nextInt(10);
+        return roll < 6 ? RequestStatus.PENDING : roll < 9 ? RequestStatus.APPROVED : RequestStatus.REJECTED;
+    }
+
+    private record Settings(int users, int groups, int maxGroupsPerUser, int locations, int equipment,
+                            int consumables, int requests, String password, long randomSeed, int chunkSize) {
+
+        @Override
+        public String toString() {
+            return users + " users, " + groups + " groups, " + locations + " locations, " + equipment
+                    + " equipment, " + consumables + " consumables, " + requests + " requests";
+        }
+    }
+}
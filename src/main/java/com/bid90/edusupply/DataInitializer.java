@@ -6,12 +6,18 @@ import com.bid90.edusupply.model.User;
 import com.bid90.edusupply.repository.GroupRepository;
 import com.bid90.edusupply.repository.UserRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 
+/**
+ * Creates the ALL group and the default admin account on startup.
+ * Replaced by {@link BulkDataSeeder} when {@code seed.bulk.enabled} is set.
+ */
 @Component
+@ConditionalOnProperty(name = "seed.bulk.enabled", havingValue = "false", matchIfMissing = true)
 public class DataInitializer  implements CommandLineRunner {
 
     private final UserRepository userRepository;
@@ -0,0 +1,138 @@
+package com.bid90.edusupply.config;
+
+import com.bid90.edusupply.service.ClusterSync;
+import com.bid90.edusupply.service.EntityCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-through cache of users and groups, see {@link EntityCache} for the regions.
+ * <p>
+ * Every region is a bounded Caffeine cache with its own time to live and size, read from
+ * {@code cache.<region>.ttl-seconds} and {@code cache.<region>.max-size}. Statistics are recorded so that
+ * actuator publishes {@code cache.gets}, {@code cache.puts}, {@code cache.evictions} and {@code cache.size}
+ * per region.
+ * </p>
+ * <p>
+ * With {@code cache.redis.enabled=true} for multi-node deployments, every region becomes a {@link TwoTierCache}:
+ * the Caffeine cache stays as near-cache in front of a Redis tier with the same TTL, evictions are broadcast
+ * to the other nodes, and {@link RedisClusterSync} shares token revocations. When Redis is unreachable the
+ * nodes fall back to local-only mode.
+ * </p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final Map<String, long[]> REGION_DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        // ttl seconds, max size
+        REGION_DEFAULTS.put(EntityCache.USERS, new long[]{600, 10_000});
+        REGION_DEFAULTS.put(EntityCache.USERS_BY_EMAIL, new long[]{600, 10_000});
+        REGION_DEFAULTS.put(EntityCache.GROUPS, new long[]{1800, 1_000});
+        REGION_DEFAULTS.put(EntityCache.GROUPS_BY_NAME, new long[]{1800, 1_000});
+    }
+
+    @Bean
+    RedisAvailability redisAvailability(@Value("${cache.redis.retry-after-ms:30000}") long retryAfterMs,
+                                        MeterRegistry meterRegistry) {
+        var availability = new RedisAvailability(retryAfterMs);
+        Gauge.builder("cache.redis.available", availability, a -> a.isUp() ? 1 : 0).register(meterRegistry);
+        return availability;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+    ClusterSync redisClusterSync(RedisConnectionFactory connectionFactory, RedisAvailability redisAvailability) {
+        return new RedisClusterSync(connectionFactory, redisAvailability);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+    ClusterSync localClusterSync() {
+        return ClusterSync.local();
+    }
+
+    @Bean
+    CacheManager cacheManager(Environment environment,
+                              ClusterSync clusterSync,
+                              RedisAvailability redisAvailability,
+                              ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        var localCacheManager = new CaffeineCacheManager();
+        localCacheManager.setAllowNullValues(false);
+        Map<String, RedisCacheConfiguration> remoteConfigurations = new HashMap<>();
+        REGION_DEFAULTS.forEach((name, defaults) -> {
+            var ttl = Duration.ofSeconds(environment.getProperty("cache." + name + ".ttl-seconds", Long.class, defaults[0]));
+            long maxSize = environment.getProperty("cache." + name + ".max-size", Long.class, defaults[1]);
+            localCacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                    .expireAfterWrite(ttl)
+                    .maximumSize(maxSize)
+                    .recordStats()
+                    .build());
+            remoteConfigurations.put(name, RedisCacheConfiguration.defaultCacheConfig()
+                    .entryTtl(ttl)
+                    .disableCachingNullValues()
+                    .prefixCacheNameWith("edusupply:cache:"));
+        });
+        if (!environment.getProperty("cache.redis.enabled", Boolean.class, false)) {
+            return localCacheManager;
+        }
+
+        var remoteCacheManager = RedisCacheManager.builder(redisConnectionFactory.getObject())
+                .withInitialCacheConfigurations(remoteConfigurations)
+                .disableCreateOnMissingCache()
+                .build();
+        remoteCacheManager.afterPropertiesSet();
+
+        Map<String, TwoTierCache> caches = new LinkedHashMap<>();
+        REGION_DEFAULTS.keySet().forEach(name -> caches.put(name, new TwoTierCache(localCacheManager.getCache(name),
+                remoteCacheManager.getCache(name), redisAvailability, clusterSync)));
+        clusterSync.subscribe(TwoTierCache.TOPIC, payload -> {
+            var invalidation = (TwoTierCache.Invalidation) payload;
+            var cache = caches.get(invalidation.region());
+            if (cache != null) {
+                cache.onInvalidation(invalidation);
+            }
+        });
+
+        var cacheManager = new SimpleCacheManager();
+        List<Cache> regions = new ArrayList<>(caches.values());
+        cacheManager.setCaches(regions);
+        return cacheManager;
+    }
+
+    /**
+     * Publishes the statistics of the near-cache of every {@link TwoTierCache} region.
+     */
+    @Bean
+    CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        var caffeine = new CaffeineCacheMeterBinderProvider();
+        return (cache, tags) -> caffeine.getMeterBinder((CaffeineCache) cache.getLocal(), tags);
+    }
+}
@@ -0,0 +1,77 @@
+package com.bid90.edusupply.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, typically a blocking call such as JDBC
+ * made inside a {@code synchronized} block.
+ * <p>
+ * Listens to the {@code jdk.VirtualThreadPinned} JFR event in-process. Every pinning longer than the threshold
+ * is counted in the {@code jvm.threads.virtual.pinned} metric and logged with the stack trace that caused it.
+ * </p>
+ */
+public class PinnedThreadMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 20;
+
+    private final Duration threshold;
+    private final Counter pinned;
+    private RecordingStream stream;
+
+    /**
+     * Constructs a PinnedThreadMonitor.
+     *
+     * @param threshold     Minimum pinning duration reported.
+     * @param meterRegistry The registry used to publish the pinning counter.
+     */
+    public PinnedThreadMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::report);
+        stream.startAsync();
+        logger.info("Virtual thread pinning detection enabled, threshold {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        pinned.increment();
+        var stackTrace = event.getStackTrace();
+        String frames = stackTrace == null ? "  (no stack trace)" : stackTrace.getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(PinnedThreadMonitor::format)
+                .collect(Collectors.joining("\n"));
+        logger.warn("Virtual thread {} pinned its carrier for {} ms:\n{}",
+                event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                event.getDuration().toMillis(), frames);
+    }
+
+    private static String format(RecordedFrame frame) {
+        var method = frame.getMethod();
+        return "  at " + method.getType().getName() + "." + method.getName() + " line " + frame.getLineNumber();
+    }
+}
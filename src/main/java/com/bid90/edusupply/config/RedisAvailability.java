@@ -0,0 +1,79 @@
+package com.bid90.edusupply.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Tracks whether Redis is reachable and runs Redis calls with a local fallback.
+ * <p>
+ * After a failed call Redis is skipped for {@code retryAfterMs}, so an outage costs one timeout per interval
+ * instead of one per request, and the callers carry on with their local state only.
+ * </p>
+ */
+public class RedisAvailability {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisAvailability.class);
+
+    private final long retryAfterMs;
+    private volatile long downUntil;
+    private volatile boolean down;
+
+    /**
+     * Constructs a RedisAvailability.
+     *
+     * @param retryAfterMs How long Redis is skipped after a failed call.
+     */
+    public RedisAvailability(long retryAfterMs) {
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    /**
+     * @return True unless a recent call failed.
+     */
+    public boolean isUp() {
+        return !down || System.currentTimeMillis() >= downUntil;
+    }
+
+    /**
+     * Runs a Redis call unless Redis is considered down.
+     *
+     * @param call     The Redis call.
+     * @param fallback Result used when Redis is down or the call fails.
+     * @param <T>      The result type.
+     * @return The result of the call or the fallback.
+     */
+    public <T> T call(Supplier<T> call, T fallback) {
+        if (!isUp()) {
+            return fallback;
+        }
+        try {
+            T result = call.get();
+            if (down) {
+                down = false;
+                logger.info("Redis reachable again, leaving local-only mode");
+            }
+            return result;
+        } catch (RuntimeException e) {
+            downUntil = System.currentTimeMillis() + retryAfterMs;
+            if (!down) {
+                down = true;
+                logger.warn("Redis unreachable, running in local-only mode for {} ms: {}", retryAfterMs, e.getMessage());
+            }
+            return fallback;
+        }
+    }
+
+    /**
+     * Runs a Redis call without result unless Redis is considered down.
+     *
+     * @param call The Redis call.
+     */
+    public void run(Runnable call) {
+        call(() -> {
+            call.run();
+            return null;
+        }, null);
+    }
+}
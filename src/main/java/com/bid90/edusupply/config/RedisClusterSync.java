@@ -0,0 +1,156 @@
+package com.bid90.edusupply.config;
+
+import com.bid90.edusupply.service.ClusterSync;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClusterSync} over Redis: messages go through one pub/sub channel and shared entries are plain keys
+ * with a TTL.
+ * <p>
+ * Every node tags its messages with a random node id and ignores its own. All calls go through
+ * {@link RedisAvailability}, so when Redis is unreachable messages are dropped and the nodes keep working on
+ * their local state; the listener container resubscribes on its own once Redis is back.
+ * </p>
+ */
+public class RedisClusterSync implements ClusterSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisClusterSync.class);
+
+    static final String CHANNEL = "edusupply:cluster";
+    private static final String KEY_PREFIX = "edusupply:shared:";
+    private static final int SCAN_BATCH = 500;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final RedisTemplate<String, Object> template;
+    private final RedisMessageListenerContainer container;
+    private final RedisAvailability availability;
+    private final Map<String, List<Consumer<Serializable>>> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a RedisClusterSync, {@link #start()} subscribes to the channel.
+     *
+     * @param connectionFactory The Redis connection factory.
+     * @param availability      Shared Redis availability tracker.
+     */
+    public RedisClusterSync(RedisConnectionFactory connectionFactory, RedisAvailability availability) {
+        this.availability = availability;
+        this.template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.java());
+        template.afterPropertiesSet();
+
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            container.start();
+        } catch (RuntimeException e) {
+            logger.warn("Could not subscribe to {}, retrying in the background: {}", CHANNEL, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        container.destroy();
+    }
+
+    @Override
+    public void publish(String topic, Serializable payload) {
+        availability.run(() -> template.convertAndSend(CHANNEL, new Envelope(nodeId, topic, payload)));
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<Serializable> handler) {
+        handlers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    @Override
+    public void put(String namespace, String key, Serializable value, Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        availability.run(() -> template.opsForValue().set(KEY_PREFIX + namespace + ":" + key, value, ttl));
+    }
+
+    @Override
+    public boolean putIfAbsent(String namespace, String key, Serializable value, Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            return true;
+        }
+        return availability.call(() -> !Boolean.FALSE.equals(
+                template.opsForValue().setIfAbsent(KEY_PREFIX + namespace + ":" + key, value, ttl)), true);
+    }
+
+    @Override
+    public Map<String, Serializable> entries(String namespace) {
+        var prefix = KEY_PREFIX + namespace + ":";
+        return availability.call(() -> {
+            List<String> keys = new ArrayList<>();
+            try (var cursor = template.scan(ScanOptions.scanOptions().match(prefix + "*").count(SCAN_BATCH).build())) {
+                cursor.forEachRemaining(keys::add);
+            }
+            Map<String, Serializable> entries = new HashMap<>();
+            if (keys.isEmpty()) {
+                return entries;
+            }
+            var values = template.opsForValue().multiGet(keys);
+            for (int i = 0; i < keys.size(); i++) {
+                // keys may expire between the scan and the read
+                if (values != null && values.get(i) instanceof Serializable value) {
+                    entries.put(keys.get(i).substring(prefix.length()), value);
+                }
+            }
+            return entries;
+        }, Map.of());
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        Object body;
+        try {
+            body = RedisSerializer.java().deserialize(message.getBody());
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring unreadable cluster message: {}", e.getMessage());
+            return;
+        }
+        if (!(body instanceof Envelope envelope) || envelope.nodeId().equals(nodeId)) {
+            return;
+        }
+        for (var handler : handlers.getOrDefault(envelope.topic(), List.of())) {
+            try {
+                handler.accept(envelope.payload());
+            } catch (RuntimeException e) {
+                logger.warn("Cluster message handler for {} failed", envelope.topic(), e);
+            }
+        }
+    }
+
+    private record Envelope(String nodeId, String topic, Serializable payload) implements Serializable {
+    }
+}
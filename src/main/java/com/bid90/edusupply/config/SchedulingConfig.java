@@ -0,0 +1,13 @@
+package com.bid90.edusupply.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} maintenance jobs, such as the inventory rollup consistency check. Spring Boot
+ * provides the scheduler, sized with {@code spring.task.scheduling.pool.size}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,98 @@
+package com.bid90.edusupply.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Migrates H2 databases created when the ids were {@code IDENTITY} columns.
+ * <p>
+ * On such a database the id sequences are created empty next to tables that already have rows, so the first
+ * pooled ids would collide with existing ones. Before the application inserts anything, every sequence is moved
+ * past the highest id of the tables it serves, and its increment is set to the configured allocation size.
+ * A sequence that is missing, as on a database whose schema predates them, is created past those ids. A sequence
+ * that is already ahead is left alone, so restarting never hands out an id twice.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "id.align-sequences", havingValue = "true", matchIfMissing = true)
+public class SequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceAligner.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceAligner(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void align() {
+        if (!(sessionFactory.getJdbcServices().getDialect() instanceof H2Dialect)) {
+            return;
+        }
+        Map<String, Sequence> sequences = new LinkedHashMap<>();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(descriptor -> {
+            if (descriptor.getGenerator() instanceof SequenceStyleGenerator generator
+                    && descriptor instanceof AbstractEntityPersister persister) {
+                var structure = generator.getDatabaseStructure();
+                sequences.computeIfAbsent(structure.getPhysicalName().render(),
+                                name -> new Sequence(name, structure.getIncrementSize(), new ArrayList<>()))
+                        .ids().add(new IdColumn(persister.getTableName(), persister.getIdentifierColumnNames()[0]));
+            }
+        });
+        sequences.values().forEach(this::align);
+    }
+
+    private void align(Sequence sequence) {
+        long maxId = 0;
+        for (var id : sequence.ids()) {
+            var max = jdbcTemplate.queryForObject("SELECT MAX(" + id.column() + ") FROM " + id.table(), Long.class);
+            maxId = Math.max(maxId, max == null ? 0 : max);
+        }
+        var states = jdbcTemplate.queryForList(
+                "SELECT BASE_VALUE, INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = ?",
+                sequence.name().toUpperCase(Locale.ROOT));
+        if (states.isEmpty()) {
+            long start = maxId + sequence.increment() + 1;
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence.name() + " START WITH " + start
+                    + " INCREMENT BY " + sequence.increment());
+            log.info("Created sequence {} at {} past the ids of {}", sequence.name(), start, sequence.ids());
+            return;
+        }
+        var state = states.get(0);
+        long next = ((Number) state.get("BASE_VALUE")).longValue();
+        long increment = ((Number) state.get("INCREMENT")).longValue();
+        if (increment != sequence.increment()) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence.name() + " INCREMENT BY " + sequence.increment());
+        }
+        // the pooled optimizer hands out the ids (value - increment, value] for each sequence value
+        if (maxId > 0 && next - sequence.increment() < maxId) {
+            long restart = maxId + sequence.increment() + 1;
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence.name() + " RESTART WITH " + restart);
+            log.info("Moved sequence {} to {} past the ids of {}", sequence.name(), restart, sequence.ids());
+        }
+    }
+
+    private record Sequence(String name, int increment, List<IdColumn> ids) {
+    }
+
+    private record IdColumn(String table, String column) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.bid90.edusupply.config;
+
+import com.bid90.edusupply.service.ClusterSync;
+import org.springframework.cache.Cache;
+
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache region with a per-node near-cache in front of a shared Redis tier.
+ * <p>
+ * Reads check the local tier, then Redis, and copy Redis hits into the local tier. Writes go to both tiers.
+ * Evictions remove the entry from both tiers and are published through {@link ClusterSync}, so the other
+ * nodes drop their local copy too. When Redis is unreachable the region behaves like a local cache.
+ * </p>
+ */
+public class TwoTierCache implements Cache {
+
+    /** Topic of the invalidation messages. */
+    public static final String TOPIC = "cache-invalidation";
+
+    private final Cache local;
+    private final Cache remote;
+    private final RedisAvailability availability;
+    private final ClusterSync clusterSync;
+
+    /**
+     * Constructs a TwoTierCache.
+     *
+     * @param local        The near-cache of this node.
+     * @param remote       The shared Redis tier with the same name.
+     * @param availability Shared Redis availability tracker.
+     * @param clusterSync  Channel for invalidation messages.
+     */
+    public TwoTierCache(Cache local, Cache remote, RedisAvailability availability, ClusterSync clusterSync) {
+        this.local = local;
+        this.remote = remote;
+        this.availability = availability;
+        this.clusterSync = clusterSync;
+    }
+
+    /**
+     * @return The near-cache of this node.
+     */
+    public Cache getLocal() {
+        return local;
+    }
+
+    /**
+     * Applies an invalidation received from another node to the local tier only.
+     *
+     * @param invalidation The invalidation message.
+     */
+    public void onInvalidation(Invalidation invalidation) {
+        if (invalidation.key() == null) {
+            local.clear();
+        } else {
+            local.evict(invalidation.key());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = availability.call(() -> remote.get(key), null);
+        if (value != null && value.get() != null) {
+            local.put(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        var value = get(key);
+        if (value == null) {
+            return null;
+        }
+        if (type != null && value.get() != null && !type.isInstance(value.get())) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value.get());
+        }
+        return (T) value.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        availability.run(() -> remote.put(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        availability.run(() -> remote.evict(key));
+        // keys that cannot be sent clear the region on the other nodes
+        clusterSync.publish(TOPIC, new Invalidation(getName(), key instanceof Serializable s ? s : null));
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        availability.run(remote::clear);
+        clusterSync.publish(TOPIC, new Invalidation(getName(), null));
+    }
+
+    /**
+     * Invalidation message, a null key clears the whole region.
+     */
+    public record Invalidation(String region, Serializable key) implements Serializable {
+    }
+}
@@ -0,0 +1,66 @@
+package com.bid90.edusupply.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Virtual-thread execution mode, enabled with {@code spring.threads.virtual.enabled=true}.
+ * <p>
+ * Spring Boot then serves requests on virtual threads and backs {@code @Async} with a virtual-thread executor.
+ * This configuration adds what blocking JPA code needs on top of it: a fair semaphore in front of the
+ * connection pool ({@code datasource.connection-limit.*}) and detection of pinned virtual threads
+ * ({@code virtual-threads.pinning-detection.*}). Password hashing keeps its bounded platform pool in
+ * {@link com.bid90.edusupply.service.LoginExecutor}, since BCrypt is CPU bound.
+ * </p>
+ */
+@Configuration
+@EnableAsync
+public class VirtualThreadConfig {
+
+    /**
+     * Wraps the pooled DataSource in a {@link ConnectionLimitingDataSource}.
+     * Enabled by default in virtual-thread mode, the limit defaults to the Hikari pool size.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.connection-limit.enabled", havingValue = "true")
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment,
+                                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        int maxConnections = environment.getProperty("datasource.connection-limit.max-connections", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long acquireTimeoutMs = environment.getProperty("datasource.connection-limit.acquire-timeout-ms", Long.class,
+                30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    var limited = new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeoutMs);
+                    meterRegistry.ifAvailable(registry -> {
+                        Gauge.builder("datasource.connection-limit.waiting", limited,
+                                ConnectionLimitingDataSource::getWaitingThreads).register(registry);
+                        Gauge.builder("datasource.connection-limit.available", limited,
+                                ConnectionLimitingDataSource::getAvailablePermits).register(registry);
+                    });
+                    return limited;
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "virtual-threads.pinning-detection.enabled", havingValue = "true")
+    PinnedThreadMonitor pinnedThreadMonitor(Environment environment, MeterRegistry meterRegistry) {
+        long thresholdMs = environment.getProperty("virtual-threads.pinning-detection.threshold-ms", Long.class, 20L);
+        return new PinnedThreadMonitor(Duration.ofMillis(thresholdMs), meterRegistry);
+    }
+}
@@ -3,16 +3,24 @@ package com.bid90.edusupply.controller;
 
 import com.bid90.edusupply.dto.auth.LoginRequestDTO;
 import com.bid90.edusupply.dto.auth.LoginResponseDTO;
+import com.bid90.edusupply.dto.auth.RefreshRequestDTO;
+import com.bid90.edusupply.exception.AuthenticationException;
 import com.bid90.edusupply.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -23,16 +31,57 @@ public class AuthController {
         this.authService = authService;
     }
 
+    /**
+     * Authenticates a user. The password check runs on the login executor, so the servlet thread
+     * is released while the hash is computed.
+     *
+     * @param loginRequestDTO the login credentials
+     * @param request         the HTTP request, used for per-IP throttling
+     * @return the tokens and the logged in user
+     */
     @Operation(summary = "User login", description = "Authenticates a user and returns a JWT token.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful"),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts")
     })
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(
-            @RequestBody LoginRequestDTO loginRequestDTO) {
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(
+            @RequestBody LoginRequestDTO loginRequestDTO, HttpServletRequest request) {
+
+        return authService.loginAsync(loginRequestDTO, request.getRemoteAddr())
+                .thenApply(ResponseEntity::ok);
+    }
 
-        var token = authService.login(loginRequestDTO);
-        return ResponseEntity.ok(token);
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token, without the password check.
+     * The presented refresh token can not be used again; presenting it a second time revokes the session.
+     *
+     * @param refreshRequestDTO the refresh token
+     * @return the new tokens and the user
+     */
+    @Operation(summary = "Refresh tokens", description = "Rotates a refresh token into new access and refresh tokens.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens renewed"),
+            @ApiResponse(responseCode = "401", description = "Invalid, expired, revoked or already used refresh token")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@RequestBody RefreshRequestDTO refreshRequestDTO) {
+        return ResponseEntity.ok(authService.refresh(refreshRequestDTO.getRefreshToken()));
+    }
+
+    @Operation(summary = "User logout", description = "Revokes the presented access token.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revoked"),
+            @ApiResponse(responseCode = "401", description = "Invalid token")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization == null || authorization.isBlank()) {
+            throw new AuthenticationException("Missing token", HttpStatus.UNAUTHORIZED);
+        }
+        authService.logout(authorization.startsWith("Bearer ") ? authorization.substring(7) : authorization);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 }
@@ -0,0 +1,97 @@
+package com.bid90.edusupply.controller;
+
+import com.bid90.edusupply.dto.consumable.CreateStockMovementDTO;
+import com.bid90.edusupply.dto.consumable.StockDTO;
+import com.bid90.edusupply.dto.consumable.StockMovementDTO;
+import com.bid90.edusupply.exception.ConsumableException;
+import com.bid90.edusupply.model.StockMovementType;
+import com.bid90.edusupply.service.StockLedgerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the consumable stock ledger.
+ * Reservations and issues are made by the request workflow; this controller records stock
+ * received or returned and exposes balances and movements.
+ */
+@RestController
+@RequestMapping("/api/consumable")
+public class ConsumableController {
+
+    private final StockLedgerService stockLedgerService;
+
+    public ConsumableController(StockLedgerService stockLedgerService) {
+        this.stockLedgerService = stockLedgerService;
+    }
+
+    /**
+     * Retrieves the stock of a consumable.
+     *
+     * @param id ID of the consumable
+     * @return physical, reserved and available quantity
+     */
+    @Operation(summary = "Get stock", description = "Retrieves the physical, reserved and available quantity of a consumable.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock successfully retrieved"),
+            @ApiResponse(responseCode = "404", description = "Consumable not found")
+    })
+    @GetMapping("/{id}/stock")
+    StockDTO getStock(@PathVariable("id") Long id) {
+        return new StockDTO(stockLedgerService.getConsumable(id), stockLedgerService.getAvailable(id));
+    }
+
+    /**
+     * Retrieves the ledger of a consumable.
+     *
+     * @param id ID of the consumable
+     * @return movements ordered from oldest to newest
+     */
+    @Operation(summary = "Get stock movements", description = "Retrieves all stock movements of a consumable.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Movements successfully retrieved"),
+            @ApiResponse(responseCode = "404", description = "Consumable not found")
+    })
+    @GetMapping("/{id}/movements")
+    List<StockMovementDTO> getMovements(@PathVariable("id") Long id) {
+        return stockLedgerService.getMovements(id).stream().map(StockMovementDTO::new).toList();
+    }
+
+    /**
+     * Records stock received or returned.
+     *
+     * @param id                     ID of the consumable
+     * @param createStockMovementDTO type (RECEIPT or RETURN) and quantity
+     * @return the recorded movement
+     */
+    @Operation(summary = "Record stock movement", description = "Records stock received (RECEIPT) or returned (RETURN).",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Movement successfully recorded"),
+            @ApiResponse(responseCode = "400", description = "Invalid movement type or quantity"),
+            @ApiResponse(responseCode = "404", description = "Consumable not found")
+    })
+    @PostMapping("/{id}/movements")
+    ResponseEntity<StockMovementDTO> recordMovement(@PathVariable("id") Long id,
+                                                    @RequestBody CreateStockMovementDTO createStockMovementDTO) {
+        var type = createStockMovementDTO.getType();
+        if (type != StockMovementType.RECEIPT && type != StockMovementType.RETURN) {
+            throw new ConsumableException("Only RECEIPT and RETURN movements can be recorded directly", HttpStatus.BAD_REQUEST);
+        }
+        if (createStockMovementDTO.getQuantity() == null) {
+            throw new ConsumableException("Quantity is required", HttpStatus.BAD_REQUEST);
+        }
+        var movement = stockLedgerService.record(id, type, createStockMovementDTO.getQuantity(), null);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(new StockMovementDTO(movement));
+    }
+}
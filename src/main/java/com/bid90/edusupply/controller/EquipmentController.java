@@ -0,0 +1,41 @@
+package com.bid90.edusupply.controller;
+
+import com.bid90.edusupply.dto.equipment.EquipmentSearchDTO;
+import com.bid90.edusupply.dto.equipment.EquipmentSearchResultDTO;
+import com.bid90.edusupply.service.EquipmentSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for searching the equipment inventory.
+ */
+@RestController
+@RequestMapping("/api/equipment")
+public class EquipmentController {
+
+    private final EquipmentSearchService equipmentSearchService;
+
+    public EquipmentController(EquipmentSearchService equipmentSearchService) {
+        this.equipmentSearchService = equipmentSearchService;
+    }
+
+    /**
+     * Searches equipment by words of the name, description, category or inventory code, ignoring case and
+     * diacritics, and by inventory code prefix. Every word must match the start of a word of the item.
+     *
+     * @param query words, code prefix, filters and maximum number of items
+     * @return the matching items ordered by id, their total and the facet counts by status, category and location
+     */
+    @Operation(summary = "Search equipment", description = "Full-text search over the equipment inventory with facet counts.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Search results")
+    @GetMapping("/search")
+    public EquipmentSearchResultDTO search(@ParameterObject EquipmentSearchDTO query) {
+        return equipmentSearchService.search(query);
+    }
+}
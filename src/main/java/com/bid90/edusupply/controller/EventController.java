@@ -0,0 +1,63 @@
+package com.bid90.edusupply.controller;
+
+import com.bid90.edusupply.dto.PageDTO;
+import com.bid90.edusupply.dto.event.OutboxEventDTO;
+import com.bid90.edusupply.service.OutboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for the change events of users, groups, stock and requests, so that clients follow the
+ * changes incrementally instead of downloading the full lists again.
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    private final OutboxService outboxService;
+
+    public EventController(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    /**
+     * Retrieves one page of the published events after a sequence number.
+     *
+     * @param after sequence number of the last event already seen, 0 to start from the oldest kept event
+     * @param size  page size
+     * @return page of {@link OutboxEventDTO}, {@code nextAfter} is the cursor of the next page
+     */
+    @Operation(summary = "Get change events", description = "Published change events in publication order, by keyset cursor.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Page of events successfully retrieved")
+    @GetMapping("")
+    PageDTO<OutboxEventDTO> getEvents(@Parameter(description = "Return events with a sequence number greater than this one")
+                                      @RequestParam(defaultValue = "0") long after,
+                                      @RequestParam(defaultValue = "100") int size) {
+        return outboxService.getEvents(after, size);
+    }
+
+    /**
+     * Streams the change events as server-sent events, replaying first the events after the given sequence
+     * number. The SSE id of every event is its sequence number.
+     *
+     * @param lastEventId sequence number sent back by the browser on reconnect
+     * @param after       sequence number to resume after, when not reconnecting
+     * @return the event stream
+     */
+    @Operation(summary = "Stream change events", description = "Server-sent events, resumed from Last-Event-ID.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Event stream opened")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                            @Parameter(description = "Replay events with a sequence number greater than this one")
+                            @RequestParam(required = false) Long after) {
+        long from = lastEventId != null ? lastEventId : after != null ? after : Long.MAX_VALUE;
+        return outboxService.subscribe(from);
+    }
+}
@@ -0,0 +1,100 @@
+package com.bid90.edusupply.controller;
+
+import com.bid90.edusupply.exception.ExportException;
+import com.bid90.edusupply.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller exporting whole tables for external reporting.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Streams every row of a dataset, ordered by id. The request datasets hold the live requests, then the
+     * archived ones, told apart by their {@code archived} column.
+     *
+     * @param dataset one of {@code users}, {@code groups}, {@code equipment}, {@code consumables},
+     *                {@code equipment-requests} or {@code consumable-requests}
+     * @param format  {@code ndjson} (one JSON object per line) or {@code csv} (with a header row)
+     * @param gzip    compress the output on the fly
+     * @return the rows, written while they are read
+     */
+    @Operation(summary = "Export dataset", description = "Streams a whole dataset as NDJSON or CSV, optionally gzip compressed.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dataset streamed"),
+            @ApiResponse(responseCode = "400", description = "Unknown format"),
+            @ApiResponse(responseCode = "404", description = "Unknown dataset")
+    })
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Dataset to export", required = true)
+            @PathVariable String dataset,
+            @Parameter(description = "ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Compress the output with gzip")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        var exportDataset = parse(ExportService.Dataset.class, dataset, HttpStatus.NOT_FOUND);
+        var exportFormat = parse(ExportService.Format.class, format, HttpStatus.BAD_REQUEST);
+
+        var filename = dataset.toLowerCase(Locale.ROOT) + "." + format.toLowerCase(Locale.ROOT) + (gzip ? ".gz" : "");
+        MediaType contentType;
+        if (gzip) {
+            contentType = MediaType.parseMediaType("application/gzip");
+        } else if (exportFormat == ExportService.Format.CSV) {
+            contentType = MediaType.parseMediaType("text/csv;charset=UTF-8");
+        } else {
+            contentType = MediaType.parseMediaType("application/x-ndjson");
+        }
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                // sync flush so every fetch reaches the client instead of waiting for the deflater
+                try (var compressed = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE, true)) {
+                    exportService.export(exportDataset, exportFormat, compressed);
+                }
+            } else {
+                exportService.export(exportDataset, exportFormat, outputStream);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, HttpStatus status) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ExportException("Unknown " + type.getSimpleName().toLowerCase(Locale.ROOT) + " " + value, status);
+        }
+    }
+}
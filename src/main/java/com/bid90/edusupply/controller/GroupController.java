@@ -1,18 +1,26 @@
 package com.bid90.edusupply.controller;
 
+import com.bid90.edusupply.dto.PageDTO;
 import com.bid90.edusupply.dto.group.CreateGroupDTO;
 import com.bid90.edusupply.dto.group.GroupDTO;
 import com.bid90.edusupply.dto.group.UpdateGroupDTO;
+import com.bid90.edusupply.model.Group;
 import com.bid90.edusupply.service.GroupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 
 /**
  * REST controller for managing groups within the system.
@@ -23,22 +31,52 @@ import java.util.List;
 public class GroupController {
 
     private final GroupService groupService;
+    private final ObjectMapper objectMapper;
 
-    public GroupController(GroupService groupService) {
+    public GroupController(GroupService groupService, ObjectMapper objectMapper) {
         this.groupService = groupService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Retrieves all groups in the system.
+     * Retrieves one page of groups.
+     * When {@code after} is given, returns the groups with an id greater than it, ordered by id (keyset paging),
+     * and the page and sort parameters are ignored.
      *
-     * @return list of {@link GroupDTO}
+     * @param pageable page, size and sort of the requested page
+     * @param after    id of the last group of the previous keyset page
+     * @return page of {@link GroupDTO}
      */
-    @Operation(summary = "Get all groups", description = "Retrieves a list of all groups available in the system.",
+    @Operation(summary = "Get groups", description = "Retrieves a page of groups, by offset or by keyset cursor.",
             security = @SecurityRequirement(name = "bearerAuth"))
-    @ApiResponse(responseCode = "200", description = "List of groups successfully retrieved")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of groups successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort property")
+    })
     @GetMapping("")
-    List<GroupDTO> getAllGroup() {
-        return groupService.getAllGroup().stream().map(GroupDTO::new).toList();
+    PageDTO<GroupDTO> getAllGroup(@ParameterObject @PageableDefault(size = 50, sort = "id") Pageable pageable,
+                                  @Parameter(description = "Return groups with an id greater than this one")
+                                  @RequestParam(required = false) Long after) {
+        if (after != null) {
+            var groups = groupService.getGroupsAfter(after, pageable.getPageSize()).stream().map(GroupDTO::new).toList();
+            return PageDTO.keyset(groups, pageable.getPageSize(), GroupDTO::getId);
+        }
+        return PageDTO.of(groupService.getGroups(pageable).map(GroupDTO::new));
+    }
+
+    /**
+     * Streams all groups as a JSON array without loading the full list in memory.
+     *
+     * @return the groups, written incrementally
+     */
+    @Operation(summary = "Stream all groups", description = "Writes all groups as a JSON array, ordered by id.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Groups streamed")
+    @GetMapping("/stream")
+    ResponseEntity<StreamingResponseBody> streamAllGroup() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(KeysetStreams.jsonArray(objectMapper, groupService::getGroupsAfter, Group::getId, GroupDTO::new));
     }
 
     /**
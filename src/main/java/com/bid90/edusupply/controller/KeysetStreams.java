@@ -0,0 +1,50 @@
+package com.bid90.edusupply.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Writes a whole table as a JSON array by walking it in keyset chunks,
+ * so only one chunk is held in memory at a time.
+ */
+final class KeysetStreams {
+
+    static final int CHUNK_SIZE = 500;
+
+    private KeysetStreams() {
+    }
+
+    /**
+     * @param objectMapper mapper used to serialize the DTOs
+     * @param fetchAfter   loads up to {@code size} entities with an id greater than the cursor (null for the first chunk)
+     * @param idOf         id of an entity, used as cursor for the next chunk
+     * @param toDto        maps an entity to the serialized DTO
+     */
+    static <T, R> StreamingResponseBody jsonArray(ObjectMapper objectMapper,
+                                                  BiFunction<Long, Integer, List<T>> fetchAfter,
+                                                  Function<T, Long> idOf,
+                                                  Function<T, R> toDto) {
+        return outputStream -> {
+            try (var generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                Long after = null;
+                List<T> chunk;
+                do {
+                    chunk = fetchAfter.apply(after, CHUNK_SIZE);
+                    for (T entity : chunk) {
+                        generator.writeObject(toDto.apply(entity));
+                    }
+                    generator.flush();
+                    if (!chunk.isEmpty()) {
+                        after = idOf.apply(chunk.get(chunk.size() - 1));
+                    }
+                } while (chunk.size() == CHUNK_SIZE);
+                generator.writeEndArray();
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.bid90.edusupply.controller;
+
+import com.bid90.edusupply.dto.location.BuildingSummaryDTO;
+import com.bid90.edusupply.dto.location.LocationSummaryDTO;
+import com.bid90.edusupply.dto.location.RollupCheckDTO;
+import com.bid90.edusupply.service.InventoryRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the inventory summaries of locations, buildings and floors.
+ * The summaries are served from precomputed rollups, see {@link InventoryRollupService}.
+ */
+@RestController
+@RequestMapping("/api/location")
+public class LocationController {
+
+    private final InventoryRollupService inventoryRollupService;
+
+    public LocationController(InventoryRollupService inventoryRollupService) {
+        this.inventoryRollupService = inventoryRollupService;
+    }
+
+    /**
+     * Retrieves the inventory of one location.
+     *
+     * @param id the location id
+     * @return equipment counts by status and category and consumable stock totals of the location
+     */
+    @Operation(summary = "Get location summary", description = "Equipment counts and consumable stock of a location.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Location summary successfully retrieved"),
+            @ApiResponse(responseCode = "404", description = "Location not found")
+    })
+    @GetMapping("/{id}/summary")
+    public LocationSummaryDTO getLocationSummary(@PathVariable Long id) {
+        return inventoryRollupService.getLocationSummary(id);
+    }
+
+    /**
+     * Retrieves the inventory of a building, or of one of its floors.
+     *
+     * @param building the building
+     * @param floor    the floor, all floors when absent
+     * @return equipment counts by status and category and consumable stock totals over the locations there
+     */
+    @Operation(summary = "Get building summary", description = "Equipment counts and consumable stock of a building or floor.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Building summary successfully retrieved"),
+            @ApiResponse(responseCode = "404", description = "No location in the building or on the floor")
+    })
+    @GetMapping("/summary")
+    public BuildingSummaryDTO getBuildingSummary(@RequestParam String building,
+                                                 @Parameter(description = "Restrict the summary to this floor")
+                                                 @RequestParam(required = false) Integer floor) {
+        return inventoryRollupService.getBuildingSummary(building, floor);
+    }
+
+    /**
+     * Recomputes the rollups from the database and reports the locations whose rollups had drifted.
+     *
+     * @return the number of items counted and the ids of the drifted locations
+     */
+    @Operation(summary = "Recompute inventory rollups", description = "Full recompute and consistency check of the rollups.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rollups recomputed"),
+            @ApiResponse(responseCode = "409", description = "A recompute is already running")
+    })
+    @PostMapping("/summary/recompute")
+    public RollupCheckDTO recompute() {
+        return inventoryRollupService.recompute();
+    }
+}
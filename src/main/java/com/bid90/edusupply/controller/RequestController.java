@@ -0,0 +1,168 @@
+package com.bid90.edusupply.controller;
+
+import com.bid90.edusupply.dto.PageDTO;
+import com.bid90.edusupply.dto.request.ArchiveResultDTO;
+import com.bid90.edusupply.dto.request.BulkTransitionDTO;
+import com.bid90.edusupply.dto.request.BulkTransitionResultDTO;
+import com.bid90.edusupply.dto.request.RequestHistoryDTO;
+import com.bid90.edusupply.exception.AuthenticationException;
+import com.bid90.edusupply.security.CurrentUser;
+import com.bid90.edusupply.service.RequestArchiveService;
+import com.bid90.edusupply.service.RequestStatusPushService;
+import com.bid90.edusupply.service.RequestWorkflowService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for the approval workflow of equipment and consumable requests.
+ */
+@RestController
+@RequestMapping("/api/request")
+public class RequestController {
+
+    private final RequestWorkflowService requestWorkflowService;
+    private final RequestArchiveService requestArchiveService;
+    private final RequestStatusPushService requestStatusPushService;
+
+    public RequestController(RequestWorkflowService requestWorkflowService, RequestArchiveService requestArchiveService,
+                             RequestStatusPushService requestStatusPushService) {
+        this.requestWorkflowService = requestWorkflowService;
+        this.requestArchiveService = requestArchiveService;
+        this.requestStatusPushService = requestStatusPushService;
+    }
+
+    /**
+     * Approves or rejects many equipment requests in one transaction.
+     *
+     * @param bulkTransitionDTO ids of the requests and the target status
+     * @return the outcome for every id
+     */
+    @Operation(summary = "Approve or reject equipment requests",
+            description = "Moves pending equipment requests to APPROVED or REJECTED in one transaction.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transition done, see the outcome of every request"),
+            @ApiResponse(responseCode = "400", description = "Invalid target status or ids")
+    })
+    @PostMapping("/equipment/transitions")
+    BulkTransitionResultDTO transitionEquipmentRequests(@RequestBody BulkTransitionDTO bulkTransitionDTO) {
+        return requestWorkflowService.transitionEquipmentRequests(
+                bulkTransitionDTO.getIds(), bulkTransitionDTO.getStatus(), currentUserId());
+    }
+
+    /**
+     * Approves or rejects many consumable requests in one transaction, reserving stock for approvals.
+     *
+     * @param bulkTransitionDTO ids of the requests and the target status
+     * @return the outcome for every id
+     */
+    @Operation(summary = "Approve or reject consumable requests",
+            description = "Moves pending consumable requests to APPROVED or REJECTED in one transaction. "
+                    + "Approvals reserve stock; requests without enough stock stay pending.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transition done, see the outcome of every request"),
+            @ApiResponse(responseCode = "400", description = "Invalid target status or ids"),
+            @ApiResponse(responseCode = "409", description = "Requests modified concurrently")
+    })
+    @PostMapping("/consumable/transitions")
+    BulkTransitionResultDTO transitionConsumableRequests(@RequestBody BulkTransitionDTO bulkTransitionDTO) {
+        return requestWorkflowService.transitionConsumableRequests(
+                bulkTransitionDTO.getIds(), bulkTransitionDTO.getStatus(), currentUserId());
+    }
+
+    /**
+     * Retrieves one page of the request history of the current user, live and archived, newest first.
+     *
+     * @param after id of the last request of the previous page
+     * @param size  page size
+     * @return page of {@link RequestHistoryDTO}
+     */
+    @Operation(summary = "Get my request history",
+            description = "Equipment and consumable requests of the current user, including archived ones, newest first.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of requests successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "Unknown cursor")
+    })
+    @GetMapping("/history")
+    PageDTO<RequestHistoryDTO> getMyHistory(@Parameter(description = "Return the requests after this one")
+                                            @RequestParam(required = false) Long after,
+                                            @RequestParam(defaultValue = "50") int size) {
+        return requestArchiveService.getHistory(currentUserId(), after, size);
+    }
+
+    /**
+     * Retrieves one page of the request history of a user, live and archived, newest first.
+     *
+     * @param id    the requester id
+     * @param after id of the last request of the previous page
+     * @param size  page size
+     * @return page of {@link RequestHistoryDTO}
+     */
+    @Operation(summary = "Get the request history of a user",
+            description = "Equipment and consumable requests of a user, including archived ones, newest first.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of requests successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "Unknown cursor")
+    })
+    @GetMapping("/history/user/{id}")
+    PageDTO<RequestHistoryDTO> getUserHistory(@PathVariable Long id,
+                                              @Parameter(description = "Return the requests after this one")
+                                              @RequestParam(required = false) Long after,
+                                              @RequestParam(defaultValue = "50") int size) {
+        return requestArchiveService.getHistory(id, after, size);
+    }
+
+    /**
+     * Moves old approved and rejected requests to the archive tables now, instead of waiting for the schedule.
+     *
+     * @return the cutoff date and the number of requests moved
+     */
+    @Operation(summary = "Archive old requests",
+            description = "Moves approved and rejected requests older than the configured age to the archive tables.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archive run done"),
+            @ApiResponse(responseCode = "409", description = "An archive run is already in progress")
+    })
+    @PostMapping("/archive")
+    ArchiveResultDTO archive() {
+        return requestArchiveService.archive();
+    }
+
+    /**
+     * Streams the status changes of the current user's requests as server-sent events, or of all requests for
+     * managers and admins, instead of polling. The token is checked once, when the stream is opened; browsers
+     * that cannot set headers on an EventSource pass it as the {@code access_token} query parameter.
+     *
+     * @return the event stream, closed after {@code request.events.timeout-ms}
+     */
+    @Operation(summary = "Stream request status changes",
+            description = "Server-sent request.status_changed events for the requester, and for managers and admins.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "503", description = "Too many open streams on this node")
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamStatusChanges() {
+        return requestStatusPushService.subscribe(currentUserId(), CurrentUser.getRole());
+    }
+
+    private Long currentUserId() {
+        var id = CurrentUser.getId();
+        if (id == null) {
+            throw new AuthenticationException("Not authenticated", HttpStatus.UNAUTHORIZED);
+        }
+        return id;
+    }
+}
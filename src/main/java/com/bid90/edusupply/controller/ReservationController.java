@@ -0,0 +1,105 @@
+package com.bid90.edusupply.controller;
+
+import com.bid90.edusupply.dto.equipment.EquipmentDTO;
+import com.bid90.edusupply.dto.request.CreateReservationDTO;
+import com.bid90.edusupply.dto.request.ReservationDTO;
+import com.bid90.edusupply.exception.AuthenticationException;
+import com.bid90.edusupply.security.CurrentUser;
+import com.bid90.edusupply.service.ReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST controller for reserving equipment for a time window and querying the reservation calendar.
+ */
+@RestController
+@RequestMapping("/api/reservation")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    /**
+     * Reserves an equipment item for the current user, as a pending equipment request with a time window.
+     *
+     * @param createReservationDTO the item, the window and the reason
+     * @return the reservation
+     */
+    @Operation(summary = "Reserve equipment", description = "Creates a pending equipment request for a time window, "
+            + "if no pending or approved request of the item overlaps it.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reservation created"),
+            @ApiResponse(responseCode = "400", description = "Invalid window"),
+            @ApiResponse(responseCode = "404", description = "Equipment not found"),
+            @ApiResponse(responseCode = "409", description = "Equipment already reserved or not functional")
+    })
+    @PostMapping("")
+    ResponseEntity<ReservationDTO> reserve(@RequestBody CreateReservationDTO createReservationDTO) {
+        var id = CurrentUser.getId();
+        if (id == null) {
+            throw new AuthenticationException("Not authenticated", HttpStatus.UNAUTHORIZED);
+        }
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(reservationService.reserve(createReservationDTO, id));
+    }
+
+    /**
+     * Retrieves the reservations of an equipment item that overlap a window.
+     *
+     * @param id   the equipment id
+     * @param from start of the window
+     * @param to   end of the window
+     * @return the reservations, ordered by start time
+     */
+    @Operation(summary = "Get equipment reservations", description = "Pending and approved reservations of an item in a window.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservations successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid window")
+    })
+    @GetMapping("/equipment/{id}")
+    List<ReservationDTO> getReservations(@PathVariable Long id,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return reservationService.getReservations(id, from, to);
+    }
+
+    /**
+     * Retrieves the functional equipment of a building that is free for a whole window.
+     *
+     * @param building the building
+     * @param category only items of this category, all categories when absent
+     * @param from     start of the window
+     * @param to       end of the window
+     * @return the free items, ordered by id
+     */
+    @Operation(summary = "Get available equipment", description = "Functional equipment of a building with no reservation in a window.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Available equipment successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid window")
+    })
+    @GetMapping("/available")
+    List<EquipmentDTO> getAvailable(@RequestParam String building,
+                                    @Parameter(description = "Restrict the result to this category")
+                                    @RequestParam(required = false) String category,
+                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return reservationService.getAvailable(building, category, from, to);
+    }
+}
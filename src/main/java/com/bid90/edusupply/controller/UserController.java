@@ -1,21 +1,35 @@
 package com.bid90.edusupply.controller;
 
 
+import com.bid90.edusupply.dto.PageDTO;
+import com.bid90.edusupply.dto.user.ImportResultDTO;
 import com.bid90.edusupply.dto.user.RegisterUserDTO;
 import com.bid90.edusupply.dto.user.UpdateUserDTO;
 import com.bid90.edusupply.dto.user.UserDTO;
 import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.service.UserImportService;
 import com.bid90.edusupply.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/user")
@@ -23,24 +37,57 @@ public class UserController {
 
 
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Retrieves a list of all registered users.
+     * Retrieves one page of registered users.
+     * When {@code after} is given, returns the users with an id greater than it, ordered by id (keyset paging),
+     * and the page and sort parameters are ignored.
      *
-     * @return a list containing all {@link UserDTO} entities
+     * @param pageable page, size and sort of the requested page
+     * @param after    id of the last user of the previous keyset page
+     * @return a page of {@link UserDTO} entities
      */
-    @Operation(summary = "Get all users", description = "Retrieves a list of all registered users.",
+    @Operation(summary = "Get users", description = "Retrieves a page of registered users, by offset or by keyset cursor.",
             security = @SecurityRequirement(name = "bearerAuth"))
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of users")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of users"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort property")
+    })
     @GetMapping("")
-    public List<UserDTO> getAllUser() {
-        return userService.getAllUser().stream().map(UserDTO::new).toList();
+    public PageDTO<UserDTO> getAllUser(@ParameterObject @PageableDefault(size = 50, sort = "id") Pageable pageable,
+                                       @Parameter(description = "Return users with an id greater than this one")
+                                       @RequestParam(required = false) Long after) {
+        if (after != null) {
+            return PageDTO.keyset(userService.getUsersAfter(after, pageable.getPageSize()), pageable.getPageSize(), UserDTO::getId);
+        }
+        return PageDTO.of(userService.getUsers(pageable));
+    }
+
+    /**
+     * Streams all registered users as a JSON array without loading the full list in memory.
+     *
+     * @return the users, written incrementally
+     */
+    @Operation(summary = "Stream all users", description = "Writes all registered users as a JSON array, ordered by id.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Users streamed")
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUser() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(KeysetStreams.jsonArray(objectMapper, userService::getUsersAfter, UserDTO::getId, Function.identity()));
     }
 
     /**
@@ -66,6 +113,42 @@ public class UserController {
                 .body(new UserDTO(userService.addNewUser(user)));
     }
 
+    /**
+     * Imports many users from a CSV or NDJSON upload.
+     * The upload is read while it arrives and the result of every row is written back as one JSON line,
+     * a chunk at a time, so neither side has to hold the whole import in memory.
+     *
+     * @param request  the upload, {@code text/csv} with a header row or {@code application/x-ndjson}
+     * @param response one {@link ImportResultDTO} per row, in upload order
+     */
+    @Operation(summary = "Bulk import users",
+            description = "Creates users from a CSV (header: name,email,password,role,enabled,groups) or NDJSON upload "
+                    + "and streams one result per row.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rows processed, see the outcome of each row"),
+            @ApiResponse(responseCode = "400", description = "Empty upload or missing email column")
+    })
+    @PostMapping(value = "/bulk", consumes = {"text/csv", NDJSON}, produces = NDJSON)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        response.setContentType(NDJSON);
+        var output = response.getOutputStream();
+        userImportService.importUsers(request.getInputStream(), format, results -> {
+            try {
+                for (var result : results) {
+                    output.write(objectMapper.writeValueAsBytes(result));
+                    output.write('\n');
+                }
+                output.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     @Operation(summary = "Update user", description = "Partially updates user data by ID.",
             security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
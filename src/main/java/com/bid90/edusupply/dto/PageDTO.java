@@ -0,0 +1,41 @@
+package com.bid90.edusupply.dto;
+
+import lombok.Data;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list endpoint.
+ * Offset pages fill {@code page}, {@code totalElements} and {@code totalPages};
+ * keyset pages fill {@code nextAfter} with the cursor for the following page.
+ */
+@Data
+public class PageDTO<T> {
+
+    private List<T> content;
+    private Integer page;
+    private Integer size;
+    private Long totalElements;
+    private Integer totalPages;
+    private Long nextAfter;
+
+    public static <T> PageDTO<T> of(Page<T> page) {
+        var dto = new PageDTO<T>();
+        dto.setContent(page.getContent());
+        dto.setPage(page.getNumber());
+        dto.setSize(page.getSize());
+        dto.setTotalElements(page.getTotalElements());
+        dto.setTotalPages(page.getTotalPages());
+        return dto;
+    }
+
+    public static <T> PageDTO<T> keyset(List<T> content, int size, Function<T, Long> idOf) {
+        var dto = new PageDTO<T>();
+        dto.setContent(content);
+        dto.setSize(size);
+        dto.setNextAfter(content.size() == size ? idOf.apply(content.get(content.size() - 1)) : null);
+        return dto;
+    }
+}
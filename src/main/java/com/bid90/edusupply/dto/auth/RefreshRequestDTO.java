@@ -0,0 +1,9 @@
+package com.bid90.edusupply.dto.auth;
+
+import lombok.Data;
+
+@Data
+public class RefreshRequestDTO {
+
+    String refreshToken;
+}
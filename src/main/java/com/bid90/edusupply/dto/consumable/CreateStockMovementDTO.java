@@ -0,0 +1,11 @@
+package com.bid90.edusupply.dto.consumable;
+
+import com.bid90.edusupply.model.StockMovementType;
+import lombok.Data;
+
+@Data
+public class CreateStockMovementDTO {
+
+    StockMovementType type;
+    Integer quantity;
+}
@@ -0,0 +1,24 @@
+package com.bid90.edusupply.dto.consumable;
+
+import com.bid90.edusupply.model.Consumable;
+import lombok.Data;
+
+@Data
+public class StockDTO {
+
+    private Long consumableId;
+    private String name;
+    private String unit;
+    private Integer quantity;
+    private Integer reservedQuantity;
+    private Integer available;
+
+    public StockDTO(Consumable consumable, int available) {
+        this.consumableId = consumable.getId();
+        this.name = consumable.getName();
+        this.unit = consumable.getUnit();
+        this.quantity = consumable.getQuantity();
+        this.reservedQuantity = consumable.getReservedQuantity();
+        this.available = available;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bid90.edusupply.dto.consumable;
+
+import com.bid90.edusupply.model.StockMovement;
+import com.bid90.edusupply.model.StockMovementType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class StockMovementDTO {
+
+    private Long id;
+    private Long consumableId;
+    private StockMovementType type;
+    private Integer quantity;
+    private Long requestId;
+    private LocalDateTime createdAt;
+
+    public StockMovementDTO(StockMovement movement) {
+        this.id = movement.getId();
+        this.consumableId = movement.getConsumable().getId();
+        this.type = movement.getType();
+        this.quantity = movement.getQuantity();
+        this.requestId = movement.getRequest() != null ? movement.getRequest().getId() : null;
+        this.createdAt = movement.getCreatedAt();
+    }
+}
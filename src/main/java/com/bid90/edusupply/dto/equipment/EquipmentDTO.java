@@ -0,0 +1,40 @@
+package com.bid90.edusupply.dto.equipment;
+
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class EquipmentDTO {
+
+    private Long id;
+    private String name;
+    private String description;
+    private String category;
+    private EquipmentStatus status;
+    private String inventoryCode;
+    private LocalDate purchaseDate;
+    private Long locationId;
+    private String locationName;
+    // orders the snapshots applied to the search index, not part of the API
+    @JsonIgnore
+    private Long version;
+
+    public EquipmentDTO(Equipment equipment) {
+        this.id = equipment.getId();
+        this.name = equipment.getName();
+        this.description = equipment.getDescription();
+        this.category = equipment.getCategory();
+        this.status = equipment.getStatus();
+        this.inventoryCode = equipment.getInventoryCode();
+        this.purchaseDate = equipment.getPurchaseDate();
+        this.version = equipment.getVersion();
+        if (equipment.getLocation() != null) {
+            this.locationId = equipment.getLocation().getId();
+            this.locationName = equipment.getLocation().getName();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.bid90.edusupply.dto.equipment;
+
+import com.bid90.edusupply.model.EquipmentStatus;
+import lombok.Data;
+
+@Data
+public class EquipmentSearchDTO {
+    private String q;
+    private String code;
+    private EquipmentStatus status;
+    private String category;
+    private Long locationId;
+    private Integer limit = 50;
+}
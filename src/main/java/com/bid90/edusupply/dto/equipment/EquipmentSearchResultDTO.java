@@ -0,0 +1,17 @@
+package com.bid90.edusupply.dto.equipment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class EquipmentSearchResultDTO {
+
+    private long total;
+    private List<EquipmentDTO> items;
+    private List<FacetDTO> statusFacets;
+    private List<FacetDTO> categoryFacets;
+    private List<FacetDTO> locationFacets;
+}
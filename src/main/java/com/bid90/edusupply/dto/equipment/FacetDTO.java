@@ -0,0 +1,13 @@
+package com.bid90.edusupply.dto.equipment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FacetDTO {
+
+    private String value;
+    private String label;
+    private long count;
+}
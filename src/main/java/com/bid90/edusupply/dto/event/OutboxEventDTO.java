@@ -0,0 +1,31 @@
+package com.bid90.edusupply.dto.event;
+
+import com.bid90.edusupply.model.OutboxEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+public class OutboxEventDTO implements Serializable {
+
+    private Long id;
+    private Long sequenceNumber;
+    private String aggregateType;
+    private Long aggregateId;
+    private String type;
+    @JsonRawValue
+    private String payload;
+    private LocalDateTime createdAt;
+
+    public OutboxEventDTO(OutboxEvent event) {
+        this.id = event.getId();
+        this.sequenceNumber = event.getSequenceNumber();
+        this.aggregateType = event.getAggregateType();
+        this.aggregateId = event.getAggregateId();
+        this.type = event.getType();
+        this.payload = event.getPayload();
+        this.createdAt = event.getCreatedAt();
+    }
+}
@@ -0,0 +1,25 @@
+package com.bid90.edusupply.dto.event;
+
+import com.bid90.edusupply.dto.request.RequestType;
+import com.bid90.edusupply.model.RequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a {@code request.status_changed} event.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestStatusChangeDTO {
+
+    private Long requestId;
+    private RequestType requestType;
+    private Long requesterId;
+    private RequestStatus status;
+    private Long approverId;
+    private LocalDateTime date;
+}
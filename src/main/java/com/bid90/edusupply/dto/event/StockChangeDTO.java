@@ -0,0 +1,28 @@
+package com.bid90.edusupply.dto.event;
+
+import com.bid90.edusupply.model.Consumable;
+import com.bid90.edusupply.model.StockMovementType;
+import lombok.Data;
+
+/**
+ * Payload of a {@code stock.changed} event: the movement and the stock of the consumable after it.
+ */
+@Data
+public class StockChangeDTO {
+
+    private Long consumableId;
+    private StockMovementType movement;
+    private int quantity;
+    private Long requestId;
+    private int stockQuantity;
+    private int reservedQuantity;
+
+    public StockChangeDTO(Consumable consumable, StockMovementType movement, int quantity, Long requestId) {
+        this.consumableId = consumable.getId();
+        this.movement = movement;
+        this.quantity = quantity;
+        this.requestId = requestId;
+        this.stockQuantity = consumable.getQuantity();
+        this.reservedQuantity = consumable.getReservedQuantity();
+    }
+}
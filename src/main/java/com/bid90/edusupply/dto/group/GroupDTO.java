@@ -2,6 +2,7 @@ package com.bid90.edusupply.dto.group;
 
 import com.bid90.edusupply.model.Group;
 import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.projection.UserGroupRow;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -29,4 +30,13 @@ public class GroupDTO {
         this.createdAt = group.getCreatedAt();
         this.updatedAt = group.getUpdatedAt();
     }
+
+    public GroupDTO(UserGroupRow row) {
+        this.id = row.groupId();
+        this.name = row.name();
+        this.description = row.description();
+        this.immutable = row.immutable();
+        this.createdAt = row.createdAt();
+        this.updatedAt = row.updatedAt();
+    }
 }
@@ -0,0 +1,14 @@
+package com.bid90.edusupply.dto.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BuildingSummaryDTO {
+
+    private String building;
+    private Integer floor;
+    private int locations;
+    private InventorySummaryDTO inventory;
+}
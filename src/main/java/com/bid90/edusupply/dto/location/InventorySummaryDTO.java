@@ -0,0 +1,18 @@
+package com.bid90.edusupply.dto.location;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class InventorySummaryDTO {
+
+    private long equipmentTotal;
+    private Map<String, Long> equipmentByStatus;
+    private Map<String, Long> equipmentByCategory;
+    private Map<String, Map<String, Long>> equipmentByStatusAndCategory;
+    private long consumableItems;
+    private long consumableQuantity;
+    private long consumableReserved;
+    private long consumableAvailable;
+}
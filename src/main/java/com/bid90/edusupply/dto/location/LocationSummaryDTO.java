@@ -0,0 +1,17 @@
+package com.bid90.edusupply.dto.location;
+
+import com.bid90.edusupply.model.LocationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LocationSummaryDTO {
+
+    private Long locationId;
+    private String name;
+    private LocationType type;
+    private String building;
+    private int floor;
+    private InventorySummaryDTO inventory;
+}
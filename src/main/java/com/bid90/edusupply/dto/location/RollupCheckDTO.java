@@ -0,0 +1,15 @@
+package com.bid90.edusupply.dto.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class RollupCheckDTO {
+
+    private int equipment;
+    private int consumables;
+    private List<Long> driftedLocations;
+}
@@ -0,0 +1,15 @@
+package com.bid90.edusupply.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ArchiveResultDTO {
+
+    private LocalDateTime cutoff;
+    private long equipmentRequests;
+    private long consumableRequests;
+}
@@ -0,0 +1,13 @@
+package com.bid90.edusupply.dto.request;
+
+import com.bid90.edusupply.model.RequestStatus;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkTransitionDTO {
+
+    List<Long> ids;
+    RequestStatus status;
+}
@@ -0,0 +1,21 @@
+package com.bid90.edusupply.dto.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkTransitionResultDTO {
+
+    private Integer requested;
+    private Integer succeeded;
+    private List<TransitionResultDTO> results;
+
+    public BulkTransitionResultDTO(List<TransitionResultDTO> results) {
+        this.requested = results.size();
+        this.succeeded = (int) results.stream()
+                .filter(r -> r.getOutcome() == TransitionOutcome.APPROVED || r.getOutcome() == TransitionOutcome.REJECTED)
+                .count();
+        this.results = results;
+    }
+}
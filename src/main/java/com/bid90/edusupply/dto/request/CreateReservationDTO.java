@@ -0,0 +1,14 @@
+package com.bid90.edusupply.dto.request;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CreateReservationDTO {
+
+    private Long equipmentId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String reason;
+}
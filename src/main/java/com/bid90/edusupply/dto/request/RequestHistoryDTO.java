@@ -0,0 +1,24 @@
+package com.bid90.edusupply.dto.request;
+
+import com.bid90.edusupply.model.RequestStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class RequestHistoryDTO {
+
+    private Long id;
+    private RequestType type;
+    private RequestStatus status;
+    private Long requesterId;
+    private Long approvedById;
+    private LocalDateTime requestDate;
+    private LocalDateTime approvalDate;
+    private String reason;
+    private Long itemId;
+    private Integer quantity;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private boolean archived;
+}
@@ -0,0 +1,5 @@
+package com.bid90.edusupply.dto.request;
+
+public enum RequestType {
+    EQUIPMENT, CONSUMABLE
+}
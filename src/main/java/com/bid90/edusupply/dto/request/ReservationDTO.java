@@ -0,0 +1,16 @@
+package com.bid90.edusupply.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ReservationDTO {
+
+    private Long requestId;
+    private Long equipmentId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
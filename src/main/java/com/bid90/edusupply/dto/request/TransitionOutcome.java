@@ -0,0 +1,9 @@
+package com.bid90.edusupply.dto.request;
+
+public enum TransitionOutcome {
+    APPROVED,
+    REJECTED,
+    NOT_FOUND,
+    NOT_PENDING,
+    INSUFFICIENT_STOCK
+}
@@ -0,0 +1,12 @@
+package com.bid90.edusupply.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TransitionResultDTO {
+
+    private Long id;
+    private TransitionOutcome outcome;
+}
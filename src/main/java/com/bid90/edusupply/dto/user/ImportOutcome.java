@@ -0,0 +1,7 @@
+package com.bid90.edusupply.dto.user;
+
+public enum ImportOutcome {
+    CREATED,
+    REJECTED,
+    FAILED
+}
@@ -0,0 +1,19 @@
+package com.bid90.edusupply.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+
+    private long row;
+    private String email;
+    private ImportOutcome outcome;
+    private Long id;
+    private List<String> violations;
+}
@@ -0,0 +1,21 @@
+package com.bid90.edusupply.dto.user;
+
+import com.bid90.edusupply.model.Role;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One row of a bulk user import, the role defaults to {@link Role#USER}.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ImportUserDTO extends RegisterUserDTO {
+    private List<String> groups = new ArrayList<>();
+
+    public ImportUserDTO() {
+        setRole(Role.USER);
+    }
+}
@@ -4,6 +4,7 @@ import com.bid90.edusupply.dto.group.GroupDTO;
 import com.bid90.edusupply.model.Group;
 import com.bid90.edusupply.model.Role;
 import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.projection.UserRow;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -33,4 +34,15 @@ public class UserDTO {
         this.createdAt = user.getCreatedAt();
         this.updatedAt = user.getUpdatedAt();
     }
+
+    public UserDTO(UserRow row, List<GroupDTO> groups) {
+        this.id = row.id();
+        this.name = row.name();
+        this.email = row.email();
+        this.role = row.role();
+        this.group = groups;
+        this.enabled = row.enabled();
+        this.createdAt = row.createdAt();
+        this.updatedAt = row.updatedAt();
+    }
 }
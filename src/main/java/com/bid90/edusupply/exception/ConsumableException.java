@@ -0,0 +1,21 @@
+package com.bid90.edusupply.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ConsumableException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public ConsumableException(String message, HttpStatus status) {
+        super(message);
+        this.status = status;
+    }
+    public ConsumableException(String message, HttpStatus status, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.bid90.edusupply.exception;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -49,6 +51,9 @@ public class GlobalExceptionHandler {
         body.put("status", ex.getStatus().value());
         body.put("error", ex.getStatus().getReasonPhrase());
         body.put("message", ex.getMessage());
+        if (!ex.getViolations().isEmpty()) {
+            body.put("violations", ex.getViolations());
+        }
 
         return ResponseEntity.status(ex.getStatus().value()).body(body);
     }
@@ -64,4 +69,95 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(ex.getStatus().value()).body(body);
     }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Map<String, Object>> handleAuthenticationException(AuthenticationException ex) {
+        log.warn("Authentication exception: {}", ex.getMessage());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", ex.getStatus().value());
+        body.put("error", ex.getStatus().getReasonPhrase());
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(ex.getStatus().value()).body(body);
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Map<String, Object>> handleLoginThrottledException(LoginThrottledException ex) {
+        log.warn("Login throttled: {}", ex.getMessage());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", ex.getStatus().value());
+        body.put("error", ex.getStatus().getReasonPhrase());
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(ex.getStatus().value())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
+    @ExceptionHandler(ConsumableException.class)
+    public ResponseEntity<Map<String, Object>> handleConsumableException(ConsumableException ex) {
+        log.warn("Consumable exception: {}", ex.getMessage(), ex);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", ex.getStatus().value());
+        body.put("error", ex.getStatus().getReasonPhrase());
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(ex.getStatus().value()).body(body);
+    }
+
+    @ExceptionHandler(RequestException.class)
+    public ResponseEntity<Map<String, Object>> handleRequestException(RequestException ex) {
+        log.warn("Request exception: {}", ex.getMessage(), ex);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", ex.getStatus().value());
+        body.put("error", ex.getStatus().getReasonPhrase());
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(ex.getStatus().value()).body(body);
+    }
+
+    @ExceptionHandler(ExportException.class)
+    public ResponseEntity<Map<String, Object>> handleExportException(ExportException ex) {
+        log.warn("Export exception: {}", ex.getMessage());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", ex.getStatus().value());
+        body.put("error", ex.getStatus().getReasonPhrase());
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(ex.getStatus().value()).body(body);
+    }
+
+    @ExceptionHandler(LocationException.class)
+    public ResponseEntity<Map<String, Object>> handleLocationException(LocationException ex) {
+        log.warn("Location exception: {}", ex.getMessage());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", ex.getStatus().value());
+        body.put("error", ex.getStatus().getReasonPhrase());
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(ex.getStatus().value()).body(body);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("Optimistic locking failure: {}", ex.getMessage());
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", "The data was modified concurrently, retry the operation");
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
 }
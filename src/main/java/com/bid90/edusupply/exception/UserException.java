@@ -2,20 +2,34 @@ package com.bid90.edusupply.exception;
 
 import org.springframework.http.HttpStatus;
 
+import java.util.List;
+
 public class UserException extends RuntimeException {
 
     private final HttpStatus status;
+    private final List<String> violations;
 
     public UserException(String message, HttpStatus status) {
         super(message);
         this.status = status;
+        this.violations = List.of();
     }
     public UserException(String message, HttpStatus status, Throwable cause) {
         super(message, cause);
         this.status = status;
+        this.violations = List.of();
+    }
+    public UserException(String message, HttpStatus status, List<String> violations) {
+        super(message);
+        this.status = status;
+        this.violations = List.copyOf(violations);
     }
 
     public HttpStatus getStatus() {
         return status;
     }
+
+    public List<String> getViolations() {
+        return violations;
+    }
 }
\ No newline at end of file
@@ -1,17 +1,25 @@
 package com.bid90.edusupply.filters;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.bid90.edusupply.model.Role;
 import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.security.JwtPrincipal;
+import com.bid90.edusupply.service.JwtTokenCache;
 import com.bid90.edusupply.service.JwtTokenService;
+import com.bid90.edusupply.service.RefreshTokenStore;
+import com.bid90.edusupply.service.TokenDenylist;
 import com.bid90.edusupply.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,28 +27,50 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Enumeration;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * JWT Request Filter for handling authentication on each request.
  * Ensures that requests with a valid JWT token get authenticated.
+ * <p>
+ * With {@code jwt.authentication.claims-only=true} the principal is built from the token claims
+ * instead of loading the user from the database.
+ * </p>
  */
 @Order(1)
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtRequestFilter.class.getName());
+    // EventSource cannot send headers, event streams also accept the token as a query parameter
+    private static final Set<String> EVENT_STREAMS = Set.of("/api/request/events", "/api/events/stream");
     private final JwtTokenService jwtTokenService;
+    private final JwtTokenCache jwtTokenCache;
+    private final TokenDenylist tokenDenylist;
+    private final RefreshTokenStore refreshTokenStore;
     private final UserService userService;
+    private final boolean claimsOnly;
 
     /**
      * Constructor for JwtRequestFilter.
      * @param jwtTokenService Service for handling JWT operations.
+     * @param jwtTokenCache Cache of already verified tokens.
+     * @param tokenDenylist Revoked tokens.
+     * @param refreshTokenStore Revoked token families.
      * @param userService Service for retrieving user details.
+     * @param claimsOnly Whether the principal is built from the token claims only.
      */
-    public JwtRequestFilter(JwtTokenService jwtTokenService, @Lazy UserService userService) {
+    public JwtRequestFilter(JwtTokenService jwtTokenService, JwtTokenCache jwtTokenCache, TokenDenylist tokenDenylist,
+                            RefreshTokenStore refreshTokenStore, @Lazy UserService userService,
+                            @Value("${jwt.authentication.claims-only:false}") boolean claimsOnly) {
         this.jwtTokenService = jwtTokenService;
+        this.jwtTokenCache = jwtTokenCache;
+        this.tokenDenylist = tokenDenylist;
+        this.refreshTokenStore = refreshTokenStore;
         this.userService = userService;
+        this.claimsOnly = claimsOnly;
     }
 
     /**
@@ -65,7 +95,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Extracts the JWT token from the request header.
+     * Extracts the JWT token from the request header, or from the {@code access_token} query parameter when
+     * opening an event stream.
      *
      * @param request HTTP servlet request
      * @return Extracted JWT token or null if not present
@@ -75,21 +106,53 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             return authorizationHeader.substring(7);
         }
+        if ("GET".equals(request.getMethod()) && EVENT_STREAMS.contains(request.getRequestURI())) {
+            return request.getParameter("access_token");
+        }
         return null;
     }
 
     /**
      * Processes JWT authentication by verifying the token and setting authentication context.
+     * Tokens already verified are served from {@link JwtTokenCache} without a new verification or user lookup,
+     * but are checked for revocation on every request.
      *
      * @param jwt     The JWT token
      * @param request The HTTP request
      */
     private void processJwtAuthentication(String jwt, HttpServletRequest request) {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
         try {
+            var cached = jwtTokenCache.get(jwt);
+            if (cached != null) {
+                if (isRevoked(cached.tokenId(), cached.userId(), cached.issuedAt(), cached.family())) {
+                    logger.warn("Revoked JWT Token for user ID: {}", cached.userId());
+                    return;
+                }
+                setAuthentication(cached.principal(), request);
+                return;
+            }
             var decodedJWT = jwtTokenService.verificationToken(jwt);
             String userId = decodedJWT.getSubject();
-            if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                authenticateUser(userId, request);
+            if (userId == null) {
+                return;
+            }
+            if (Boolean.TRUE.equals(decodedJWT.getClaim("refresh").asBoolean())) {
+                // refresh tokens are only accepted by the refresh endpoint
+                logger.warn("Refresh token used as access token for user ID: {}", userId);
+                return;
+            }
+            if (isRevoked(decodedJWT.getClaim("id").asString(), Long.valueOf(userId),
+                    decodedJWT.getIssuedAtAsInstant(), decodedJWT.getClaim("family").asString())) {
+                logger.warn("Revoked JWT Token for user ID: {}", userId);
+                return;
+            }
+            if (claimsOnly) {
+                authenticateFromClaims(jwt, Long.valueOf(userId), decodedJWT, request);
+            } else {
+                authenticateUser(jwt, userId, decodedJWT, request);
             }
         } catch (Exception e) {
             logger.warn("Invalid JWT Token: {}", e.getMessage());
@@ -97,28 +160,78 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Authenticates the user based on the JWT token's subject (UUID).
+     * Checks the in-memory denylist and revoked refresh token families.
      *
-     * @param userId Long of the user
-     * @param request  HTTP servlet request
+     * @param family null for tokens issued before rotation
      */
-    private void authenticateUser(String userId, HttpServletRequest request) {
+    private boolean isRevoked(String tokenId, Long userId, Instant issuedAt, String family) {
+        return tokenDenylist.isRevoked(tokenId, userId, issuedAt)
+                || (family != null && refreshTokenStore.isFamilyRevoked(family));
+    }
+
+    /**
+     * Authenticates the user based on the JWT token's subject (UUID) and caches the result.
+     *
+     * @param jwt        The JWT token
+     * @param userId     Long of the user
+     * @param decodedJWT The verified token
+     * @param request    HTTP servlet request
+     */
+    private void authenticateUser(String jwt, String userId, DecodedJWT decodedJWT, HttpServletRequest request) {
         Optional<User> userOptional = userService.getUserById(Long.valueOf(userId));
 
         userOptional.ifPresentOrElse(user -> {
-
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(
-                            user,
-                            null,
-                            user.getAuthorities()
-                    );
-
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
+            jwtTokenCache.put(jwt, cachedToken(user.getId(), user, decodedJWT), decodedJWT.getExpiresAtAsInstant());
+            setAuthentication(user, request);
         }, () -> {
             logger.warn("JWT Token validation failed for user ID: {}", userId);
         });
     }
+
+    /**
+     * Authenticates the user from the token claims without any database access.
+     *
+     * @param jwt        The JWT token
+     * @param userId     Long of the user
+     * @param decodedJWT The verified token
+     * @param request    HTTP servlet request
+     */
+    private void authenticateFromClaims(String jwt, Long userId, DecodedJWT decodedJWT, HttpServletRequest request) {
+        String role = decodedJWT.getClaim("role").asString();
+        if (role == null) {
+            logger.warn("JWT Token without role claim for user ID: {}", userId);
+            return;
+        }
+        var principal = new JwtPrincipal(
+                userId,
+                decodedJWT.getClaim("email").asString(),
+                Role.valueOf(role),
+                decodedJWT.getClaim("groups").asList(Long.class));
+
+        jwtTokenCache.put(jwt, cachedToken(userId, principal, decodedJWT), decodedJWT.getExpiresAtAsInstant());
+        setAuthentication(principal, request);
+    }
+
+    private static JwtTokenCache.CachedToken cachedToken(Long userId, UserDetails principal, DecodedJWT decodedJWT) {
+        return new JwtTokenCache.CachedToken(userId, principal, decodedJWT.getClaim("id").asString(),
+                decodedJWT.getIssuedAtAsInstant(), decodedJWT.getClaim("family").asString());
+    }
+
+    /**
+     * Sets the authenticated principal on the security context.
+     *
+     * @param principal The authenticated principal
+     * @param request   HTTP servlet request
+     */
+    private void setAuthentication(UserDetails principal, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        principal.getAuthorities()
+                );
+
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
 }
\ No newline at end of file
@@ -1,24 +1,31 @@
 package com.bid90.edusupply.model;
 
+import com.bid90.edusupply.service.InventoryRollupListener;
 import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
 @Table(name = "consumable_tb")
+@EntityListeners(InventoryRollupListener.class)
 @Data
 public class Consumable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("consumable_tb_seq")
     private Long id;
 
     private String name;
 
-    private int quantity;
+    private int quantity; // Stoc fizic
+
+    private int reservedQuantity; // Rezervat pentru cereri aprobate
 
     private String unit;
 
     @ManyToOne
     @JoinColumn(name = "location_id")
     private Location location;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.bid90.edusupply.model;
 
+import com.bid90.edusupply.service.EquipmentChangeListener;
+import com.bid90.edusupply.service.InventoryRollupListener;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -7,11 +9,12 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "equipment_tb")
+@EntityListeners({EquipmentChangeListener.class, InventoryRollupListener.class})
 @Data
 public class Equipment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("equipment_tb_seq")
     private Long id;
 
     private String name;
@@ -28,4 +31,7 @@ public class Equipment {
     private LocalDate purchaseDate;
 
     private String inventoryCode;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "equipment_request_tb")
 @Data
@@ -13,4 +15,9 @@ public class EquipmentRequest extends Request {
     @ManyToOne
     @JoinColumn(name = "equipment_id", nullable = false)
     private Equipment equipment;
+
+    // reservation window, null for requests made before reservations existed
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
 }
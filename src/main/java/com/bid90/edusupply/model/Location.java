@@ -1,16 +1,17 @@
 package com.bid90.edusupply.model;
 
-
+import com.bid90.edusupply.service.InventoryRollupListener;
 import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
 @Table(name = "location_tb")
+@EntityListeners(InventoryRollupListener.class)
 @Data
 public class Location {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("location_tb_seq")
     private Long id;
 
     private String name;
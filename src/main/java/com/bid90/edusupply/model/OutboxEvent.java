@@ -0,0 +1,43 @@
+package com.bid90.edusupply.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change event of the transactional outbox, written in the transaction of the change it describes.
+ */
+@Entity
+@Table(name = "outbox_event_tb")
+@Data
+public class OutboxEvent {
+
+    @Id
+    @PooledSequence("outbox_event_tb_seq")
+    private Long id;
+
+    @Column(nullable = false)
+    private String aggregateType;
+
+    private Long aggregateId;
+
+    @Column(nullable = false)
+    private String type;
+
+    // JSON
+    @Lob
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Position in the published feed, assigned by the relay in publication order. Ids are allocated in blocks
+     * per node and events commit out of id order, so ids cannot serve as a feed cursor.
+     */
+    private Long sequenceNumber;
+
+    // null until the relay has handed the event to every sink
+    private LocalDateTime publishedAt;
+}
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 public abstract class Request {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("request_seq")
     private Long id;
 
     @ManyToOne
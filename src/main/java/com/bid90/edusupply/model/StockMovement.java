@@ -0,0 +1,40 @@
+package com.bid90.edusupply.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One append-only entry of the consumable stock ledger.
+ */
+@Entity
+@Table(name = "stock_movement_tb")
+@Data
+public class StockMovement {
+
+    @Id
+    @PooledSequence("stock_movement_tb_seq")
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "consumable_id", nullable = false)
+    private Consumable consumable;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StockMovementType type;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    // lazy, the request may have been moved to the archive; reading its id does not load it
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "consumable_request_id")
+    private ConsumableRequest request;
+
+    @CreationTimestamp
+    @Column(name = "createdAt", updatable = false)
+    private LocalDateTime createdAt;
+}
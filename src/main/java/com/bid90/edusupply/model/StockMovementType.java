@@ -0,0 +1,9 @@
+package com.bid90.edusupply.model;
+
+public enum StockMovementType {
+    RECEIPT,     // stock received into the inventory
+    RESERVATION, // stock set aside for an approved request
+    RELEASE,     // reservation cancelled, stock available again
+    ISSUE,       // reserved stock handed out
+    RETURN       // issued stock brought back
+}
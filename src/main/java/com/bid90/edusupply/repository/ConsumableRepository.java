@@ -0,0 +1,22 @@
+package com.bid90.edusupply.repository;
+
+import com.bid90.edusupply.model.Consumable;
+import com.bid90.edusupply.repository.projection.ConsumableRollupRow;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ConsumableRepository extends JpaRepository<Consumable, Long> {
+
+    @EntityGraph(attributePaths = "location")
+    @Query("SELECT c FROM Consumable c WHERE c.location.id = :locationId ORDER BY c.id")
+    List<Consumable> findByLocationId(Long locationId);
+
+    @Query("SELECT new com.bid90.edusupply.repository.projection.ConsumableRollupRow(c.id, l.id, c.quantity, c.reservedQuantity) "
+            + "FROM Consumable c LEFT JOIN c.location l")
+    List<ConsumableRollupRow> findRollupRows();
+}
@@ -0,0 +1,43 @@
+package com.bid90.edusupply.repository;
+
+import com.bid90.edusupply.model.ConsumableRequest;
+import com.bid90.edusupply.model.RequestStatus;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.projection.RequestStatusRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ConsumableRequestRepository extends JpaRepository<ConsumableRequest, Long> {
+
+    @Query("SELECT new com.bid90.edusupply.repository.projection.RequestStatusRow(r.id, r.status, r.requester.id) " +
+            "FROM ConsumableRequest r WHERE r.id IN :ids")
+    List<RequestStatusRow> findStatuses(Collection<Long> ids);
+
+    @Query("SELECT r FROM ConsumableRequest r JOIN FETCH r.consumable WHERE r.id IN :ids AND r.status = :status")
+    List<ConsumableRequest> findWithConsumableByStatus(Collection<Long> ids, RequestStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ConsumableRequest r SET r.status = :to, r.approvedBy = :approver, r.approvalDate = :date " +
+            "WHERE r.id IN :ids AND r.status = :from")
+    int transition(Collection<Long> ids, RequestStatus from, RequestStatus to, User approver, LocalDateTime date);
+
+    @Query("SELECT r.id FROM ConsumableRequest r " +
+            "WHERE r.id IN :ids AND r.status = :status AND r.approvedBy = :approver AND r.approvalDate = :date")
+    List<Long> findTransitioned(Collection<Long> ids, RequestStatus status, User approver, LocalDateTime date);
+
+    @EntityGraph(attributePaths = {"requester", "approvedBy", "consumable", "consumable.location"})
+    @Query("SELECT r FROM ConsumableRequest r WHERE r.requester.id = :requesterId ORDER BY r.requestDate DESC")
+    List<ConsumableRequest> findByRequester(Long requesterId, Pageable pageable);
+
+    @Query("SELECT r.id FROM ConsumableRequest r WHERE r.status = :status AND r.requestDate < :before ORDER BY r.requestDate")
+    List<Long> findIdsByStatusBefore(RequestStatus status, LocalDateTime before, Pageable pageable);
+}
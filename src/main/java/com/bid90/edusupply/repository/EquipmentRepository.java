@@ -0,0 +1,40 @@
+package com.bid90.edusupply.repository;
+
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.repository.projection.EquipmentRollupRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
+
+    @EntityGraph(attributePaths = "location")
+    @Query("SELECT e FROM Equipment e WHERE e.inventoryCode = :inventoryCode")
+    List<Equipment> findByInventoryCode(String inventoryCode);
+
+    @EntityGraph(attributePaths = "location")
+    @Query("SELECT e FROM Equipment e WHERE e.location.id = :locationId AND e.status = :status ORDER BY e.id")
+    List<Equipment> findByLocationAndStatus(Long locationId, EquipmentStatus status);
+
+    @EntityGraph(attributePaths = "location")
+    @Query("SELECT e FROM Equipment e WHERE e.id > :after ORDER BY e.id")
+    List<Equipment> findAllAfter(Long after, Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM Equipment e WHERE e.status = :status")
+    long countByStatus(EquipmentStatus status);
+
+    @EntityGraph(attributePaths = "location")
+    @Query("SELECT e FROM Equipment e JOIN e.location l WHERE l.building = :building AND e.status = :status " +
+            "AND (:category IS NULL OR e.category = :category) ORDER BY e.id")
+    List<Equipment> findInBuilding(String building, EquipmentStatus status, String category);
+
+    @Query("SELECT new com.bid90.edusupply.repository.projection.EquipmentRollupRow(e.id, l.id, e.status, e.category) "
+            + "FROM Equipment e LEFT JOIN e.location l")
+    List<EquipmentRollupRow> findRollupRows();
+}
@@ -1,15 +1,23 @@
 package com.bid90.edusupply.repository;
 
 import com.bid90.edusupply.model.Group;
+import com.bid90.edusupply.service.EntityCache;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface GroupRepository extends JpaRepository<Group,Long>{
 
+    @Cacheable(cacheNames = EntityCache.GROUPS_BY_NAME, unless = "#result == null")
     @Query("SELECT g FROM Group g WHERE g.name = :name")
     Optional<Group> findByName(String name);
+
+    @Query("SELECT g FROM Group g WHERE g.id > :after ORDER BY g.id")
+    List<Group> findAllAfter(Long after, Pageable pageable);
 }
@@ -0,0 +1,20 @@
+package com.bid90.edusupply.repository;
+
+import com.bid90.edusupply.model.Location;
+import com.bid90.edusupply.repository.projection.LocationRollupRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    @Query("SELECT l FROM Location l WHERE l.building = :building AND l.floor = :floor ORDER BY l.id")
+    List<Location> findByBuildingAndFloor(String building, int floor);
+
+    @Query("SELECT new com.bid90.edusupply.repository.projection.LocationRollupRow(l.id, l.name, l.type, l.building, l.floor) "
+            + "FROM Location l")
+    List<LocationRollupRow> findRollupRows();
+}
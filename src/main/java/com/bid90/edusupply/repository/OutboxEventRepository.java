@@ -0,0 +1,34 @@
+package com.bid90.edusupply.repository;
+
+import com.bid90.edusupply.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // locked: relays of several nodes wait on the oldest event instead of publishing the same events
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findUnpublished(Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.sequenceNumber), 0) FROM OutboxEvent e")
+    long findLastSequenceNumber();
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.sequenceNumber > :after ORDER BY e.sequenceNumber")
+    List<OutboxEvent> findPublishedAfter(long after, Pageable pageable);
+
+    // the last published event is kept, it carries the sequence on
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before " +
+            "AND e.sequenceNumber < (SELECT MAX(o.sequenceNumber) FROM OutboxEvent o)")
+    int deletePublishedBefore(LocalDateTime before);
+}
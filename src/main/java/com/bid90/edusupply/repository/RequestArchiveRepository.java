@@ -0,0 +1,148 @@
+package com.bid90.edusupply.repository;
+
+import com.bid90.edusupply.dto.request.RequestHistoryDTO;
+import com.bid90.edusupply.dto.request.RequestType;
+import com.bid90.edusupply.model.RequestStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to the two tiers of the request history: the live request tables and their archive tables.
+ * Callers provide the transaction.
+ */
+@Repository
+public class RequestArchiveRepository {
+
+    private static final String COMMON_COLUMNS = "id, requester_id, status, approved_by_id, request_date, approval_date, reason";
+
+    private record Tables(String live, String archive, String itemColumns, String historyColumns, String archivable) {
+    }
+
+    private static final Tables EQUIPMENT = new Tables("equipment_request_tb", "equipment_request_archive",
+            "equipment_id, start_time, end_time",
+            "equipment_id AS item_id, CAST(NULL AS INTEGER) AS quantity, start_time, end_time",
+            // a reservation stays live until its window has ended
+            " AND (end_time IS NULL OR end_time < ?)");
+    private static final Tables CONSUMABLE = new Tables("consumable_request_tb", "consumable_request_archive",
+            "consumable_id, quantity",
+            "consumable_id AS item_id, quantity, CAST(NULL AS TIMESTAMP) AS start_time, CAST(NULL AS TIMESTAMP) AS end_time",
+            "");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RequestArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Finds live requests that can be archived: approved or rejected, requested before the cutoff and, for
+     * reservations, with a window that has ended.
+     *
+     * @return The ids of at most {@code limit} requests, oldest first.
+     */
+    public List<Long> findArchivable(RequestType type, LocalDateTime before, LocalDateTime now, int limit) {
+        var tables = tables(type);
+        List<Object> args = new ArrayList<>(List.of(RequestStatus.APPROVED.name(), RequestStatus.REJECTED.name(),
+                Timestamp.valueOf(before)));
+        if (!tables.archivable().isEmpty()) {
+            args.add(Timestamp.valueOf(now));
+        }
+        args.add(limit);
+        return jdbcTemplate.queryForList("SELECT id FROM " + tables.live()
+                + " WHERE status IN (?, ?) AND request_date < ?" + tables.archivable()
+                + " ORDER BY request_date, id LIMIT ?", Long.class, args.toArray());
+    }
+
+    /**
+     * Copies the requests into the archive table and deletes them from the live table.
+     *
+     * @param ids        The ids returned by {@link #findArchivable}.
+     * @param archivedAt The time recorded on the archived rows.
+     * @return The number of requests moved.
+     */
+    public int move(RequestType type, List<Long> ids, LocalDateTime archivedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        var tables = tables(type);
+        var columns = COMMON_COLUMNS + ", " + tables.itemColumns();
+        var in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(archivedAt));
+        args.addAll(ids);
+        jdbcTemplate.update("INSERT INTO " + tables.archive() + " (" + columns + ", archived_at) SELECT " + columns
+                + ", ? FROM " + tables.live() + " WHERE id IN (" + in + ")", args.toArray());
+        return jdbcTemplate.update("DELETE FROM " + tables.live() + " WHERE id IN (" + in + ")", ids.toArray());
+    }
+
+    /**
+     * Finds the requests of a requester in one tier, newest first.
+     *
+     * @param beforeDate Request date of the keyset cursor, or null for the first page.
+     * @param beforeId   Id of the keyset cursor, requests with the same date and a smaller id come after it.
+     */
+    public List<RequestHistoryDTO> findHistory(RequestType type, boolean archived, Long requesterId,
+                                               LocalDateTime beforeDate, Long beforeId, int limit) {
+        var tables = tables(type);
+        var sql = new StringBuilder("SELECT ").append(COMMON_COLUMNS).append(", ").append(tables.historyColumns())
+                .append(" FROM ").append(archived ? tables.archive() : tables.live())
+                .append(" WHERE requester_id = ?");
+        List<Object> args = new ArrayList<>(List.of(requesterId));
+        if (beforeDate != null) {
+            sql.append(" AND (request_date < ? OR (request_date = ? AND id < ?))");
+            args.addAll(List.of(Timestamp.valueOf(beforeDate), Timestamp.valueOf(beforeDate), beforeId));
+        }
+        sql.append(" ORDER BY request_date DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), historyMapper(type, archived), args.toArray());
+    }
+
+    /**
+     * @return The request date of a request in either tier, empty if there is no such request.
+     */
+    public Optional<LocalDateTime> findRequestDate(Long id) {
+        for (var tables : List.of(EQUIPMENT, CONSUMABLE)) {
+            for (var table : List.of(tables.live(), tables.archive())) {
+                var dates = jdbcTemplate.queryForList("SELECT request_date FROM " + table + " WHERE id = ?",
+                        Timestamp.class, id);
+                if (!dates.isEmpty()) {
+                    return Optional.ofNullable(dates.get(0)).map(Timestamp::toLocalDateTime);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Tables tables(RequestType type) {
+        return type == RequestType.EQUIPMENT ? EQUIPMENT : CONSUMABLE;
+    }
+
+    private static RowMapper<RequestHistoryDTO> historyMapper(RequestType type, boolean archived) {
+        return (rs, rowNum) -> {
+            var history = new RequestHistoryDTO();
+            history.setId(rs.getLong("id"));
+            history.setType(type);
+            var status = rs.getString("status");
+            history.setStatus(status == null ? null : RequestStatus.valueOf(status));
+            history.setRequesterId(rs.getLong("requester_id"));
+            history.setApprovedById(rs.getObject("approved_by_id", Long.class));
+            history.setRequestDate(rs.getObject("request_date", LocalDateTime.class));
+            history.setApprovalDate(rs.getObject("approval_date", LocalDateTime.class));
+            history.setReason(rs.getString("reason"));
+            history.setItemId(rs.getLong("item_id"));
+            history.setQuantity(rs.getObject("quantity", Integer.class));
+            history.setStartTime(rs.getObject("start_time", LocalDateTime.class));
+            history.setEndTime(rs.getObject("end_time", LocalDateTime.class));
+            history.setArchived(archived);
+            return history;
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.bid90.edusupply.repository;
+
+import com.bid90.edusupply.model.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    @Query("SELECT m FROM StockMovement m WHERE m.consumable.id = :consumableId ORDER BY m.id")
+    List<StockMovement> findByConsumableId(Long consumableId);
+}
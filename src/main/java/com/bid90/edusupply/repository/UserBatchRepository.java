@@ -0,0 +1,72 @@
+package com.bid90.edusupply.repository;
+
+import com.bid90.edusupply.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch writes of users and group memberships, for imports too large to go through the persistence context.
+ * Callers provide the transaction.
+ */
+@Repository
+public class UserBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public UserBatchRepository(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Inserts the users in one JDBC batch, the password must already be encoded.
+     * Ids are taken from the id generator of {@link User}, so they are known without reading the rows back.
+     *
+     * @param users The users to insert, their id is set.
+     */
+    public void insertUsers(List<User> users) {
+        var session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        var idGenerator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(User.class).getGenerator();
+        for (var user : users) {
+            user.setId((Long) idGenerator.generate(session, user));
+        }
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO user_tb (id, name, email, password, role, enabled, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                users, users.size(), (statement, user) -> {
+                    statement.setLong(1, user.getId());
+                    statement.setString(2, user.getName());
+                    statement.setString(3, user.getEmail());
+                    statement.setString(4, user.getPassword());
+                    statement.setString(5, user.getRole().name());
+                    statement.setBoolean(6, user.isEnabled());
+                    statement.setTimestamp(7, now);
+                    statement.setTimestamp(8, now);
+                });
+    }
+
+    /**
+     * Inserts the group memberships in one JDBC batch.
+     *
+     * @param memberships Pairs of user id and group id.
+     */
+    public void insertMemberships(List<long[]> memberships) {
+        if (memberships.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_group (user_id, group_id) VALUES (?, ?)",
+                memberships, memberships.size(), (statement, membership) -> {
+                    statement.setLong(1, membership[0]);
+                    statement.setLong(2, membership[1]);
+                });
+    }
+}
@@ -1,10 +1,19 @@
 package com.bid90.edusupply.repository;
 
 import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.projection.UserGroupRow;
+import com.bid90.edusupply.repository.projection.UserRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +25,36 @@ public interface UserRepository extends JpaRepository<User,Long> {
     @Query("SELECT u FROM User u WHERE u.email = :email")
     Optional<User> findByEmail(String email);
 
+    @EntityGraph(attributePaths = "groups")
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> findByEmailWithGroups(String email);
+
+    @EntityGraph(attributePaths = "groups")
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findWithGroupsById(Long id);
+
+    @Query(value = "SELECT new com.bid90.edusupply.repository.projection.UserRow(" +
+            "u.id, u.name, u.email, u.role, u.enabled, u.createdAt, u.updatedAt) FROM User u",
+            countQuery = "SELECT count(u) FROM User u")
+    Page<UserRow> findRows(Pageable pageable);
+
+    @Query("SELECT new com.bid90.edusupply.repository.projection.UserRow(" +
+            "u.id, u.name, u.email, u.role, u.enabled, u.createdAt, u.updatedAt) FROM User u " +
+            "WHERE u.id > :after ORDER BY u.id")
+    List<UserRow> findRowsAfter(Long after, Pageable pageable);
+
+    // sets only the password, and only if it was not changed since it was read
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :hash WHERE u.id = :id AND u.password = :previousHash")
+    int updatePassword(Long id, String previousHash, String hash);
+
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
+
+    @Query("SELECT new com.bid90.edusupply.repository.projection.UserGroupRow(" +
+            "u.id, g.id, g.name, g.description, g.immutable, g.createdAt, g.updatedAt) " +
+            "FROM User u JOIN u.groups g WHERE u.id IN :userIds ORDER BY g.id")
+    List<UserGroupRow> findGroupRows(Collection<Long> userIds);
+
 }
@@ -0,0 +1,7 @@
+package com.bid90.edusupply.repository.projection;
+
+/**
+ * Location and stock of a consumable, the fields summed by the inventory rollups.
+ */
+public record ConsumableRollupRow(Long id, Long locationId, int quantity, int reservedQuantity) {
+}
@@ -0,0 +1,9 @@
+package com.bid90.edusupply.repository.projection;
+
+import com.bid90.edusupply.model.EquipmentStatus;
+
+/**
+ * Location, status and category of an equipment item, the fields counted by the inventory rollups.
+ */
+public record EquipmentRollupRow(Long id, Long locationId, EquipmentStatus status, String category) {
+}
@@ -0,0 +1,9 @@
+package com.bid90.edusupply.repository.projection;
+
+import com.bid90.edusupply.model.LocationType;
+
+/**
+ * Name, type and place of a location, the fields the inventory rollups group by.
+ */
+public record LocationRollupRow(Long id, String name, LocationType type, String building, int floor) {
+}
@@ -0,0 +1,9 @@
+package com.bid90.edusupply.repository.projection;
+
+import com.bid90.edusupply.model.RequestStatus;
+
+/**
+ * Id, status and requester of a request, used to classify the items of a bulk transition.
+ */
+public record RequestStatusRow(Long id, RequestStatus status, Long requesterId) {
+}
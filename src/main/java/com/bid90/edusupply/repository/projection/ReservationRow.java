@@ -0,0 +1,9 @@
+package com.bid90.edusupply.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reservation window of an equipment request, loaded into the reservation calendar.
+ */
+public record ReservationRow(Long id, Long equipmentId, LocalDateTime startTime, LocalDateTime endTime) {
+}
@@ -0,0 +1,15 @@
+package com.bid90.edusupply.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One {@code user_group} membership joined with the columns of the group.
+ */
+public record UserGroupRow(Long userId,
+                           Long groupId,
+                           String name,
+                           String description,
+                           boolean immutable,
+                           LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+}
@@ -0,0 +1,17 @@
+package com.bid90.edusupply.repository.projection;
+
+import com.bid90.edusupply.model.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of {@code user_tb} serialized by the user endpoints, without the password hash.
+ */
+public record UserRow(Long id,
+                      String name,
+                      String email,
+                      Role role,
+                      boolean enabled,
+                      LocalDateTime createdAt,
+                      LocalDateTime updatedAt) {
+}
@@ -0,0 +1,44 @@
+package com.bid90.edusupply.security;
+
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.model.User;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Access to the id and role of the authenticated user, whichever principal the JWT filter created.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    /**
+     * @return the id of the authenticated user, or null if the request is not authenticated
+     */
+    public static Long getId() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        return switch (authentication.getPrincipal()) {
+            case User user -> user.getId();
+            case JwtPrincipal principal -> principal.id();
+            default -> null;
+        };
+    }
+
+    /**
+     * @return the role of the authenticated user, or null if the request is not authenticated
+     */
+    public static Role getRole() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        return switch (authentication.getPrincipal()) {
+            case User user -> user.getRole();
+            case JwtPrincipal principal -> principal.role();
+            default -> null;
+        };
+    }
+}
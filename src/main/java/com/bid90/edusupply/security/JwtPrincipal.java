@@ -0,0 +1,60 @@
+package com.bid90.edusupply.security;
+
+import com.bid90.edusupply.model.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable principal built only from the claims of a verified access token.
+ * Used by the claims-only authentication mode, where no user entity is loaded per request.
+ *
+ * @param id       id of the user (token subject)
+ * @param email    email of the user
+ * @param role     role of the user
+ * @param groupIds ids of the groups the user belongs to
+ */
+public record JwtPrincipal(Long id, String email, Role role, List<Long> groupIds) implements UserDetails {
+
+    public JwtPrincipal {
+        groupIds = groupIds == null ? List.of() : List.copyOf(groupIds);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -51,6 +51,7 @@ public class Security {
     private final UserService userService;
     private final List<String> allowedOrigins;
     private final Boolean allowCredentials;
+    private final int bcryptStrength;
 
     /**
      * Constructor for Security configuration.
@@ -59,15 +60,18 @@ public class Security {
      * @param userService       the UserService for loading user details
      * @param allowedOrigins    list of allowed CORS origins
      * @param allowCredentials  flag indicating whether CORS requests allow credentials
+     * @param bcryptStrength    cost factor used for new BCrypt hashes
      */
     public Security(JwtRequestFilter jwtRequestFilter,
                     @Lazy UserService userService,
                     @Value("${cors.allowed-origins}") List<String> allowedOrigins,
-                    @Value("${cors.allowed-credentials}") Boolean allowCredentials) {
+                    @Value("${cors.allowed-credentials}") Boolean allowCredentials,
+                    @Value("${security.bcrypt.strength:10}") int bcryptStrength) {
         this.jwtRequestFilter = jwtRequestFilter;
         this.userService = userService;
         this.allowedOrigins = allowedOrigins;
         this.allowCredentials = allowCredentials;
+        this.bcryptStrength = bcryptStrength;
     }
 
     /**
@@ -77,7 +81,7 @@ public class Security {
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     /**
@@ -137,11 +141,21 @@ public class Security {
                         .requestMatchers(HttpMethod.DELETE, "/api/group/**").hasAnyAuthority(Role.ADMIN.name(),Role.MANAGER.name())
                         .requestMatchers(HttpMethod.PATCH, "/api/group/**").hasAnyAuthority(Role.ADMIN.name(),Role.MANAGER.name())
 
+                        .requestMatchers(HttpMethod.POST, "/api/consumable/**").hasAnyAuthority(Role.ADMIN.name(),Role.MANAGER.name())
+                        .requestMatchers(HttpMethod.POST, "/api/request/*/transitions").hasAnyAuthority(Role.ADMIN.name(),Role.MANAGER.name())
+                        .requestMatchers(HttpMethod.GET, "/api/request/history/user/**").hasAnyAuthority(Role.ADMIN.name(),Role.MANAGER.name())
+                        .requestMatchers(HttpMethod.POST, "/api/request/archive").hasAuthority(Role.ADMIN.name())
+
                         .requestMatchers(HttpMethod.GET, "/api/user").hasAuthority(Role.ADMIN.name())
                         .requestMatchers(HttpMethod.POST, "/api/user").hasAuthority(Role.ADMIN.name())
+                        .requestMatchers(HttpMethod.POST, "/api/user/**").hasAuthority(Role.ADMIN.name())
                         .requestMatchers(HttpMethod.GET, "/api/user/**").hasAuthority(Role.ADMIN.name())
                         .requestMatchers(HttpMethod.DELETE, "/api/user/**").hasAuthority(Role.ADMIN.name())
                         .requestMatchers(HttpMethod.PATCH, "/api/user/**").hasAuthority(Role.ADMIN.name())
+
+                        .requestMatchers(HttpMethod.GET, "/api/export/**").hasAuthority(Role.ADMIN.name())
+                        .requestMatchers(HttpMethod.POST, "/api/location/**").hasAuthority(Role.ADMIN.name())
+                        .requestMatchers(HttpMethod.GET, "/api/events", "/api/events/**").hasAuthority(Role.ADMIN.name())
                         .anyRequest().authenticated()
                 )
                 .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable))
@@ -3,7 +3,15 @@ package com.bid90.edusupply.service;
 import com.bid90.edusupply.dto.auth.LoginRequestDTO;
 import com.bid90.edusupply.dto.auth.LoginResponseDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
 
     LoginResponseDTO login(LoginRequestDTO loginRequestDTO);
+
+    CompletableFuture<LoginResponseDTO> loginAsync(LoginRequestDTO loginRequestDTO, String clientIp);
+
+    LoginResponseDTO refresh(String refreshToken);
+
+    void logout(String token);
 }
@@ -1,16 +1,26 @@
 package com.bid90.edusupply.service;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.bid90.edusupply.dto.auth.LoginRequestDTO;
 import com.bid90.edusupply.dto.auth.LoginResponseDTO;
 import com.bid90.edusupply.dto.user.UserDTO;
 import com.bid90.edusupply.exception.AuthenticationException;
+import com.bid90.edusupply.model.Group;
+import com.bid90.edusupply.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class AuthServiceImpl implements AuthService{
@@ -18,11 +28,53 @@ public class AuthServiceImpl implements AuthService{
     private final UserService userService;
     private final JwtTokenService jwtTokenService;
     private final PasswordEncoder passwordEncoder;
-
-    public AuthServiceImpl(UserService userService, JwtTokenService jwtTokenService, PasswordEncoder passwordEncoder) {
+    private final TokenDenylist tokenDenylist;
+    private final JwtTokenCache jwtTokenCache;
+    private final LoginThrottle loginThrottle;
+    private final LoginExecutor loginExecutor;
+    private final RefreshTokenStore refreshTokenStore;
+    private final Timer passwordHashTimer;
+    private final int bcryptStrength;
+    private final long refreshTokenLifetimeMs;
+
+    public AuthServiceImpl(UserService userService, JwtTokenService jwtTokenService, PasswordEncoder passwordEncoder,
+                           TokenDenylist tokenDenylist, JwtTokenCache jwtTokenCache,
+                           LoginThrottle loginThrottle, LoginExecutor loginExecutor,
+                           RefreshTokenStore refreshTokenStore, MeterRegistry meterRegistry,
+                           @Value("${security.bcrypt.strength:10}") int bcryptStrength,
+                           @Value("${jwt.refresh.expiration}") long refreshTokenLifetimeMs) {
         this.userService = userService;
         this.jwtTokenService = jwtTokenService;
         this.passwordEncoder = passwordEncoder;
+        this.tokenDenylist = tokenDenylist;
+        this.jwtTokenCache = jwtTokenCache;
+        this.loginThrottle = loginThrottle;
+        this.loginExecutor = loginExecutor;
+        this.refreshTokenStore = refreshTokenStore;
+        this.passwordHashTimer = Timer.builder("login.password.hash").register(meterRegistry);
+        this.bcryptStrength = bcryptStrength;
+        this.refreshTokenLifetimeMs = refreshTokenLifetimeMs;
+    }
+
+    @Override
+    public CompletableFuture<LoginResponseDTO> loginAsync(LoginRequestDTO loginRequestDTO, String clientIp) {
+        var email = loginRequestDTO.getEmail();
+        loginThrottle.acquire(email, clientIp);
+        CompletableFuture<LoginResponseDTO> response;
+        try {
+            response = loginExecutor.submit(() -> login(loginRequestDTO));
+        } catch (RuntimeException e) {
+            loginThrottle.release(email, clientIp);
+            throw e;
+        }
+        return response.whenComplete((tokens, error) -> {
+            if (error == null) {
+                loginThrottle.recordSuccess(email, clientIp);
+            } else if (!(error.getCause() instanceof AuthenticationException)) {
+                // only wrong credentials count, not a busy executor or a failing database
+                loginThrottle.release(email, clientIp);
+            }
+        });
     }
 
     @Override
@@ -30,43 +82,129 @@ public class AuthServiceImpl implements AuthService{
        var optionalUser = userService.getUserByEmail(loginRequestDTO.getEmail());
        var userLogin = optionalUser.orElseThrow(() -> new AuthenticationException("Invalid email or password",HttpStatus.UNAUTHORIZED));
 
-        if (!passwordEncoder.matches( loginRequestDTO.getPassword(), userLogin.getPassword())) {
+        long hashStart = System.nanoTime();
+        boolean matches = passwordEncoder.matches(loginRequestDTO.getPassword(), userLogin.getPassword());
+        passwordHashTimer.record(System.nanoTime() - hashStart, TimeUnit.NANOSECONDS);
+        if (!matches) {
             throw new AuthenticationException("Invalid email or password", HttpStatus.UNAUTHORIZED);
         }
 
+        if (bcryptCost(userLogin.getPassword()) != bcryptStrength) {
+            userService.rehashPassword(userLogin, loginRequestDTO.getPassword());
+        }
+
+
+        // every login starts a new family of refresh tokens
+        return issueTokens(userLogin, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for new tokens without checking the password. Each refresh token can be used
+     * once: a token presented again was copied, and the whole family rotated from the same login is revoked,
+     * which also rejects the access tokens issued with it.
+     */
+    @Override
+    public LoginResponseDTO refresh(String refreshToken) {
+        DecodedJWT decodedJWT;
+        try {
+            decodedJWT = jwtTokenService.verificationToken(refreshToken);
+        } catch (Exception e) {
+            throw new AuthenticationException("Invalid refresh token", HttpStatus.UNAUTHORIZED, e);
+        }
+        var tokenId = decodedJWT.getClaim("id").asString();
+        if (tokenId == null || decodedJWT.getSubject() == null || !Boolean.TRUE.equals(decodedJWT.getClaim("refresh").asBoolean())) {
+            throw new AuthenticationException("Invalid refresh token", HttpStatus.UNAUTHORIZED);
+        }
+        var userId = Long.valueOf(decodedJWT.getSubject());
+        // tokens issued before rotation have no family, their own id stands for it
+        var family = Optional.ofNullable(decodedJWT.getClaim("family").asString()).orElse(tokenId);
+        if (tokenDenylist.isRevoked(tokenId, userId, decodedJWT.getIssuedAtAsInstant())
+                || refreshTokenStore.isFamilyRevoked(family)) {
+            throw new AuthenticationException("Refresh token revoked", HttpStatus.UNAUTHORIZED);
+        }
+        if (!refreshTokenStore.consume(tokenId, decodedJWT.getExpiresAtAsInstant())) {
+            // the newest token of the family expires at most one lifetime from now
+            refreshTokenStore.revokeFamily(family, Instant.now().plusMillis(refreshTokenLifetimeMs));
+            jwtTokenCache.invalidateUser(userId);
+            throw new AuthenticationException("Refresh token already used, the session was revoked", HttpStatus.UNAUTHORIZED);
+        }
+        var user = userService.getUserById(userId)
+                .filter(User::isEnabled)
+                .orElseThrow(() -> new AuthenticationException("Invalid refresh token", HttpStatus.UNAUTHORIZED));
+        return issueTokens(user, family);
+    }
 
+    private LoginResponseDTO issueTokens(User user, String family) {
         try {
 
             // Generate claims for access and refresh tokens
-            Map<String, Object> accessTokenClaims = createClaims(UUID.randomUUID().toString(), userLogin.getRole().name(), false);
-            Map<String, Object> refreshTokenClaims = createClaims(UUID.randomUUID().toString(), null, true);
+            Map<String, Object> accessTokenClaims = createClaims(UUID.randomUUID().toString(), user, family, false);
+            Map<String, Object> refreshTokenClaims = createClaims(UUID.randomUUID().toString(), null, family, true);
 
             // Generate new tokens
-            var tokens = jwtTokenService.generateTokens(userLogin.getId().toString(), accessTokenClaims, refreshTokenClaims);
+            var tokens = jwtTokenService.generateTokens(user.getId().toString(), accessTokenClaims, refreshTokenClaims);
             var loginResponse = new LoginResponseDTO();
             // Populate response
             loginResponse.setAccessToken(tokens.getAccessToken());
             loginResponse.setRefreshToken(tokens.getRefreshToken());
             loginResponse.setAccessTokenValidTime(tokens.getAccessTokenValidTime());
             loginResponse.setRefreshTokenValidTime(tokens.getRefreshTokenValidTime());
-            loginResponse.setUser(new UserDTO(userLogin));
+            loginResponse.setUser(new UserDTO(user));
 
             return  loginResponse;
         } catch (Exception e) {
             throw new AuthenticationException("Failed to renew token", HttpStatus.UNAUTHORIZED);
         }
+    }
 
+    /**
+     * Revokes the access token and the refresh token family it was issued with, so the session cannot be
+     * renewed either.
+     */
+    @Override
+    public void logout(String token) {
+        try {
+            var decodedJWT = jwtTokenService.verificationToken(token);
+            tokenDenylist.revokeToken(decodedJWT.getClaim("id").asString(), decodedJWT.getExpiresAtAsInstant());
+            // tokens issued before rotation have no family
+            var family = decodedJWT.getClaim("family").asString();
+            if (family != null) {
+                refreshTokenStore.revokeFamily(family, Instant.now().plusMillis(refreshTokenLifetimeMs));
+            }
+            jwtTokenCache.invalidateUser(Long.valueOf(decodedJWT.getSubject()));
+        } catch (Exception e) {
+            throw new AuthenticationException("Invalid token", HttpStatus.UNAUTHORIZED, e);
+        }
     }
 
 
+    /**
+     * Reads the cost factor from a BCrypt hash ({@code $2a$10$...}).
+     *
+     * @param hash the stored hash
+     * @return the cost factor, or -1 if the hash is not a BCrypt hash
+     */
+    private int bcryptCost(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 
-    private Map<String, Object> createClaims(String uuid, String role, boolean isRefreshToken) {
+    private Map<String, Object> createClaims(String uuid, User user, String family, boolean isRefreshToken) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("id", uuid);
+        claims.put("family", family);
         if (isRefreshToken) {
             claims.put("refresh", true);
         } else {
-            claims.put("role", role);
+            claims.put("role", user.getRole().name());
+            claims.put("email", user.getEmail());
+            claims.put("groups", user.getGroups().stream().map(Group::getId).toList());
         }
         return claims;
     }
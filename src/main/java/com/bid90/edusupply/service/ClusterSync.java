@@ -0,0 +1,96 @@
+package com.bid90.edusupply.service;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * ClusterSync shares state changes between the nodes of a deployment.
+ * <p>
+ * Services keep their state in memory and use this interface to tell the other nodes about changes
+ * (revoked tokens, evicted cache entries) and to store the entries a newly started node needs to catch up.
+ * The {@link #local()} implementation does nothing and is used for single node deployments.
+ * </p>
+ */
+public interface ClusterSync {
+
+    /**
+     * Sends a message to the other nodes.
+     *
+     * @param topic   Name of the message type.
+     * @param payload The message.
+     */
+    void publish(String topic, Serializable payload);
+
+    /**
+     * Registers a handler for the messages of other nodes. Messages published by this node are not delivered.
+     *
+     * @param topic   Name of the message type.
+     * @param handler Handler called with each message.
+     */
+    void subscribe(String topic, Consumer<Serializable> handler);
+
+    /**
+     * Stores an entry shared by all nodes.
+     *
+     * @param namespace Group of entries, read back with {@link #entries(String)}.
+     * @param key       Key of the entry within the namespace.
+     * @param value     The value.
+     * @param ttl       How long the entry is kept.
+     */
+    void put(String namespace, String key, Serializable value, Duration ttl);
+
+    /**
+     * Stores an entry shared by all nodes unless one is already stored under the key.
+     *
+     * @param namespace Group of entries.
+     * @param key       Key of the entry within the namespace.
+     * @param value     The value.
+     * @param ttl       How long the entry is kept.
+     * @return False if any node stored the key before; true if it was stored now or the shared store is
+     * unreachable, in which case the caller relies on its local state.
+     */
+    boolean putIfAbsent(String namespace, String key, Serializable value, Duration ttl);
+
+    /**
+     * Reads every shared entry of a namespace.
+     *
+     * @param namespace Group of entries.
+     * @return The entries by key, empty if none or if the shared store is unreachable.
+     */
+    Map<String, Serializable> entries(String namespace);
+
+    /**
+     * @return The no-op implementation for single node deployments.
+     */
+    static ClusterSync local() {
+        return Local.INSTANCE;
+    }
+
+    enum Local implements ClusterSync {
+        INSTANCE;
+
+        @Override
+        public void publish(String topic, Serializable payload) {
+        }
+
+        @Override
+        public void subscribe(String topic, Consumer<Serializable> handler) {
+        }
+
+        @Override
+        public void put(String namespace, String key, Serializable value, Duration ttl) {
+        }
+
+        @Override
+        public boolean putIfAbsent(String namespace, String key, Serializable value, Duration ttl) {
+            return true;
+        }
+
+        @Override
+        public Map<String, Serializable> entries(String namespace) {
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.user.ImportUserDTO;
+import com.bid90.edusupply.exception.UserException;
+import com.bid90.edusupply.model.Role;
+import org.springframework.http.HttpStatus;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads users from a CSV upload one record at a time.
+ * <p>
+ * The first record is the header and names the columns, in any order: {@code name}, {@code email},
+ * {@code password}, {@code role}, {@code enabled} and {@code groups}, with the group names separated by
+ * {@code ;} or {@code |}. Fields may be quoted, with {@code ""} for a quote inside a quoted field.
+ * A record that cannot be mapped throws {@link IllegalArgumentException} from {@link #next()}, reading can
+ * continue with the following record.
+ * </p>
+ */
+final class CsvUserReader implements Iterator<ImportUserDTO>, Closeable {
+
+    private static final int MAX_FIELD_LENGTH = 4096;
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private List<String> next;
+
+    CsvUserReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        var header = readRecord();
+        if (header == null) {
+            throw new UserException("CSV upload is empty", HttpStatus.BAD_REQUEST);
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("email")) {
+            throw new UserException("CSV header must contain an email column", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRecord();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportUserDTO next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var record = next;
+        next = null;
+
+        var user = new ImportUserDTO();
+        user.setName(field(record, "name"));
+        user.setEmail(field(record, "email"));
+        user.setPassword(field(record, "password"));
+        var role = field(record, "role");
+        if (role != null && !role.isBlank()) {
+            try {
+                user.setRole(Role.valueOf(role.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown role " + role);
+            }
+        }
+        var enabled = field(record, "enabled");
+        if (enabled != null && !enabled.isBlank()) {
+            user.setEnabled(Boolean.parseBoolean(enabled.trim()));
+        }
+        var groups = field(record, "groups");
+        if (groups != null && !groups.isBlank()) {
+            user.setGroups(Arrays.stream(groups.split("[;|]"))
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .toList());
+        }
+        return user;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> record, String column) {
+        var index = columns.get(column);
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    /**
+     * @return The fields of the next non-blank record, or null at the end of the input.
+     */
+    private List<String> readRecord() {
+        try {
+            List<String> fields;
+            do {
+                fields = readLine();
+            } while (fields != null && fields.size() == 1 && fields.get(0).isBlank());
+            return fields;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<String> readLine() throws IOException {
+        List<String> fields = new ArrayList<>();
+        var field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                throw new UserException("CSV field longer than " + MAX_FIELD_LENGTH + " characters", HttpStatus.BAD_REQUEST);
+            }
+        }
+        if (!read) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
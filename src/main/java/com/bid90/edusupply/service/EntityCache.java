@@ -0,0 +1,65 @@
+package com.bid90.edusupply.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * EntityCache names the cache regions of users and groups and invalidates them after writes.
+ * <p>
+ * Reads go through {@code @Cacheable} on the services and repositories. Writers call this class once their
+ * change is saved, so a cached entry is never older than the last committed write of this node.
+ * Cached users carry their groups, so changing a group drops the cached users as well.
+ * </p>
+ */
+@Component
+public class EntityCache {
+
+    /** Users by id, with their groups loaded. */
+    public static final String USERS = "users";
+    /** Users by email, with their groups loaded. */
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+    /** Group pages and lists. */
+    public static final String GROUPS = "groups";
+    /** Groups by name. */
+    public static final String GROUPS_BY_NAME = "groupsByName";
+
+    private final CacheManager cacheManager;
+
+    public EntityCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Drops the cached entries of a user.
+     *
+     * @param id     The id of the user.
+     * @param emails Every email the user was cached under, e.g. before and after an email change.
+     */
+    public void evictUser(Long id, String... emails) {
+        cache(USERS).ifPresent(cache -> cache.evict(id));
+        cache(USERS_BY_EMAIL).ifPresent(cache -> {
+            for (var email : emails) {
+                if (email != null) {
+                    cache.evict(email);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops every cached group and every cached user, whose group lists may show the changed group.
+     */
+    public void evictGroups() {
+        cache(GROUPS).ifPresent(Cache::clear);
+        cache(GROUPS_BY_NAME).ifPresent(Cache::clear);
+        cache(USERS).ifPresent(Cache::clear);
+        cache(USERS_BY_EMAIL).ifPresent(Cache::clear);
+    }
+
+    private Optional<Cache> cache(String name) {
+        return Optional.ofNullable(cacheManager.getCache(name));
+    }
+}
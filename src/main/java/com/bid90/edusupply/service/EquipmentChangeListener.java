@@ -0,0 +1,37 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.equipment.EquipmentDTO;
+import com.bid90.edusupply.model.Equipment;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener forwarding {@link Equipment} changes to the {@link EquipmentSearchService} once the
+ * transaction commits, so rolled back changes never reach the index.
+ */
+@Component
+public class EquipmentChangeListener {
+
+    // resolved on first use, the listener is created while the persistence unit is still being built
+    private final ObjectProvider<EquipmentSearchService> equipmentSearchService;
+
+    public EquipmentChangeListener(ObjectProvider<EquipmentSearchService> equipmentSearchService) {
+        this.equipmentSearchService = equipmentSearchService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void saved(Equipment equipment) {
+        var snapshot = new EquipmentDTO(equipment);
+        AfterCommit.run(() -> equipmentSearchService.getObject().indexed(snapshot));
+    }
+
+    @PostRemove
+    void removed(Equipment equipment) {
+        var id = equipment.getId();
+        AfterCommit.run(() -> equipmentSearchService.getObject().removed(id));
+    }
+}
@@ -0,0 +1,210 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.equipment.EquipmentDTO;
+import com.bid90.edusupply.dto.equipment.EquipmentSearchDTO;
+import com.bid90.edusupply.dto.equipment.EquipmentSearchResultDTO;
+import com.bid90.edusupply.dto.equipment.FacetDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index of equipment, not thread safe.
+ * <p>
+ * Name, description, category and inventory code are split into terms, lower-cased and stripped of diacritics,
+ * so {@code "Proiector ședință"} is found by {@code "proiector sedinta"}. Terms are kept sorted, so a query term
+ * matches every term starting with it, and whole inventory codes are kept sorted too for code prefix lookups.
+ * </p>
+ * <p>
+ * Snapshots may arrive out of order, so a snapshot older than the indexed one, by its {@code @Version}, is
+ * ignored, and so is any snapshot of removed equipment. Removed ids are remembered for the life of the index;
+ * ids come from a sequence and are never reused.
+ * </p>
+ */
+final class EquipmentIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final Map<Long, EquipmentDTO> documents = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> terms = new TreeMap<>();
+    private final NavigableMap<String, Set<Long>> inventoryCodes = new TreeMap<>();
+    private final Set<Long> removed = new HashSet<>();
+
+    static String normalize(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text != null) {
+            for (var term : SEPARATORS.split(normalize(text))) {
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    void put(EquipmentDTO equipment) {
+        if (removed.contains(equipment.getId()) || isOlder(equipment, documents.get(equipment.getId()))) {
+            return;
+        }
+        unindex(equipment.getId());
+        documents.put(equipment.getId(), equipment);
+        for (var term : termsOf(equipment)) {
+            terms.computeIfAbsent(term, t -> new HashSet<>()).add(equipment.getId());
+        }
+        if (equipment.getInventoryCode() != null) {
+            inventoryCodes.computeIfAbsent(normalize(equipment.getInventoryCode()), c -> new HashSet<>()).add(equipment.getId());
+        }
+    }
+
+    void remove(Long id) {
+        removed.add(id);
+        unindex(id);
+    }
+
+    private void unindex(Long id) {
+        var previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (var term : termsOf(previous)) {
+            removePosting(terms, term, id);
+        }
+        if (previous.getInventoryCode() != null) {
+            removePosting(inventoryCodes, normalize(previous.getInventoryCode()), id);
+        }
+    }
+
+    /**
+     * Adds every document of another index without tokenizing them again, used to merge indexes built in parallel.
+     */
+    void putAll(EquipmentIndex other) {
+        other.documents.keySet().forEach(this::unindex);
+        documents.putAll(other.documents);
+        other.terms.forEach((term, ids) -> terms.computeIfAbsent(term, t -> new HashSet<>()).addAll(ids));
+        other.inventoryCodes.forEach((code, ids) -> inventoryCodes.computeIfAbsent(code, c -> new HashSet<>()).addAll(ids));
+    }
+
+    EquipmentSearchResultDTO search(EquipmentSearchDTO query, int limit) {
+        Set<Long> matches = null;
+        for (var term : terms(query.getQ())) {
+            matches = intersect(matches, prefixed(terms, term));
+        }
+        if (query.getCode() != null && !query.getCode().isBlank()) {
+            matches = intersect(matches, prefixed(inventoryCodes, normalize(query.getCode().trim())));
+        }
+        Collection<Long> candidates = matches == null ? documents.keySet() : matches;
+
+        var category = query.getCategory() == null ? null : normalize(query.getCategory());
+        List<EquipmentDTO> found = new ArrayList<>();
+        for (var id : candidates) {
+            var equipment = documents.get(id);
+            if ((query.getStatus() == null || query.getStatus() == equipment.getStatus())
+                    && (category == null || category.equals(normalize(Objects.toString(equipment.getCategory(), ""))))
+                    && (query.getLocationId() == null || query.getLocationId().equals(equipment.getLocationId()))) {
+                found.add(equipment);
+            }
+        }
+        found.sort(Comparator.comparing(EquipmentDTO::getId));
+
+        return new EquipmentSearchResultDTO(found.size(),
+                List.copyOf(found.subList(0, Math.min(limit, found.size()))),
+                facets(found, e -> e.getStatus() == null ? null : e.getStatus().name(), e -> null),
+                facets(found, EquipmentDTO::getCategory, e -> null),
+                facets(found, e -> e.getLocationId() == null ? null : e.getLocationId().toString(), EquipmentDTO::getLocationName));
+    }
+
+    /**
+     * Tells whether the snapshot is older than or as old as the indexed one, snapshots without a version are
+     * always applied.
+     */
+    private static boolean isOlder(EquipmentDTO snapshot, EquipmentDTO indexed) {
+        return indexed != null && snapshot.getVersion() != null && indexed.getVersion() != null
+                && snapshot.getVersion() <= indexed.getVersion();
+    }
+
+    private static Set<String> termsOf(EquipmentDTO equipment) {
+        var terms = terms(equipment.getName());
+        terms.addAll(terms(equipment.getDescription()));
+        terms.addAll(terms(equipment.getCategory()));
+        terms.addAll(terms(equipment.getInventoryCode()));
+        return terms;
+    }
+
+    private static Set<Long> prefixed(NavigableMap<String, Set<Long>> index, String prefix) {
+        var postings = index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        if (postings.size() == 1) {
+            return postings.iterator().next();
+        }
+        Set<Long> ids = new HashSet<>();
+        postings.forEach(ids::addAll);
+        return ids;
+    }
+
+    private static Set<Long> intersect(Set<Long> matches, Set<Long> postings) {
+        if (matches == null) {
+            return postings;
+        }
+        var smaller = matches.size() <= postings.size() ? matches : postings;
+        var larger = smaller == matches ? postings : matches;
+        Set<Long> result = new HashSet<>();
+        for (var id : smaller) {
+            if (larger.contains(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static void removePosting(Map<String, Set<Long>> index, String key, Long id) {
+        var ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static List<FacetDTO> facets(List<EquipmentDTO> found,
+                                         Function<EquipmentDTO, String> value,
+                                         Function<EquipmentDTO, String> label) {
+        Map<String, Long> counts = found.stream()
+                .filter(e -> value.apply(e) != null)
+                .collect(Collectors.groupingBy(value, TreeMap::new, Collectors.counting()));
+        Map<String, String> labels = new HashMap<>();
+        found.forEach(e -> {
+            var key = value.apply(e);
+            if (key != null && label.apply(e) != null) {
+                labels.putIfAbsent(key, label.apply(e));
+            }
+        });
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(entry -> new FacetDTO(entry.getKey(), labels.getOrDefault(entry.getKey(), entry.getKey()), entry.getValue()))
+                .toList();
+    }
+}
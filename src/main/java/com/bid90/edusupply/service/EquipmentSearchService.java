@@ -0,0 +1,16 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.equipment.EquipmentDTO;
+import com.bid90.edusupply.dto.equipment.EquipmentSearchDTO;
+import com.bid90.edusupply.dto.equipment.EquipmentSearchResultDTO;
+
+public interface EquipmentSearchService {
+
+    EquipmentSearchResultDTO search(EquipmentSearchDTO query);
+
+    void indexed(EquipmentDTO equipment);
+
+    void removed(Long equipmentId);
+
+    void rebuild();
+}
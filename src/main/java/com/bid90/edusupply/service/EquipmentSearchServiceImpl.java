@@ -0,0 +1,132 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.equipment.EquipmentDTO;
+import com.bid90.edusupply.dto.equipment.EquipmentSearchDTO;
+import com.bid90.edusupply.dto.equipment.EquipmentSearchResultDTO;
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Equipment search served from an in-memory {@link EquipmentIndex}.
+ * <p>
+ * The index is kept current by {@link EquipmentChangeListener}, which forwards every committed insert, update
+ * and delete of an {@link Equipment}. At startup it is rebuilt from the database: chunks of
+ * {@code equipment.search.rebuild-chunk-size} rows are read in id order and each one is indexed on the common
+ * fork-join pool while the next one is read, then the partial indexes are merged and swapped in. Changes
+ * committed while a rebuild runs are applied to both the live index and the new one.
+ * </p>
+ */
+@Service
+public class EquipmentSearchServiceImpl implements EquipmentSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(EquipmentSearchServiceImpl.class);
+
+    private final EquipmentRepository equipmentRepository;
+    private final int rebuildChunkSize;
+    private final int maxResults;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private EquipmentIndex index = new EquipmentIndex();
+    private List<Consumer<EquipmentIndex>> changesDuringRebuild;
+
+    public EquipmentSearchServiceImpl(EquipmentRepository equipmentRepository,
+                                      @Value("${equipment.search.rebuild-chunk-size:1000}") int rebuildChunkSize,
+                                      @Value("${equipment.search.max-results:200}") int maxResults) {
+        this.equipmentRepository = equipmentRepository;
+        this.rebuildChunkSize = Math.max(1, rebuildChunkSize);
+        this.maxResults = maxResults;
+    }
+
+    @Override
+    public EquipmentSearchResultDTO search(EquipmentSearchDTO query) {
+        int limit = Math.max(0, Math.min(query.getLimit() == null ? maxResults : query.getLimit(), maxResults));
+        lock.readLock().lock();
+        try {
+            return index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void indexed(EquipmentDTO equipment) {
+        apply(index -> index.put(equipment));
+    }
+
+    @Override
+    public void removed(Long equipmentId) {
+        apply(index -> index.remove(equipmentId));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                return;
+            }
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        var rebuilt = new EquipmentIndex();
+        boolean complete = false;
+        try {
+            List<CompletableFuture<EquipmentIndex>> parts = new ArrayList<>();
+            long after = 0;
+            List<Equipment> chunk;
+            do {
+                chunk = equipmentRepository.findAllAfter(after, PageRequest.of(0, rebuildChunkSize));
+                if (!chunk.isEmpty()) {
+                    after = chunk.get(chunk.size() - 1).getId();
+                    var rows = chunk.stream().map(EquipmentDTO::new).toList();
+                    parts.add(CompletableFuture.supplyAsync(() -> {
+                        var part = new EquipmentIndex();
+                        rows.forEach(part::put);
+                        return part;
+                    }));
+                }
+            } while (chunk.size() == rebuildChunkSize);
+            parts.forEach(part -> rebuilt.putAll(part.join()));
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (complete) {
+                    changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                    index = rebuilt;
+                }
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Equipment search index rebuilt with {} items", rebuilt.size());
+    }
+
+    private void apply(Consumer<EquipmentIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
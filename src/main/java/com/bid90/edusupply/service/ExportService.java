@@ -0,0 +1,23 @@
+package com.bid90.edusupply.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    enum Dataset {
+        USERS,
+        GROUPS,
+        EQUIPMENT,
+        CONSUMABLES,
+        EQUIPMENT_REQUESTS,
+        CONSUMABLE_REQUESTS
+    }
+
+    enum Format {
+        NDJSON,
+        CSV
+    }
+
+    void export(Dataset dataset, Format format, OutputStream output) throws IOException;
+}
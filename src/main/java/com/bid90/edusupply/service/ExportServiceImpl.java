@@ -0,0 +1,272 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.model.Consumable;
+import com.bid90.edusupply.model.ConsumableRequest;
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.EquipmentRequest;
+import com.bid90.edusupply.model.Group;
+import com.bid90.edusupply.model.Location;
+import com.bid90.edusupply.model.Request;
+import com.bid90.edusupply.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+/**
+ * Exports whole tables without loading them in memory.
+ * <p>
+ * Each dataset is read with a forward-only, read-only Hibernate scroll using a JDBC fetch size of
+ * {@code export.fetch-size} rows, with its to-one associations fetched in the same query. Every row is
+ * written to the output as soon as it is read, and the persistence context is cleared after each fetch, so
+ * the entities already written are detached and heap use does not grow with the table size.
+ * </p>
+ * <p>
+ * The request datasets cover both tiers of the request history: the live rows, then the rows moved to the
+ * archive tables, streamed with plain JDBC and the same fetch size. The {@code archived} column tells them
+ * apart; the requester email and inventory code of an archived row are empty if that user or equipment has
+ * since been deleted.
+ * </p>
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate archiveJdbcTemplate;
+    private final int fetchSize;
+    private final Map<Dataset, Table<?>> tables = new EnumMap<>(Dataset.class);
+
+    public ExportServiceImpl(EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             DataSource dataSource,
+                             @Value("${export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = Math.max(1, fetchSize);
+        this.archiveJdbcTemplate = new JdbcTemplate(dataSource);
+        this.archiveJdbcTemplate.setFetchSize(this.fetchSize);
+
+        tables.put(Dataset.USERS, new Table<>(User.class,
+                "SELECT u FROM User u ORDER BY u.id",
+                List.of("id", "name", "email", "role", "enabled", "groups", "createdAt", "updatedAt"),
+                u -> new Object[]{u.getId(), u.getName(), u.getEmail(), u.getRole(), u.isEnabled(),
+                        // loaded with the batch fetch size of the persistence unit
+                        u.getGroups().stream().map(Group::getName).collect(Collectors.joining("|")),
+                        u.getCreatedAt(), u.getUpdatedAt()}, null));
+        tables.put(Dataset.GROUPS, new Table<>(Group.class,
+                "SELECT g FROM Group g ORDER BY g.id",
+                List.of("id", "name", "description", "immutable", "createdAt", "updatedAt"),
+                g -> new Object[]{g.getId(), g.getName(), g.getDescription(), g.isImmutable(),
+                        g.getCreatedAt(), g.getUpdatedAt()}, null));
+        tables.put(Dataset.EQUIPMENT, new Table<>(Equipment.class,
+                "SELECT e FROM Equipment e LEFT JOIN FETCH e.location ORDER BY e.id",
+                List.of("id", "inventoryCode", "name", "description", "category", "status", "purchaseDate",
+                        "locationId", "locationName"),
+                e -> new Object[]{e.getId(), e.getInventoryCode(), e.getName(), e.getDescription(), e.getCategory(),
+                        e.getStatus(), e.getPurchaseDate(), locationId(e.getLocation()), locationName(e.getLocation())},
+                null));
+        tables.put(Dataset.CONSUMABLES, new Table<>(Consumable.class,
+                "SELECT c FROM Consumable c LEFT JOIN FETCH c.location ORDER BY c.id",
+                List.of("id", "name", "quantity", "reservedQuantity", "unit", "locationId", "locationName"),
+                c -> new Object[]{c.getId(), c.getName(), c.getQuantity(), c.getReservedQuantity(), c.getUnit(),
+                        locationId(c.getLocation()), locationName(c.getLocation())}, null));
+        tables.put(Dataset.EQUIPMENT_REQUESTS, new Table<>(EquipmentRequest.class,
+                "SELECT r FROM EquipmentRequest r JOIN FETCH r.requester LEFT JOIN FETCH r.approvedBy " +
+                        "JOIN FETCH r.equipment e LEFT JOIN FETCH e.location ORDER BY r.id",
+                requestColumns("equipmentId", "inventoryCode"),
+                r -> requestValues(r, r.getEquipment().getId(), r.getEquipment().getInventoryCode()),
+                archiveQuery("r.equipment_id, e.inventory_code FROM equipment_request_archive r " +
+                        "LEFT JOIN equipment_tb e ON e.id = r.equipment_id")));
+        tables.put(Dataset.CONSUMABLE_REQUESTS, new Table<>(ConsumableRequest.class,
+                "SELECT r FROM ConsumableRequest r JOIN FETCH r.requester LEFT JOIN FETCH r.approvedBy " +
+                        "JOIN FETCH r.consumable c LEFT JOIN FETCH c.location ORDER BY r.id",
+                requestColumns("consumableId", "quantity"),
+                r -> requestValues(r, r.getConsumable().getId(), r.getQuantity()),
+                archiveQuery("r.consumable_id, r.quantity FROM consumable_request_archive r")));
+    }
+
+    @Override
+    public void export(Dataset dataset, Format format, OutputStream output) throws IOException {
+        var table = tables.get(dataset);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    if (format == Format.CSV) {
+                        writeCsv(table, output);
+                    } else {
+                        writeNdjson(table, output);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> void writeNdjson(Table<T> table, OutputStream output) throws IOException {
+        var generator = objectMapper.createGenerator(output);
+        generator.setRootValueSeparator(null);
+        scroll(table, values -> {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(table.columns().get(i));
+                generator.writeObject(values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }, generator::flush);
+        generator.flush();
+    }
+
+    private <T> void writeCsv(Table<T> table, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(String.join(",", table.columns()));
+        writer.write('\n');
+        scroll(table, values -> {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(values[i]));
+            }
+            writer.write('\n');
+        }, writer::flush);
+        writer.flush();
+    }
+
+    /**
+     * Scrolls the table, passing the values of every row to {@code row}, and calls {@code afterFetch} then
+     * detaches everything read so far each time a fetch worth of rows has been written.
+     */
+    private <T> void scroll(Table<T> table, RowWriter row, IoAction afterFetch) throws IOException {
+        var session = entityManager.unwrap(Session.class);
+        try (var rows = session.createSelectionQuery(table.query(), table.type())
+                .setReadOnly(true)
+                .setFetchSize(fetchSize)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            int count = 0;
+            while (rows.next()) {
+                row.write(table.values().apply(rows.get()));
+                if (++count % fetchSize == 0) {
+                    afterFetch.run();
+                    session.clear();
+                }
+            }
+        }
+        if (table.archiveQuery() != null) {
+            scrollArchive(table, row, afterFetch);
+        }
+    }
+
+    /**
+     * Streams the archived rows of a request table with the same columns as its live rows.
+     */
+    private void scrollArchive(Table<?> table, RowWriter row, IoAction afterFetch) {
+        int columns = table.columns().size();
+        int[] count = {0};
+        archiveJdbcTemplate.query(table.archiveQuery(), rs -> {
+            var values = new Object[columns];
+            for (int i = 0; i < columns - 1; i++) {
+                var value = rs.getObject(i + 1);
+                values[i] = value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value;
+            }
+            values[columns - 1] = true;
+            try {
+                row.write(values);
+                if (++count[0] % fetchSize == 0) {
+                    afterFetch.run();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        var text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static List<String> requestColumns(String itemIdColumn, String itemColumn) {
+        return List.of("id", "status", "requesterId", "requesterEmail", "approvedById", "requestDate", "approvalDate",
+                "reason", itemIdColumn, itemColumn, "archived");
+    }
+
+    /**
+     * Selects the archived requests in the order of {@link #requestColumns}, without the archived flag.
+     *
+     * @param itemColumns The two item columns and the FROM clause of the archive table aliased {@code r}.
+     */
+    private static String archiveQuery(String itemColumns) {
+        return "SELECT r.id, r.status, r.requester_id, u.email, r.approved_by_id, r.request_date, r.approval_date, " +
+                "r.reason, " + itemColumns + " LEFT JOIN user_tb u ON u.id = r.requester_id ORDER BY r.id";
+    }
+
+    private static Object[] requestValues(Request request, Long itemId, Object item) {
+        var approvedBy = request.getApprovedBy();
+        return new Object[]{request.getId(), request.getStatus(), request.getRequester().getId(),
+                request.getRequester().getEmail(), approvedBy == null ? null : approvedBy.getId(),
+                request.getRequestDate(), request.getApprovalDate(), request.getReason(), itemId, item, false};
+    }
+
+    private static Long locationId(Location location) {
+        return location == null ? null : location.getId();
+    }
+
+    private static String locationName(Location location) {
+        return location == null ? null : location.getName();
+    }
+
+    /**
+     * @param archiveQuery The SQL reading the archived rows after the live ones, or null.
+     */
+    private record Table<T>(Class<T> type, String query, List<String> columns, Function<T, Object[]> values,
+                            String archiveQuery) {
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Object[] values) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,53 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.event.OutboxEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends published events to a local file, one JSON document per line.
+ * <p>
+ * A batch is written with a single append, and a failed write rolls the batch back, so the file holds every
+ * event at least once; a retried batch can repeat events already written.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink.file.enabled", havingValue = "true")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(@Value("${outbox.sink.file.path:outbox-events.ndjson}") String path, ObjectMapper objectMapper) {
+        this.path = Path.of(path);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEventDTO> events) {
+        var lines = new StringBuilder();
+        try {
+            for (var event : events) {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            }
+            var parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(path, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append events to " + path, e);
+        }
+    }
+}
@@ -4,12 +4,18 @@ import com.bid90.edusupply.dto.group.CreateGroupDTO;
 import com.bid90.edusupply.dto.group.GroupDTO;
 import com.bid90.edusupply.dto.group.UpdateGroupDTO;
 import com.bid90.edusupply.model.Group;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
 public interface GroupService {
     List<Group> getAllGroup();
 
+    Page<Group> getGroups(Pageable pageable);
+
+    List<Group> getGroupsAfter(Long after, int size);
+
     Group createGroup(CreateGroupDTO createGroupDTO);
 
     void deleteGroup(Long id);
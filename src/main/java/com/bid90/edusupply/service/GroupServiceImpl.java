@@ -1,44 +1,78 @@
 package com.bid90.edusupply.service;
 
 import com.bid90.edusupply.dto.group.CreateGroupDTO;
+import com.bid90.edusupply.dto.group.GroupDTO;
 import com.bid90.edusupply.dto.group.UpdateGroupDTO;
 import com.bid90.edusupply.exception.GroupException;
 import com.bid90.edusupply.exception.UserException;
 import com.bid90.edusupply.model.Group;
 import com.bid90.edusupply.repository.GroupRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class GroupServiceImpl implements GroupService {
 
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "description", "immutable", "createdAt", "updatedAt");
 
     private final GroupRepository groupRepository;
+    private final EntityCache entityCache;
+    private final OutboxService outboxService;
 
-    public GroupServiceImpl(GroupRepository groupRepository) {
+    public GroupServiceImpl(GroupRepository groupRepository, EntityCache entityCache, OutboxService outboxService) {
         this.groupRepository = groupRepository;
+        this.entityCache = entityCache;
+        this.outboxService = outboxService;
     }
 
     @Override
+    @Cacheable(cacheNames = EntityCache.GROUPS, key = "'all'")
     public List<Group> getAllGroup() {
         return groupRepository.findAll();
     }
 
     @Override
+    @Cacheable(cacheNames = EntityCache.GROUPS, key = "#pageable")
+    public Page<Group> getGroups(Pageable pageable) {
+        checkSort(pageable.getSort());
+        return groupRepository.findAll(pageable);
+    }
+
+    @Override
+    @Cacheable(cacheNames = EntityCache.GROUPS, key = "'after:' + #after + ':' + #size")
+    public List<Group> getGroupsAfter(Long after, int size) {
+        return groupRepository.findAllAfter(after == null ? Long.MIN_VALUE : after, PageRequest.of(0, size));
+    }
+
+    @Override
+    @Transactional
     public Group createGroup(CreateGroupDTO createGroupDTO) {
         checkName(createGroupDTO.getName());
         var group = new Group();
         group.setName(createGroupDTO.getName().toUpperCase());
         group.setDescription(createGroupDTO.getDescription());
         group.setImmutable(false);
-        return groupRepository.save(group);
+        var saved = groupRepository.save(group);
+        outboxService.record(OutboxService.GROUP, saved.getId(), "group.created", new GroupDTO(saved));
+        // evicted once committed, a read in between would cache the groups again
+        AfterCommit.run(entityCache::evictGroups);
+        return saved;
     }
 
 
     @Override
+    @Transactional
     public void deleteGroup(Long id) {
         var group = groupRepository.findById(id).orElseThrow(() -> new GroupException("Group with id " + id + " not found",
                 HttpStatus.NOT_FOUND));
@@ -47,9 +81,12 @@ public class GroupServiceImpl implements GroupService {
             throw new GroupException("This group is immutable and cannot be deleted.",HttpStatus.FORBIDDEN);
         }
         groupRepository.delete(group);
+        outboxService.record(OutboxService.GROUP, id, "group.deleted", Map.of("id", id));
+        AfterCommit.run(entityCache::evictGroups);
     }
 
     @Override
+    @Transactional
     public Group updateGroup(Long id, UpdateGroupDTO updateGroupDTO) {
         var group = groupRepository.findById(id).orElseThrow(() -> new GroupException("Group with id " + id + " not found",
                 HttpStatus.NOT_FOUND));
@@ -68,10 +105,21 @@ public class GroupServiceImpl implements GroupService {
         });
 
 
-       return groupRepository.save(group);
+        var saved = groupRepository.save(group);
+        outboxService.record(OutboxService.GROUP, id, "group.updated", new GroupDTO(saved));
+        AfterCommit.run(entityCache::evictGroups);
+        return saved;
     }
 
 
+    void checkSort(Sort sort) {
+        sort.forEach(order -> {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new GroupException("Cannot sort groups by " + order.getProperty(), HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
+
     void checkName(String name) {
         if (name.trim().isEmpty()) {
             throw new UserException("Name cannot be empty", HttpStatus.BAD_REQUEST);
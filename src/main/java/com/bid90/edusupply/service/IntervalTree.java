@@ -0,0 +1,219 @@
+package com.bid90.edusupply.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Half-open intervals {@code [start, end)} keyed by id, in a treap ordered by start and augmented with the
+ * largest end of every subtree.
+ * <p>
+ * Insertion and removal take expected logarithmic time. An overlap query skips every subtree whose largest
+ * end is not after the start of the window and every right subtree of a node that starts at or after the
+ * end of the window, so it takes logarithmic time plus the number of intervals reported. Not thread-safe.
+ * </p>
+ */
+final class IntervalTree {
+
+    /**
+     * An interval of the tree.
+     */
+    record Interval(long id, long start, long end) {
+    }
+
+    private static final class Node {
+        final Interval interval;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(Interval interval) {
+            this.interval = interval;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.maxEnd = interval.end();
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void add(Interval interval) {
+        root = insert(root, new Node(interval));
+        size++;
+    }
+
+    /**
+     * @return true if the interval was in the tree.
+     */
+    boolean remove(Interval interval) {
+        int before = size;
+        root = delete(root, interval);
+        return size < before;
+    }
+
+    /**
+     * @return true if any interval overlaps {@code [start, end)}.
+     */
+    boolean overlaps(long start, long end) {
+        return first(root, start, end) != null;
+    }
+
+    /**
+     * @return The intervals overlapping {@code [start, end)}, ordered by start.
+     */
+    List<Interval> overlapping(long start, long end) {
+        List<Interval> found = new ArrayList<>();
+        collect(root, start, end, found);
+        return found;
+    }
+
+    /**
+     * @return The intervals that end at or before the time, which can no longer conflict with a new one.
+     */
+    List<Interval> endedBy(long time) {
+        List<Interval> ended = new ArrayList<>();
+        collectEnded(root, time, ended);
+        return ended;
+    }
+
+    private static Interval first(Node node, long start, long end) {
+        while (node != null && node.maxEnd > start) {
+            if (node.left != null && node.left.maxEnd > start) {
+                // an interval on the left starts earlier, if one overlaps it is as good as any
+                var found = first(node.left, start, end);
+                if (found != null) {
+                    return found;
+                }
+            }
+            if (node.interval.start() >= end) {
+                return null;
+            }
+            if (node.interval.end() > start) {
+                return node.interval;
+            }
+            node = node.right;
+        }
+        return null;
+    }
+
+    private static void collect(Node node, long start, long end, List<Interval> found) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, found);
+        if (node.interval.start() >= end) {
+            return;
+        }
+        if (node.interval.end() > start) {
+            found.add(node.interval);
+        }
+        collect(node.right, start, end, found);
+    }
+
+    private static void collectEnded(Node node, long time, List<Interval> ended) {
+        if (node == null) {
+            return;
+        }
+        collectEnded(node.left, time, ended);
+        if (node.interval.end() <= time) {
+            ended.add(node.interval);
+        }
+        // every interval on the right starts after this one, none of them has ended if this one starts after time
+        if (node.interval.start() < time) {
+            collectEnded(node.right, time, ended);
+        }
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.interval, node.interval) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node delete(Node node, Interval interval) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(interval, node.interval);
+        if (order == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (order < 0) {
+            node.left = delete(node.left, interval);
+        } else {
+            node.right = delete(node.right, interval);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        var left = node.left;
+        node.left = left.right;
+        update(node);
+        left.right = node;
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        var right = node.right;
+        node.right = right.left;
+        update(node);
+        right.left = node;
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        long maxEnd = node.interval.end();
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(Interval a, Interval b) {
+        int order = Long.compare(a.start(), b.start());
+        return order != 0 ? order : Long.compare(a.id(), b.id());
+    }
+}
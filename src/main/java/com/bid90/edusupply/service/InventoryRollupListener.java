@@ -0,0 +1,77 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.model.Consumable;
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.Location;
+import com.bid90.edusupply.repository.projection.ConsumableRollupRow;
+import com.bid90.edusupply.repository.projection.EquipmentRollupRow;
+import com.bid90.edusupply.repository.projection.LocationRollupRow;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener forwarding {@link Location}, {@link Equipment} and {@link Consumable} changes to the
+ * {@link InventoryRollupService} once the transaction commits. Only the counted fields are copied, the entity
+ * itself is not kept.
+ */
+@Component
+public class InventoryRollupListener {
+
+    // resolved on first use, the listener is created while the persistence unit is still being built
+    private final ObjectProvider<InventoryRollupService> inventoryRollupService;
+
+    public InventoryRollupListener(ObjectProvider<InventoryRollupService> inventoryRollupService) {
+        this.inventoryRollupService = inventoryRollupService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void saved(Object entity) {
+        switch (entity) {
+            case Location location -> {
+                var row = new LocationRollupRow(location.getId(), location.getName(), location.getType(),
+                        location.getBuilding(), location.getFloor());
+                AfterCommit.run(() -> inventoryRollupService.getObject().locationSaved(row));
+            }
+            case Equipment equipment -> {
+                var row = new EquipmentRollupRow(equipment.getId(), locationId(equipment.getLocation()),
+                        equipment.getStatus(), equipment.getCategory());
+                AfterCommit.run(() -> inventoryRollupService.getObject().equipmentSaved(row));
+            }
+            case Consumable consumable -> {
+                var row = new ConsumableRollupRow(consumable.getId(), locationId(consumable.getLocation()),
+                        consumable.getQuantity(), consumable.getReservedQuantity());
+                AfterCommit.run(() -> inventoryRollupService.getObject().consumableSaved(row));
+            }
+            default -> {
+            }
+        }
+    }
+
+    @PostRemove
+    void removed(Object entity) {
+        switch (entity) {
+            case Location location -> {
+                var id = location.getId();
+                AfterCommit.run(() -> inventoryRollupService.getObject().locationRemoved(id));
+            }
+            case Equipment equipment -> {
+                var id = equipment.getId();
+                AfterCommit.run(() -> inventoryRollupService.getObject().equipmentRemoved(id));
+            }
+            case Consumable consumable -> {
+                var id = consumable.getId();
+                AfterCommit.run(() -> inventoryRollupService.getObject().consumableRemoved(id));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static Long locationId(Location location) {
+        return location == null ? null : location.getId();
+    }
+}
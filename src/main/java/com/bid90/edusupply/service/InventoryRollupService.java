@@ -0,0 +1,29 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.location.BuildingSummaryDTO;
+import com.bid90.edusupply.dto.location.LocationSummaryDTO;
+import com.bid90.edusupply.dto.location.RollupCheckDTO;
+import com.bid90.edusupply.repository.projection.ConsumableRollupRow;
+import com.bid90.edusupply.repository.projection.EquipmentRollupRow;
+import com.bid90.edusupply.repository.projection.LocationRollupRow;
+
+public interface InventoryRollupService {
+
+    LocationSummaryDTO getLocationSummary(Long locationId);
+
+    BuildingSummaryDTO getBuildingSummary(String building, Integer floor);
+
+    void locationSaved(LocationRollupRow location);
+
+    void locationRemoved(Long locationId);
+
+    void equipmentSaved(EquipmentRollupRow equipment);
+
+    void equipmentRemoved(Long equipmentId);
+
+    void consumableSaved(ConsumableRollupRow consumable);
+
+    void consumableRemoved(Long consumableId);
+
+    RollupCheckDTO recompute();
+}
@@ -0,0 +1,206 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.location.BuildingSummaryDTO;
+import com.bid90.edusupply.dto.location.LocationSummaryDTO;
+import com.bid90.edusupply.dto.location.RollupCheckDTO;
+import com.bid90.edusupply.exception.LocationException;
+import com.bid90.edusupply.repository.ConsumableRepository;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import com.bid90.edusupply.repository.LocationRepository;
+import com.bid90.edusupply.repository.projection.ConsumableRollupRow;
+import com.bid90.edusupply.repository.projection.EquipmentRollupRow;
+import com.bid90.edusupply.repository.projection.LocationRollupRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Location and building summaries served from precomputed {@link InventoryRollups}.
+ * <p>
+ * The rollups are updated incrementally by {@link InventoryRollupListener}, which forwards every committed
+ * change of a location, equipment item or consumable. Changes made with bulk JPQL updates bypass the listener,
+ * so the rollups are recomputed from the database at startup and every
+ * {@code inventory.rollup.recompute-interval-ms}. The recompute reads only the counted columns, compares the
+ * result with the live rollups, logs and counts ({@code inventory.rollup.drift}) the locations that drifted,
+ * then swaps it in. Changes committed while it runs are applied to both.
+ * </p>
+ */
+@Service
+public class InventoryRollupServiceImpl implements InventoryRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryRollupServiceImpl.class);
+
+    private final LocationRepository locationRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final ConsumableRepository consumableRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter driftCounter;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private InventoryRollups rollups = new InventoryRollups();
+    private boolean computed;
+    private List<Consumer<InventoryRollups>> changesDuringRecompute;
+
+    public InventoryRollupServiceImpl(LocationRepository locationRepository,
+                                      EquipmentRepository equipmentRepository,
+                                      ConsumableRepository consumableRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry) {
+        this.locationRepository = locationRepository;
+        this.equipmentRepository = equipmentRepository;
+        this.consumableRepository = consumableRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.driftCounter = Counter.builder("inventory.rollup.drift")
+                .description("Locations whose rollups differed from a full recompute")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public LocationSummaryDTO getLocationSummary(Long locationId) {
+        lock.readLock().lock();
+        try {
+            var location = rollups.place(locationId);
+            if (location == null) {
+                throw new LocationException("Location not found", HttpStatus.NOT_FOUND);
+            }
+            return new LocationSummaryDTO(location.id(), location.name(), location.type(), location.building(),
+                    location.floor(), rollups.location(locationId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public BuildingSummaryDTO getBuildingSummary(String building, Integer floor) {
+        lock.readLock().lock();
+        try {
+            int locations = rollups.locationCount(building, floor);
+            if (locations == 0) {
+                throw new LocationException("No location found in building " + building
+                        + (floor == null ? "" : " on floor " + floor), HttpStatus.NOT_FOUND);
+            }
+            return new BuildingSummaryDTO(building, floor, locations, rollups.building(building, floor));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void locationSaved(LocationRollupRow location) {
+        apply(rollups -> rollups.putLocation(location));
+    }
+
+    @Override
+    public void locationRemoved(Long locationId) {
+        apply(rollups -> rollups.removeLocation(locationId));
+    }
+
+    @Override
+    public void equipmentSaved(EquipmentRollupRow equipment) {
+        apply(rollups -> rollups.putEquipment(equipment));
+    }
+
+    @Override
+    public void equipmentRemoved(Long equipmentId) {
+        apply(rollups -> rollups.removeEquipment(equipmentId));
+    }
+
+    @Override
+    public void consumableSaved(ConsumableRollupRow consumable) {
+        apply(rollups -> rollups.putConsumable(consumable));
+    }
+
+    @Override
+    public void consumableRemoved(Long consumableId) {
+        apply(rollups -> rollups.removeConsumable(consumableId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void computeAtStartup() {
+        recompute();
+    }
+
+    @Scheduled(initialDelayString = "${inventory.rollup.recompute-interval-ms:3600000}",
+            fixedDelayString = "${inventory.rollup.recompute-interval-ms:3600000}")
+    public void scheduledRecompute() {
+        recompute();
+    }
+
+    @Override
+    public RollupCheckDTO recompute() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRecompute != null) {
+                throw new LocationException("A recompute is already running", HttpStatus.CONFLICT);
+            }
+            changesDuringRecompute = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        var recomputed = new InventoryRollups();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                locationRepository.findRollupRows().forEach(recomputed::putLocation);
+                equipmentRepository.findRollupRows().forEach(recomputed::putEquipment);
+                consumableRepository.findRollupRows().forEach(recomputed::putConsumable);
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRecompute = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        RollupCheckDTO check;
+        lock.writeLock().lock();
+        try {
+            changesDuringRecompute.forEach(change -> change.accept(recomputed));
+            changesDuringRecompute = null;
+            List<Long> drifted = computed ? new ArrayList<>(rollups.differences(recomputed)) : new ArrayList<>();
+            drifted.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+            check = new RollupCheckDTO(recomputed.equipmentCount(), recomputed.consumableCount(), drifted);
+            rollups = recomputed;
+            computed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!check.getDriftedLocations().isEmpty()) {
+            log.warn("Inventory rollups of {} locations differed from the database: {}",
+                    check.getDriftedLocations().size(), check.getDriftedLocations());
+            driftCounter.increment(check.getDriftedLocations().size());
+        }
+        log.info("Inventory rollups recomputed with {} equipment items and {} consumables",
+                check.getEquipment(), check.getConsumables());
+        return check;
+    }
+
+    private void apply(Consumer<InventoryRollups> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(rollups);
+            if (changesDuringRecompute != null) {
+                changesDuringRecompute.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.location.InventorySummaryDTO;
+import com.bid90.edusupply.repository.projection.ConsumableRollupRow;
+import com.bid90.edusupply.repository.projection.EquipmentRollupRow;
+import com.bid90.edusupply.repository.projection.LocationRollupRow;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Materialized inventory counts per location and per building floor.
+ * <p>
+ * The last counted state of every equipment item and consumable is kept, so a change subtracts the old state
+ * from its location and adds the new one. Floor counts are the sum of the counts of the known locations on that
+ * floor, a location that moves to another building or floor takes its counts along. Not thread-safe, guarded
+ * by {@link InventoryRollupServiceImpl}.
+ * </p>
+ */
+final class InventoryRollups {
+
+    static final String NO_STATUS = "NONE";
+    static final String NO_CATEGORY = "UNCATEGORIZED";
+
+    private final Map<Long, LocationRollupRow> places = new HashMap<>();
+    private final Map<Long, EquipmentRollupRow> equipment = new HashMap<>();
+    private final Map<Long, ConsumableRollupRow> consumables = new HashMap<>();
+    // items without location are counted under the null key
+    private final Map<Long, Counts> byLocation = new HashMap<>();
+    private final Map<String, Map<Integer, Counts>> byFloor = new TreeMap<>();
+
+    void putLocation(LocationRollupRow location) {
+        var place = location.building() != null ? location
+                : new LocationRollupRow(location.id(), location.name(), location.type(), "", location.floor());
+        var old = places.put(place.id(), place);
+        var counts = byLocation.get(place.id());
+        if (counts == null || (old != null && old.building().equals(place.building()) && old.floor() == place.floor())) {
+            return;
+        }
+        if (old != null) {
+            floor(old).add(counts, -1);
+        }
+        floor(place).add(counts, 1);
+    }
+
+    void removeLocation(Long id) {
+        var old = places.remove(id);
+        var counts = byLocation.get(id);
+        if (old != null && counts != null) {
+            floor(old).add(counts, -1);
+        }
+    }
+
+    void putEquipment(EquipmentRollupRow row) {
+        var old = equipment.put(row.id(), row);
+        if (old != null) {
+            count(old.locationId(), counts -> counts.addEquipment(old, -1));
+        }
+        count(row.locationId(), counts -> counts.addEquipment(row, 1));
+    }
+
+    void removeEquipment(Long id) {
+        var old = equipment.remove(id);
+        if (old != null) {
+            count(old.locationId(), counts -> counts.addEquipment(old, -1));
+        }
+    }
+
+    void putConsumable(ConsumableRollupRow row) {
+        var old = consumables.put(row.id(), row);
+        if (old != null) {
+            count(old.locationId(), counts -> counts.addConsumable(old, -1));
+        }
+        count(row.locationId(), counts -> counts.addConsumable(row, 1));
+    }
+
+    void removeConsumable(Long id) {
+        var old = consumables.remove(id);
+        if (old != null) {
+            count(old.locationId(), counts -> counts.addConsumable(old, -1));
+        }
+    }
+
+    /**
+     * @return The location, or null if it is not known.
+     */
+    LocationRollupRow place(Long locationId) {
+        return places.get(locationId);
+    }
+
+    /**
+     * @return The inventory of the location, or null if the location is not known.
+     */
+    InventorySummaryDTO location(Long locationId) {
+        if (!places.containsKey(locationId)) {
+            return null;
+        }
+        return byLocation.getOrDefault(locationId, new Counts()).toDTO();
+    }
+
+    /**
+     * @param floor The floor, or null for the whole building.
+     * @return The inventory of the building or floor, or null if no location is known there.
+     */
+    InventorySummaryDTO building(String building, Integer floor) {
+        var floors = byFloor.get(building);
+        if (floors == null && places.values().stream().noneMatch(place -> place.building().equals(building))) {
+            return null;
+        }
+        var total = new Counts();
+        if (floors != null) {
+            floors.forEach((number, counts) -> {
+                if (floor == null || floor.equals(number)) {
+                    total.add(counts, 1);
+                }
+            });
+        }
+        return total.toDTO();
+    }
+
+    /**
+     * @return The number of locations known on the building or floor.
+     */
+    int locationCount(String building, Integer floor) {
+        return (int) places.values().stream()
+                .filter(place -> place.building().equals(building) && (floor == null || floor == place.floor()))
+                .count();
+    }
+
+    /**
+     * Compares with rollups built independently, e.g. by a full recompute.
+     *
+     * @return The ids of the locations whose place or counts differ, null stands for the items without location.
+     */
+    Set<Long> differences(InventoryRollups other) {
+        Set<Long> ids = new HashSet<>(byLocation.keySet());
+        ids.addAll(other.byLocation.keySet());
+        ids.addAll(places.keySet());
+        ids.addAll(other.places.keySet());
+        Set<Long> differences = new HashSet<>();
+        for (var id : ids) {
+            var counts = byLocation.getOrDefault(id, new Counts());
+            var otherCounts = other.byLocation.getOrDefault(id, new Counts());
+            if (!counts.sameAs(otherCounts) || !Objects.equals(places.get(id), other.places.get(id))) {
+                differences.add(id);
+            }
+        }
+        return differences;
+    }
+
+    int equipmentCount() {
+        return equipment.size();
+    }
+
+    int consumableCount() {
+        return consumables.size();
+    }
+
+    private void count(Long locationId, Consumer<Counts> change) {
+        var counts = byLocation.computeIfAbsent(locationId, id -> new Counts());
+        change.accept(counts);
+        var place = locationId == null ? null : places.get(locationId);
+        if (place != null) {
+            change.accept(floor(place));
+        }
+        if (counts.isEmpty()) {
+            byLocation.remove(locationId);
+        }
+    }
+
+    private Counts floor(LocationRollupRow place) {
+        return byFloor.computeIfAbsent(place.building(), building -> new TreeMap<>())
+                .computeIfAbsent(place.floor(), floor -> new Counts());
+    }
+
+    /**
+     * Equipment counts by status and category and consumable stock totals. Zero counts are removed, so equal
+     * inventories have equal maps.
+     */
+    private static final class Counts {
+
+        private final Map<String, Map<String, Long>> equipment = new TreeMap<>();
+        private long consumableItems;
+        private long consumableQuantity;
+        private long consumableReserved;
+
+        void addEquipment(EquipmentRollupRow row, int sign) {
+            addEquipment(row.status() == null ? NO_STATUS : row.status().name(),
+                    row.category() == null || row.category().isBlank() ? NO_CATEGORY : row.category(), sign);
+        }
+
+        void addConsumable(ConsumableRollupRow row, int sign) {
+            consumableItems += sign;
+            consumableQuantity += (long) sign * row.quantity();
+            consumableReserved += (long) sign * row.reservedQuantity();
+        }
+
+        void add(Counts other, int sign) {
+            other.equipment.forEach((status, categories) ->
+                    categories.forEach((category, count) -> addEquipment(status, category, sign * count)));
+            consumableItems += sign * other.consumableItems;
+            consumableQuantity += sign * other.consumableQuantity;
+            consumableReserved += sign * other.consumableReserved;
+        }
+
+        boolean isEmpty() {
+            return equipment.isEmpty() && consumableItems == 0 && consumableQuantity == 0 && consumableReserved == 0;
+        }
+
+        boolean sameAs(Counts other) {
+            return equipment.equals(other.equipment)
+                    && consumableItems == other.consumableItems
+                    && consumableQuantity == other.consumableQuantity
+                    && consumableReserved == other.consumableReserved;
+        }
+
+        InventorySummaryDTO toDTO() {
+            var summary = new InventorySummaryDTO();
+            Map<String, Long> byStatus = new TreeMap<>();
+            Map<String, Long> byCategory = new TreeMap<>();
+            Map<String, Map<String, Long>> byStatusAndCategory = new TreeMap<>();
+            long total = 0;
+            for (var status : equipment.entrySet()) {
+                byStatusAndCategory.put(status.getKey(), new TreeMap<>(status.getValue()));
+                for (var category : status.getValue().entrySet()) {
+                    byStatus.merge(status.getKey(), category.getValue(), Long::sum);
+                    byCategory.merge(category.getKey(), category.getValue(), Long::sum);
+                    total += category.getValue();
+                }
+            }
+            summary.setEquipmentTotal(total);
+            summary.setEquipmentByStatus(byStatus);
+            summary.setEquipmentByCategory(byCategory);
+            summary.setEquipmentByStatusAndCategory(byStatusAndCategory);
+            summary.setConsumableItems(consumableItems);
+            summary.setConsumableQuantity(consumableQuantity);
+            summary.setConsumableReserved(consumableReserved);
+            summary.setConsumableAvailable(consumableQuantity - consumableReserved);
+            return summary;
+        }
+
+        private void addEquipment(String status, String category, long delta) {
+            var categories = equipment.computeIfAbsent(status, key -> new TreeMap<>());
+            if (categories.merge(category, delta, Long::sum) == 0) {
+                categories.remove(category);
+            }
+            if (categories.isEmpty()) {
+                equipment.remove(status);
+            }
+        }
+    }
+}
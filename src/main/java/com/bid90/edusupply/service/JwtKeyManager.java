@@ -0,0 +1,222 @@
+package com.bid90.edusupply.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.bid90.edusupply.PasswordUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JwtKeyManager owns the HMAC512 key material used to sign and verify JWT tokens.
+ * <p>
+ * The {@link Algorithm} and {@link JWTVerifier} for each key are built once and shared between requests.
+ * Every key is identified by a {@code kid}, so tokens signed with a previous key keep verifying during a
+ * rollover. The id of the configured key is {@code jwt.secret.kid}; other keys, and the configured one when no
+ * id is set, get a random id, so the header reveals nothing about the secret. A token whose {@code kid} is not
+ * known here, such as one signed by another node that picked its own random id, is checked against every key
+ * still valid; setting the same {@code jwt.secret.kid} on every node avoids that. When {@code jwt.secret.file}
+ * is set, the file modification time is checked at most once per {@code jwt.secret.reload-interval-ms} and a
+ * changed secret becomes the new signing key, while the old one stays valid for verification during
+ * {@code jwt.secret.rotation-grace-ms}.
+ * </p>
+ */
+@Component
+public class JwtKeyManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyManager.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final String secret;
+    private final String secretFilePath;
+    private final long reloadIntervalMs;
+    private final long rotationGraceMs;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile KeySet keySet;
+    private volatile long nextReloadCheck;
+
+    /**
+     * Constructs a JwtKeyManager and builds the initial key set.
+     *
+     * @param secret           The inline secret used when no secret file is configured.
+     * @param keyId            The {@code kid} of the configured secret, random if blank.
+     * @param secretFilePath   The file path where the secret key is stored (if applicable).
+     * @param previousSecrets  Comma separated list of retired secrets still accepted for verification.
+     * @param reloadIntervalMs Minimum interval between two modification checks of the secret file.
+     * @param rotationGraceMs  How long a replaced secret keeps verifying tokens after a file reload.
+     */
+    public JwtKeyManager(@Value("${jwt.secret}") String secret,
+                         @Value("${jwt.secret.kid:}") String keyId,
+                         @Value("${jwt.secret.file}") String secretFilePath,
+                         @Value("${jwt.secret.previous:}") String previousSecrets,
+                         @Value("${jwt.secret.reload-interval-ms:5000}") long reloadIntervalMs,
+                         @Value("${jwt.secret.rotation-grace-ms:${jwt.refresh.expiration}}") long rotationGraceMs) {
+        this.secret = secret;
+        this.secretFilePath = secretFilePath;
+        this.reloadIntervalMs = reloadIntervalMs;
+        this.rotationGraceMs = rotationGraceMs;
+
+        Map<String, RetiredKey> retired = new HashMap<>();
+        Arrays.stream(previousSecrets.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(previous -> buildKey(randomKeyId(), previous))
+                .forEach(key -> retired.put(key.kid(), new RetiredKey(key, Long.MAX_VALUE)));
+
+        var kid = keyId.isBlank() ? randomKeyId() : keyId.trim();
+        var current = PasswordUtil.getPassword(secret, secretFilePath);
+        this.keySet = new KeySet(buildKey(kid, current), bytes(current), retired, lastModified());
+        this.nextReloadCheck = System.currentTimeMillis() + reloadIntervalMs;
+    }
+
+    /**
+     * Returns the key currently used for signing new tokens.
+     *
+     * @return The current signing key.
+     */
+    public SigningKey signingKey() {
+        reloadIfStale();
+        return keySet.current();
+    }
+
+    /**
+     * Verifies a token with the key referenced by its {@code kid} header. Tokens without a {@code kid} are
+     * verified with the current key; tokens with an unknown one with every key still valid, current first.
+     *
+     * @param jwt The decoded token.
+     * @return The verified token.
+     * @throws JWTVerificationException if no key still valid verifies the token.
+     */
+    public DecodedJWT verify(DecodedJWT jwt) {
+        reloadIfStale();
+        var snapshot = keySet;
+        var kid = jwt.getKeyId();
+        long now = System.currentTimeMillis();
+        if (kid == null || kid.equals(snapshot.current().kid())) {
+            return snapshot.current().verifier().verify(jwt);
+        }
+        var retired = snapshot.retired().get(kid);
+        if (retired != null) {
+            if (retired.validUntil() < now) {
+                throw new JWTVerificationException("Expired JWT key id: " + kid);
+            }
+            return retired.key().verifier().verify(jwt);
+        }
+        List<SigningKey> candidates = new ArrayList<>();
+        candidates.add(snapshot.current());
+        snapshot.retired().values().stream()
+                .filter(r -> r.validUntil() >= now)
+                .forEach(r -> candidates.add(r.key()));
+        for (var candidate : candidates) {
+            try {
+                return candidate.verifier().verify(jwt);
+            } catch (JWTVerificationException e) {
+                // signed with another key, or invalid; the next key decides
+            }
+        }
+        throw new JWTVerificationException("Unknown JWT key id: " + kid);
+    }
+
+    /**
+     * Reloads the secret file if it changed since the last check.
+     * Only one thread performs the check, the others keep using the current snapshot.
+     */
+    private void reloadIfStale() {
+        if (secretFilePath.isBlank()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now < nextReloadCheck || !reloadLock.tryLock()) {
+            return;
+        }
+        try {
+            nextReloadCheck = now + reloadIntervalMs;
+            FileTime modified = lastModified();
+            if (modified != null && !modified.equals(keySet.fileTime())) {
+                rotate(PasswordUtil.getPassword(secret, secretFilePath), modified, now);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reload JWT secret file, keeping current key: {}", e.getMessage());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Makes the given secret the signing key and retires the previous one for the grace period.
+     */
+    private void rotate(String newSecret, FileTime modified, long now) {
+        var current = keySet.current();
+        Map<String, RetiredKey> retired = new HashMap<>(keySet.retired());
+        retired.values().removeIf(r -> r.validUntil() < now);
+        if (MessageDigest.isEqual(keySet.secret(), bytes(newSecret))) {
+            keySet = new KeySet(current, keySet.secret(), retired, modified);
+            return;
+        }
+        var key = buildKey(randomKeyId(), newSecret);
+        retired.put(current.kid(), new RetiredKey(current, now + rotationGraceMs));
+        keySet = new KeySet(key, bytes(newSecret), retired, modified);
+        logger.info("JWT signing key rotated from kid {} to kid {}", current.kid(), key.kid());
+    }
+
+    private FileTime lastModified() {
+        if (secretFilePath.isBlank()) {
+            return null;
+        }
+        try {
+            return Files.getLastModifiedTime(Paths.get(secretFilePath));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read password file", e);
+        }
+    }
+
+    private static SigningKey buildKey(String kid, String secret) {
+        var algorithm = Algorithm.HMAC512(secret);
+        return new SigningKey(kid, algorithm, JWT.require(algorithm).build());
+    }
+
+    private static byte[] bytes(String secret) {
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String randomKeyId() {
+        var bytes = new byte[8];
+        RANDOM.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    /**
+     * A signing key with its prebuilt algorithm and verifier.
+     */
+    public record SigningKey(String kid, Algorithm algorithm, JWTVerifier verifier) {
+    }
+
+    private record RetiredKey(SigningKey key, long validUntil) {
+    }
+
+    /**
+     * @param secret The secret of the current key, to tell whether a reloaded file changed it.
+     */
+    private record KeySet(SigningKey current, byte[] secret, Map<String, RetiredKey> retired, FileTime fileTime) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.bid90.edusupply.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenCache keeps the principal resolved for an already verified JWT token until the token expires.
+ * <p>
+ * An entry also keeps the claims revocation is checked against, so the caller checks every hit against the
+ * denylist instead of relying on the invalidation winning the race with a request caching the token.
+ * </p>
+ * <p>
+ * Entries are keyed by a SHA-256 digest of the token, so raw tokens are never kept in memory.
+ * The cache is a Caffeine cache bounded by {@code jwt.cache.max-size}: every entry expires with its token, and
+ * when the cache is full Caffeine's frequency based eviction keeps the tokens in use. Hits, misses, evictions
+ * and the size are published as the {@code cache.*} metrics tagged {@code cache=jwt.token.cache}. Invalidations
+ * are published through {@link ClusterSync}, so a user changed on one node is not served from the cache of
+ * another.
+ * </p>
+ */
+@Component
+public class JwtTokenCache {
+
+    private static final String INVALIDATE_USER = "jwt-cache-user";
+    private static final String INVALIDATE_ALL = "jwt-cache-all";
+
+    private final Cache<String, Entry> entries;
+    private final int maxSize;
+    private final ClusterSync clusterSync;
+
+    /**
+     * Constructs a JwtTokenCache.
+     *
+     * @param maxSize       The maximum number of cached tokens, 0 disables the cache.
+     * @param meterRegistry The registry used to publish cache metrics.
+     * @param clusterSync   Shares invalidations with the other nodes.
+     */
+    public JwtTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize, MeterRegistry meterRegistry,
+                         ClusterSync clusterSync) {
+        this.maxSize = maxSize;
+        this.clusterSync = clusterSync;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, maxSize))
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "jwt.token.cache");
+        clusterSync.subscribe(INVALIDATE_USER, payload -> removeUser((Long) payload));
+        clusterSync.subscribe(INVALIDATE_ALL, payload -> entries.invalidateAll());
+    }
+
+    /**
+     * Returns what was cached for the given token, if it is present and not expired.
+     *
+     * @param token The raw JWT token.
+     * @return The cached token or null.
+     */
+    public CachedToken get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        var entry = entries.getIfPresent(digest(token));
+        return entry == null ? null : entry.token();
+    }
+
+    /**
+     * Caches the principal of a verified token until the token expiration.
+     *
+     * @param token     The raw JWT token.
+     * @param cached    The resolved principal with the claims revocation is checked against.
+     * @param expiresAt The token expiration, tokens without expiration are not cached.
+     */
+    public void put(String token, CachedToken cached, Instant expiresAt) {
+        if (maxSize <= 0 || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        entries.put(digest(token), new Entry(cached, expiresAt.toEpochMilli()));
+    }
+
+    /**
+     * Drops every cached token of the given user.
+     *
+     * @param userId The id of the user whose data changed.
+     */
+    public void invalidateUser(Long userId) {
+        removeUser(userId);
+        clusterSync.publish(INVALIDATE_USER, userId);
+    }
+
+    /**
+     * Drops every cached token.
+     */
+    public void invalidateAll() {
+        entries.invalidateAll();
+        clusterSync.publish(INVALIDATE_ALL, Boolean.TRUE);
+    }
+
+    private void removeUser(Long userId) {
+        // rare compared to lookups, a scan keeps the entries free of a second index
+        entries.asMap().values().removeIf(entry -> entry.token().userId().equals(userId));
+    }
+
+    private static String digest(String token) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A verified token: its principal, and the id, issue time and refresh token family it may be revoked by.
+     *
+     * @param family null for tokens issued before rotation.
+     */
+    public record CachedToken(Long userId, UserDetails principal, String tokenId, Instant issuedAt, String family) {
+    }
+
+    private record Entry(CachedToken token, long expiresAt) {
+    }
+
+    /**
+     * Expires every entry when its token expires, reads do not extend it.
+     */
+    private static final class TokenExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.expiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
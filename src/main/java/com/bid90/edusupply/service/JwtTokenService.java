@@ -2,14 +2,13 @@ package com.bid90.edusupply.service;
 
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import com.bid90.edusupply.PasswordUtil;
 import com.bid90.edusupply.dto.auth.JwtTokens;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,23 +18,20 @@ import java.util.Map;
 @Component
 public class JwtTokenService {
 
-    private final String secret;
-    private final String secretFilePath;
+    private final JwtKeyManager jwtKeyManager;
     private final Long jwtExpirationMs;
     private final Long refreshJwtExpirationMs;
 
     /**
      * Constructs a JwtTokenService with the specified parameters.
      *
-     * @param secret                 The secret key used for signing JWT tokens.
-     * @param secretFilePath         The file path where the secret key is stored (if applicable).
+     * @param jwtKeyManager          The manager holding the shared signing and verification keys.
      * @param jwtExpirationMs        The expiration time for the access token in milliseconds.
      * @param refreshJwtExpirationMs The expiration time for the refresh token in milliseconds.
      */
-    public JwtTokenService(@Value("${jwt.secret}") String secret,  @Value("${jwt.secret.file}") String secretFilePath,
+    public JwtTokenService(JwtKeyManager jwtKeyManager,
                            @Value("${jwt.expiration}") Long jwtExpirationMs,  @Value("${jwt.refresh.expiration}") Long refreshJwtExpirationMs) {
-        this.secret = secret;
-        this.secretFilePath = secretFilePath;
+        this.jwtKeyManager = jwtKeyManager;
         this.jwtExpirationMs = jwtExpirationMs;
         this.refreshJwtExpirationMs = refreshJwtExpirationMs;
     }
@@ -90,15 +86,14 @@ public class JwtTokenService {
     }
 
     /**
-     * Validates the provided JWT token using the configured secret.
+     * Validates the provided JWT token with the key referenced by its {@code kid} header.
      *
      * @param token The JWT token to validate.
      * @return The decoded JWT token if valid.
      */
     public DecodedJWT verificationToken(String token) {
-        var validation = JWT.require(Algorithm.HMAC512(PasswordUtil.
-                getPassword(secret, secretFilePath))).build();
-        return validation.verify(token);
+        var decodedJWT = JWT.decode(token);
+        return jwtKeyManager.verify(decodedJWT);
     }
 
     /**
@@ -109,11 +104,25 @@ public class JwtTokenService {
      * @return The generated JWT token.
      */
     public String generateToken(String subject, Map<String, Object> claims) {
+        return generateToken(subject, claims, jwtExpirationMs);
+    }
+
+    /**
+     * Generates a new JWT token with the specified subject, claims and lifetime.
+     *
+     * @param subject    The subject to associate with the token.
+     * @param claims     A map of dynamic claims to include in the token.
+     * @param lifetimeMs How long the token is valid, in milliseconds.
+     * @return The generated JWT token.
+     */
+    public String generateToken(String subject, Map<String, Object> claims, long lifetimeMs) {
+        var signingKey = jwtKeyManager.signingKey();
         // Create the JWT builder
         var jwtBuilder = JWT.create()
+                .withKeyId(signingKey.kid())
                 .withSubject(subject)
                 .withIssuedAt(new Date())
-                .withExpiresAt(new Date((new Date()).getTime() + jwtExpirationMs));
+                .withExpiresAt(new Date((new Date()).getTime() + lifetimeMs));
 
         // Add dynamic claims
         if (claims != null) {
@@ -125,6 +134,7 @@ public class JwtTokenService {
                     case Long l -> jwtBuilder.withClaim(key, l);
                     case Integer i -> jwtBuilder.withClaim(key, i);
                     case Double d -> jwtBuilder.withClaim(key, d);
+                    case List<?> list -> jwtBuilder.withClaim(key, list);
                     case null, default -> {
                         if (value != null) {
                             jwtBuilder.withClaim(key, value.toString());
@@ -134,7 +144,7 @@ public class JwtTokenService {
             });
         }
         // Return the generated token
-        return jwtBuilder.sign(Algorithm.HMAC512(PasswordUtil.getPassword(secret, secretFilePath)));
+        return jwtBuilder.sign(signingKey.algorithm());
     }
 
     /**
@@ -151,7 +161,7 @@ public class JwtTokenService {
         return new JwtTokens(
                 generateToken(subject, claimsAccessToke),
                 jwtExpirationMs,
-                generateToken(subject, claimsRefreshToken),
+                generateToken(subject, claimsRefreshToken, refreshJwtExpirationMs),
                 refreshJwtExpirationMs);
     }
 
@@ -0,0 +1,83 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * LoginExecutor runs password checks on a dedicated, bounded thread pool instead of the servlet threads.
+ * <p>
+ * The pool has a fixed queue. When it is full the login is rejected immediately with
+ * {@link LoginThrottledException}, so a login storm turns into fast 429 responses instead of a growing backlog.
+ * Queue depth, active threads and rejections are published as {@code login.executor.*} metrics.
+ * </p>
+ */
+@Component
+public class LoginExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a LoginExecutor.
+     *
+     * @param threads           Number of worker threads, 0 uses the number of available processors.
+     * @param queueCapacity     Maximum number of logins waiting for a worker.
+     * @param retryAfterSeconds Retry-After hint sent when the queue is full.
+     * @param meterRegistry     The registry used to publish executor metrics.
+     */
+    public LoginExecutor(@Value("${login.executor.threads:0}") int threads,
+                         @Value("${login.executor.queue-capacity:200}") int queueCapacity,
+                         @Value("${login.executor.retry-after-seconds:2}") long retryAfterSeconds,
+                         MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        var threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    var thread = new Thread(runnable, "login-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejected = Counter.builder("login.executor.rejected").register(meterRegistry);
+        Gauge.builder("login.executor.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("login.executor.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * Submits a login task.
+     *
+     * @param task The task to run.
+     * @param <T>  The result type.
+     * @return A future completed with the task result.
+     * @throws LoginThrottledException if the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new LoginThrottledException("Login service is busy, try again later", retryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,144 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.exception.LoginThrottledException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LoginThrottle limits the number of failed login attempts per email and per client IP in a fixed time window.
+ * Every attempt is counted when it is admitted, before any password hashing happens, and refunded once it
+ * succeeds, so concurrent guesses cannot pass the limit while the first ones are still being hashed. A whole
+ * school signing in from one NAT address is not throttled, and a successful login clears the failures of its
+ * email.
+ * <p>
+ * Configured with {@code login.throttle.max-failures-per-email} (default 10),
+ * {@code login.throttle.max-failures-per-ip} (default 100, 0 disables a limit) and
+ * {@code login.throttle.window-ms} (default one minute). Expired windows are swept on a schedule of the same
+ * length, never on the request path.
+ * </p>
+ */
+@Component
+public class LoginThrottle {
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final long windowMs;
+
+    /**
+     * Constructs a LoginThrottle.
+     *
+     * @param maxFailuresPerEmail Maximum failed logins for one email in a window, 0 to disable.
+     * @param maxFailuresPerIp    Maximum failed logins from one IP in a window, 0 to disable.
+     * @param windowMs            Length of the throttling window in milliseconds.
+     */
+    public LoginThrottle(@Value("${login.throttle.max-failures-per-email:10}") int maxFailuresPerEmail,
+                         @Value("${login.throttle.max-failures-per-ip:100}") int maxFailuresPerIp,
+                         @Value("${login.throttle.window-ms:60000}") long windowMs) {
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Admits a login attempt and counts it as a failure of the email and the IP until it is settled with
+     * {@link #recordSuccess} or {@link #release}. An attempt that fails needs no further call.
+     *
+     * @param email    The email used for the login, may be null.
+     * @param clientIp The IP of the client, may be null.
+     * @throws LoginThrottledException if the email or the IP is over its limit, nothing is counted then.
+     */
+    public void acquire(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        boolean emailCounted = false;
+        if (email != null && maxFailuresPerEmail > 0) {
+            take(emailKey(email), maxFailuresPerEmail, now);
+            emailCounted = true;
+        }
+        if (clientIp != null && maxFailuresPerIp > 0) {
+            try {
+                take(ipKey(clientIp), maxFailuresPerIp, now);
+            } catch (LoginThrottledException e) {
+                if (emailCounted) {
+                    refund(emailKey(email));
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Settles a successful login: clears the failures of its email and refunds the attempt of its IP. The other
+     * failures of the IP are kept, they may come from other accounts.
+     *
+     * @param email    The email used for the login, may be null.
+     * @param clientIp The IP of the client, may be null.
+     */
+    public void recordSuccess(String email, String clientIp) {
+        if (email != null) {
+            windows.remove(emailKey(email));
+        }
+        if (clientIp != null) {
+            refund(ipKey(clientIp));
+        }
+    }
+
+    /**
+     * Refunds an admitted attempt that ended without checking the credentials, such as one rejected by a busy
+     * executor or a failing database.
+     *
+     * @param email    The email used for the login, may be null.
+     * @param clientIp The IP of the client, may be null.
+     */
+    public void release(String email, String clientIp) {
+        if (email != null) {
+            refund(emailKey(email));
+        }
+        if (clientIp != null) {
+            refund(ipKey(clientIp));
+        }
+    }
+
+    /**
+     * Removes the windows that have expired.
+     */
+    @Scheduled(fixedDelayString = "${login.throttle.window-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        windows.values().removeIf(window -> now - window.start() >= windowMs);
+    }
+
+    private void take(String key, int maxFailures, long now) {
+        var window = windows.compute(key, (k, current) ->
+                current == null || now - current.start() >= windowMs ? new Window(now, new AtomicInteger()) : current);
+        if (window.failures().incrementAndGet() > maxFailures) {
+            window.failures().decrementAndGet();
+            long retryAfterSeconds = Math.max(1, (window.start() + windowMs - now + 999) / 1000);
+            throw new LoginThrottledException("Too many failed login attempts, try again later", retryAfterSeconds);
+        }
+    }
+
+    private void refund(String key) {
+        var window = windows.get(key);
+        if (window != null) {
+            // the window may have been restarted since the attempt was counted
+            window.failures().updateAndGet(failures -> Math.max(0, failures - 1));
+        }
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.toLowerCase();
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    private record Window(long start, AtomicInteger failures) {
+    }
+}
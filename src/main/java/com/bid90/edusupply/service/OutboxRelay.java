@@ -0,0 +1,113 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.event.OutboxEventDTO;
+import com.bid90.edusupply.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes the outbox events in batches to every {@link OutboxSink}.
+ * <p>
+ * Each batch of at most {@code outbox.relay.batch-size} events is locked, numbered after the last published
+ * event, handed to the sinks and marked as published in one transaction; a failing sink rolls the batch back
+ * and it is retried on the next run. Published events are purged after {@code outbox.retention-hours}.
+ * </p>
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter publishedCounter;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxSink> sinks,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.retention-hours:168}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.retention = Duration.ofHours(retentionHours);
+        this.publishedCounter = Counter.builder("outbox.published")
+                .description("Outbox events handed to the sinks")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes batches until the outbox is drained or a batch fails.
+     *
+     * @return The number of events published.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public int relay() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        int published = 0;
+        try {
+            int count;
+            do {
+                count = publishBatch();
+                published += count;
+            } while (count == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox batch not published, retrying on the next run: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+        return published;
+    }
+
+    @Scheduled(cron = "${outbox.purge.cron:0 30 * * * *}")
+    public void purge() {
+        var before = LocalDateTime.now().minus(retention);
+        Integer deleted = transaction.execute(status -> outboxEventRepository.deletePublishedBefore(before));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    private int publishBatch() {
+        Integer count = transaction.execute(status -> {
+            var events = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            long sequence = outboxEventRepository.findLastSequenceNumber();
+            var date = LocalDateTime.now();
+            for (var event : events) {
+                event.setSequenceNumber(++sequence);
+                event.setPublishedAt(date);
+            }
+            var dtos = events.stream().map(OutboxEventDTO::new).toList();
+            for (var sink : sinks) {
+                sink.publish(dtos);
+            }
+            return events.size();
+        });
+        publishedCounter.increment(count == null ? 0 : count);
+        return count == null ? 0 : count;
+    }
+}
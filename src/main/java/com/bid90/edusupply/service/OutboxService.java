@@ -0,0 +1,20 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.PageDTO;
+import com.bid90.edusupply.dto.event.OutboxEventDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface OutboxService {
+
+    String USER = "user";
+    String GROUP = "group";
+    String CONSUMABLE = "consumable";
+    String EQUIPMENT_REQUEST = "equipment_request";
+    String CONSUMABLE_REQUEST = "consumable_request";
+
+    void record(String aggregateType, Long aggregateId, String type, Object payload);
+
+    PageDTO<OutboxEventDTO> getEvents(long after, int size);
+
+    SseEmitter subscribe(long after);
+}
@@ -0,0 +1,92 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.PageDTO;
+import com.bid90.edusupply.dto.event.OutboxEventDTO;
+import com.bid90.edusupply.model.OutboxEvent;
+import com.bid90.edusupply.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox of the changes to users, groups, stock and requests.
+ * <p>
+ * Events are inserted in the transaction of the change they describe, so an event exists if and only if the
+ * change was committed. The {@link OutboxRelay} hands them to the {@link OutboxSink}s and numbers them in
+ * publication order; that number is the cursor of the feed and the id of the server-sent events, so a client
+ * resumes where it stopped instead of downloading full lists again.
+ * </p>
+ */
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SseOutboxSink sseOutboxSink;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             SseOutboxSink sseOutboxSink,
+                             ObjectMapper objectMapper,
+                             @Value("${spring.data.web.pageable.max-page-size:500}") int maxPageSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sseOutboxSink = sseOutboxSink;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Records an event in the caller's transaction.
+     *
+     * @param payload Serialized to JSON.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, Long aggregateId, String type, Object payload) {
+        var event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setType(type);
+        event.setCreatedAt(LocalDateTime.now());
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize the payload of " + type + " event", e);
+        }
+        outboxEventRepository.save(event);
+    }
+
+    /**
+     * Reads a page of the published events after a sequence number, in publication order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<OutboxEventDTO> getEvents(long after, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        return PageDTO.keyset(getEventsAfter(after, pageSize), pageSize, OutboxEventDTO::getSequenceNumber);
+    }
+
+    /**
+     * Opens an event stream that first replays the events published after the given sequence number.
+     * The subscriber is registered before the replay, so an event published meanwhile is never missed; it is
+     * sent after the replay, once.
+     */
+    @Override
+    public SseEmitter subscribe(long after) {
+        return sseOutboxSink.subscribe(after, this::getEventsAfter, maxPageSize);
+    }
+
+    private List<OutboxEventDTO> getEventsAfter(long after, int size) {
+        return outboxEventRepository.findPublishedAfter(after, PageRequest.of(0, size)).stream()
+                .map(OutboxEventDTO::new)
+                .toList();
+    }
+}
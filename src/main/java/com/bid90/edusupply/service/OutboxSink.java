@@ -0,0 +1,21 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.event.OutboxEventDTO;
+
+import java.util.List;
+
+/**
+ * Destination of the events published by the {@link OutboxRelay}.
+ * <p>
+ * {@link #publish(List)} runs inside the relay transaction, before the events are marked as published. A sink
+ * that throws rolls the batch back and the relay retries it on every sink, so delivery is at least once and
+ * consumers deduplicate by event id.
+ * </p>
+ */
+public interface OutboxSink {
+
+    /**
+     * @param events Events in sequence number order.
+     */
+    void publish(List<OutboxEventDTO> events);
+}
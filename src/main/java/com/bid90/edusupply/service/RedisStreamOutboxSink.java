@@ -0,0 +1,77 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.event.OutboxEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds published events to a Redis stream, with the sequence number, type and JSON event as fields.
+ * <p>
+ * The stream is trimmed to about {@code outbox.sink.redis.max-length} entries. Consumers read it with their
+ * own consumer groups; Redis assigns the entry ids, so they deduplicate by the event id field.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink.redis.enabled", havingValue = "true")
+public class RedisStreamOutboxSink implements OutboxSink {
+
+    private final StringRedisTemplate template;
+    private final ObjectMapper objectMapper;
+    private final byte[] key;
+    private final XAddOptions options;
+
+    public RedisStreamOutboxSink(RedisConnectionFactory connectionFactory,
+                                 ObjectMapper objectMapper,
+                                 @Value("${outbox.sink.redis.stream:edusupply:events}") String stream,
+                                 @Value("${outbox.sink.redis.max-length:100000}") long maxLength) {
+        this.template = new StringRedisTemplate(connectionFactory);
+        this.objectMapper = objectMapper;
+        this.key = bytes(stream);
+        this.options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+    }
+
+    /**
+     * Adds the batch in one pipeline, a failed XADD fails the whole batch.
+     */
+    @Override
+    public void publish(List<OutboxEventDTO> events) {
+        List<ByteRecord> records = new ArrayList<>(events.size());
+        for (var event : events) {
+            Map<byte[], byte[]> fields = new LinkedHashMap<>();
+            fields.put(bytes("id"), bytes(String.valueOf(event.getId())));
+            fields.put(bytes("sequence"), bytes(String.valueOf(event.getSequenceNumber())));
+            fields.put(bytes("type"), bytes(event.getType()));
+            try {
+                fields.put(bytes("event"), objectMapper.writeValueAsBytes(event));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Cannot serialize event " + event.getId(), e);
+            }
+            records.add(StreamRecords.rawBytes(fields).withStreamKey(key));
+        }
+        template.executePipelined((RedisCallback<Object>) connection -> {
+            for (var record : records) {
+                connection.streamCommands().xAdd(record, options);
+            }
+            return null;
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,148 @@
+package com.bid90.edusupply.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Ids of the consumed refresh tokens and of the revoked refresh token families, each kept until it expires.
+ * <p>
+ * Entries are also indexed by expiry bucket of {@code jwt.refresh.store.bucket-ms}. A sweep drops the buckets
+ * that have fully expired, so it only touches expired entries, and memory stays proportional to the tokens
+ * that are still valid. Expired entries not yet swept are ignored by the checks.
+ * </p>
+ * <p>
+ * A refresh token is consumed with {@link ClusterSync#putIfAbsent}, so it can be used once across all nodes
+ * while the shared store is reachable. Family revocations are published to the other nodes and stored for
+ * nodes started later, like the {@link TokenDenylist}.
+ * </p>
+ */
+@Component
+public class RefreshTokenStore {
+
+    private static final String USED = "used-refresh-tokens";
+    private static final String FAMILIES = "revoked-refresh-families";
+
+    private final ClusterSync clusterSync;
+    private final long bucketMs;
+    // key to expiry in epoch milliseconds
+    private final Map<String, Long> used = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Set<Entry>> buckets = new ConcurrentSkipListMap<>();
+
+    /**
+     * Constructs a RefreshTokenStore.
+     *
+     * @param bucketMs Width of the expiry buckets, and interval of the sweep.
+     */
+    public RefreshTokenStore(ClusterSync clusterSync, MeterRegistry meterRegistry,
+                             @Value("${jwt.refresh.store.bucket-ms:60000}") long bucketMs) {
+        this.clusterSync = clusterSync;
+        this.bucketMs = Math.max(1, bucketMs);
+        Gauge.builder("jwt.refresh.store.size", this, RefreshTokenStore::size)
+                .description("Consumed refresh tokens and revoked families not yet expired")
+                .register(meterRegistry);
+        clusterSync.subscribe(FAMILIES, payload -> applyFamily((Revocation) payload));
+    }
+
+    /**
+     * Loads the families revoked by other nodes before this one started.
+     */
+    @PostConstruct
+    public void loadShared() {
+        clusterSync.entries(FAMILIES).values().forEach(payload -> applyFamily((Revocation) payload));
+    }
+
+    /**
+     * Marks a refresh token as used.
+     *
+     * @param tokenId   The {@code id} claim of the token.
+     * @param expiresAt The expiration of the token.
+     * @return True on the first use, false if the token was used before on any node.
+     */
+    public boolean consume(String tokenId, Instant expiresAt) {
+        long until = expiresAt.toEpochMilli();
+        var previous = used.putIfAbsent(tokenId, until);
+        // an expired entry the sweep has not dropped yet does not count
+        if (previous != null && (previous > System.currentTimeMillis() || !used.replace(tokenId, previous, until))) {
+            return false;
+        }
+        index(new Entry(tokenId, false), until);
+        return clusterSync.putIfAbsent(USED, tokenId, until, Duration.ofMillis(until - System.currentTimeMillis()));
+    }
+
+    /**
+     * Revokes every refresh token of a family, e.g. after one of them was reused.
+     *
+     * @param family The {@code family} claim shared by the tokens rotated from one login.
+     * @param until  When the last token of the family expires.
+     */
+    public void revokeFamily(String family, Instant until) {
+        var revocation = new Revocation(family, until.toEpochMilli());
+        applyFamily(revocation);
+        clusterSync.put(FAMILIES, family, revocation, Duration.ofMillis(revocation.until() - System.currentTimeMillis()));
+        clusterSync.publish(FAMILIES, revocation);
+    }
+
+    public boolean isFamilyRevoked(String family) {
+        var until = revokedFamilies.get(family);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * Drops the buckets whose entries have all expired.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.store.bucket-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        // bucket b holds the expiries in ((b - 1) * bucketMs, b * bucketMs]
+        var expired = buckets.headMap(now / bucketMs, true);
+        for (var bucket : expired.keySet()) {
+            var entries = buckets.remove(bucket);
+            if (entries == null) {
+                continue;
+            }
+            for (var entry : entries) {
+                // the key may have been added again with a later expiry
+                (entry.family() ? revokedFamilies : used).computeIfPresent(entry.key(),
+                        (key, until) -> until <= now ? null : until);
+            }
+        }
+    }
+
+    int size() {
+        return used.size() + revokedFamilies.size();
+    }
+
+    private void applyFamily(Revocation revocation) {
+        revokedFamilies.merge(revocation.family(), revocation.until(), Math::max);
+        index(new Entry(revocation.family(), true), revocation.until());
+    }
+
+    private void index(Entry entry, long until) {
+        // if the sweep removes the bucket meanwhile, compute retries and the entry lands in a new bucket
+        buckets.compute(Math.ceilDiv(until, bucketMs), (bucket, entries) -> {
+            var set = entries != null ? entries : ConcurrentHashMap.<Entry>newKeySet();
+            set.add(entry);
+            return set;
+        });
+    }
+
+    private record Entry(String key, boolean family) {
+    }
+
+    private record Revocation(String family, long until) implements Serializable {
+    }
+}
@@ -0,0 +1,12 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.PageDTO;
+import com.bid90.edusupply.dto.request.ArchiveResultDTO;
+import com.bid90.edusupply.dto.request.RequestHistoryDTO;
+
+public interface RequestArchiveService {
+
+    ArchiveResultDTO archive();
+
+    PageDTO<RequestHistoryDTO> getHistory(Long requesterId, Long after, int size);
+}
@@ -0,0 +1,133 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.PageDTO;
+import com.bid90.edusupply.dto.request.ArchiveResultDTO;
+import com.bid90.edusupply.dto.request.RequestHistoryDTO;
+import com.bid90.edusupply.dto.request.RequestType;
+import com.bid90.edusupply.exception.RequestException;
+import com.bid90.edusupply.repository.RequestArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves old request history to the archive tables and reads the history across both tiers.
+ * <p>
+ * Approved and rejected requests requested more than {@code request.archive.age-days} ago, and whose
+ * reservation window has ended, are moved on the {@code request.archive.cron} schedule. Each batch of
+ * {@code request.archive.batch-size} requests is copied and deleted in its own transaction, so a run that
+ * stops halfway leaves every request in exactly one tier and the next run continues where it stopped.
+ * </p>
+ * <p>
+ * History pages are read newest first from the live and archive tables of both request types, each with an
+ * index range scan of at most one page, and merged.
+ * </p>
+ */
+@Service
+public class RequestArchiveServiceImpl implements RequestArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestArchiveServiceImpl.class);
+    // keeps IN lists within what every database accepts
+    private static final int MAX_BATCH = 1000;
+
+    private final RequestArchiveRepository requestArchiveRepository;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration age;
+    private final int batchSize;
+    private final int maxPageSize;
+    private final Map<RequestType, Counter> movedCounters = new EnumMap<>(RequestType.class);
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RequestArchiveServiceImpl(RequestArchiveRepository requestArchiveRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${request.archive.age-days:365}") long ageDays,
+                                     @Value("${request.archive.batch-size:500}") int batchSize,
+                                     @Value("${spring.data.web.pageable.max-page-size:500}") int maxPageSize) {
+        this.requestArchiveRepository = requestArchiveRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.age = Duration.ofDays(ageDays);
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH));
+        this.maxPageSize = maxPageSize;
+        for (var type : RequestType.values()) {
+            movedCounters.put(type, Counter.builder("request.archive.moved")
+                    .description("Requests moved to the archive tables")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Scheduled(cron = "${request.archive.cron:0 0 3 * * *}")
+    public void scheduledArchive() {
+        archive();
+    }
+
+    @Override
+    public ArchiveResultDTO archive() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RequestException("The request archive is already running", HttpStatus.CONFLICT);
+        }
+        try {
+            var now = LocalDateTime.now();
+            var cutoff = now.minus(age).truncatedTo(ChronoUnit.SECONDS);
+            Map<RequestType, Long> moved = new EnumMap<>(RequestType.class);
+            for (var type : RequestType.values()) {
+                long total = 0;
+                int count;
+                do {
+                    count = transaction.execute(status -> requestArchiveRepository.move(type,
+                            requestArchiveRepository.findArchivable(type, cutoff, now, batchSize), now));
+                    total += count;
+                    movedCounters.get(type).increment(count);
+                } while (count == batchSize);
+                moved.put(type, total);
+            }
+            log.info("Archived {} equipment and {} consumable requests requested before {}",
+                    moved.get(RequestType.EQUIPMENT), moved.get(RequestType.CONSUMABLE), cutoff);
+            return new ArchiveResultDTO(cutoff, moved.get(RequestType.EQUIPMENT), moved.get(RequestType.CONSUMABLE));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public PageDTO<RequestHistoryDTO> getHistory(Long requesterId, Long after, int size) {
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        return readOnlyTransaction.execute(status -> {
+            LocalDateTime beforeDate = null;
+            if (after != null) {
+                beforeDate = requestArchiveRepository.findRequestDate(after)
+                        .orElseThrow(() -> new RequestException("Unknown cursor " + after, HttpStatus.BAD_REQUEST));
+            }
+            List<RequestHistoryDTO> history = new ArrayList<>();
+            for (var type : RequestType.values()) {
+                for (boolean archived : new boolean[]{false, true}) {
+                    history.addAll(requestArchiveRepository.findHistory(type, archived, requesterId, beforeDate, after, limit));
+                }
+            }
+            history.sort(Comparator.comparing(RequestHistoryDTO::getRequestDate, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(RequestHistoryDTO::getId, Comparator.reverseOrder()));
+            return PageDTO.keyset(history.subList(0, Math.min(limit, history.size())), limit, RequestHistoryDTO::getId);
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.model.Role;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface RequestStatusPushService {
+
+    SseEmitter subscribe(Long userId, Role role);
+}
@@ -0,0 +1,210 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.event.OutboxEventDTO;
+import com.bid90.edusupply.dto.event.RequestStatusChangeDTO;
+import com.bid90.edusupply.exception.RequestException;
+import com.bid90.edusupply.model.Role;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes request status changes as server-sent events to the requester and to every manager and admin.
+ * <p>
+ * The connection is authenticated once by the JWT filter when it is opened. An idle connection is an async
+ * servlet request without a thread, registered by user id and, for managers and admins, in the manager set,
+ * so a change reaches its subscribers with two map lookups whatever the number of open connections.
+ * </p>
+ * <p>
+ * Changes come from the {@code request.status_changed} events of the outbox once the relay transaction
+ * commits, and are forwarded through {@link ClusterSync} to the connections held by the other nodes. Every
+ * connection is an {@link SseStream} drained by a virtual thread, so a slow client neither blocks the relay nor
+ * delays the others; a connection whose queue overflows is closed and the client reconnects and reloads.
+ * </p>
+ */
+@Service
+public class RequestStatusPushServiceImpl implements RequestStatusPushService, OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestStatusPushServiceImpl.class);
+
+    static final String TOPIC = "request-status";
+    private static final String EVENT_TYPE = "request.status_changed";
+
+    private final ObjectMapper objectMapper;
+    private final ClusterSync clusterSync;
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final int maxConnections;
+    private final Map<Long, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> managers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter droppedCounter;
+
+    public RequestStatusPushServiceImpl(ObjectMapper objectMapper,
+                                        ClusterSync clusterSync,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${request.events.timeout-ms:1800000}") long timeoutMs,
+                                        @Value("${request.events.queue-capacity:256}") int queueCapacity,
+                                        @Value("${request.events.max-connections:10000}") int maxConnections) {
+        this.objectMapper = objectMapper;
+        this.clusterSync = clusterSync;
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.maxConnections = maxConnections;
+        Gauge.builder("request.events.connections", connections, AtomicInteger::get)
+                .description("Open request status event streams")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("request.events.dropped")
+                .description("Request status streams closed because the client did not keep up")
+                .register(meterRegistry);
+        clusterSync.subscribe(TOPIC, payload -> deliver((StatusChanges) payload));
+    }
+
+    /**
+     * Opens a stream of the status changes visible to the user: their own requests, or all requests for
+     * managers and admins.
+     *
+     * @throws RequestException with status 503 when the node holds {@code request.events.max-connections}.
+     */
+    @Override
+    public SseEmitter subscribe(Long userId, Role role) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new RequestException("Too many open event streams, retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        var subscriber = new Subscriber(new SseEmitter(timeoutMs), userId, role == Role.ADMIN || role == Role.MANAGER);
+        byUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        if (subscriber.manager) {
+            managers.add(subscriber);
+        }
+        return subscriber.stream.emitter();
+    }
+
+    /**
+     * Picks the request status changes of the batch, they are pushed once the relay transaction commits.
+     */
+    @Override
+    public void publish(List<OutboxEventDTO> events) {
+        var changes = new ArrayList<StatusChange>();
+        for (var event : events) {
+            if (!EVENT_TYPE.equals(event.getType())) {
+                continue;
+            }
+            try {
+                var change = objectMapper.readValue(event.getPayload(), RequestStatusChangeDTO.class);
+                changes.add(new StatusChange(event.getSequenceNumber(), change.getRequesterId(), event.getPayload()));
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable {} event {}: {}", EVENT_TYPE, event.getId(), e.getMessage());
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        var batch = new StatusChanges(changes);
+        AfterCommit.run(() -> {
+            deliver(batch);
+            clusterSync.publish(TOPIC, batch);
+        });
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds the ones whose client is gone.
+     */
+    @Scheduled(fixedDelayString = "${request.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        var comment = SseEmitter.event().comment("heartbeat").build();
+        for (var subscribers : byUser.values()) {
+            subscribers.forEach(subscriber -> subscriber.offer(comment));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        byUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.stream.complete()));
+        senders.shutdown();
+    }
+
+    private void deliver(StatusChanges batch) {
+        for (var change : batch.changes()) {
+            var event = SseEmitter.event()
+                    .id(String.valueOf(change.sequenceNumber()))
+                    .name(EVENT_TYPE)
+                    .data(change.json())
+                    .build();
+            // a manager watching their own request gets it once
+            for (var subscriber : managers) {
+                subscriber.offer(event);
+            }
+            var own = change.requesterId() == null ? null : byUser.get(change.requesterId());
+            if (own != null) {
+                for (var subscriber : own) {
+                    if (!subscriber.manager) {
+                        subscriber.offer(event);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A status change as sent to the other nodes, with the payload kept as JSON.
+     */
+    record StatusChange(Long sequenceNumber, Long requesterId, String json) implements Serializable {
+    }
+
+    record StatusChanges(List<StatusChange> changes) implements Serializable {
+    }
+
+    /**
+     * An open stream of a user, registered by user id and, for managers and admins, in the manager set.
+     */
+    private final class Subscriber {
+
+        final SseStream stream;
+        final Long userId;
+        final boolean manager;
+
+        Subscriber(SseEmitter emitter, Long userId, boolean manager) {
+            this.stream = new SseStream(emitter, queueCapacity, senders, this::unregister);
+            this.userId = userId;
+            this.manager = manager;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            if (!stream.offer(event)) {
+                droppedCounter.increment();
+            }
+        }
+
+        private void unregister() {
+            connections.decrementAndGet();
+            managers.remove(this);
+            byUser.computeIfPresent(userId, (id, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.request.BulkTransitionResultDTO;
+import com.bid90.edusupply.model.RequestStatus;
+
+import java.util.List;
+
+public interface RequestWorkflowService {
+
+    BulkTransitionResultDTO transitionEquipmentRequests(List<Long> ids, RequestStatus status, Long approverId);
+
+    BulkTransitionResultDTO transitionConsumableRequests(List<Long> ids, RequestStatus status, Long approverId);
+}
@@ -0,0 +1,205 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.event.RequestStatusChangeDTO;
+import com.bid90.edusupply.dto.request.BulkTransitionResultDTO;
+import com.bid90.edusupply.dto.request.RequestType;
+import com.bid90.edusupply.dto.request.TransitionOutcome;
+import com.bid90.edusupply.dto.request.TransitionResultDTO;
+import com.bid90.edusupply.exception.RequestException;
+import com.bid90.edusupply.model.ConsumableRequest;
+import com.bid90.edusupply.model.RequestStatus;
+import com.bid90.edusupply.repository.ConsumableRequestRepository;
+import com.bid90.edusupply.repository.EquipmentRequestRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.repository.projection.RequestStatusRow;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves equipment and consumable requests from PENDING to APPROVED or REJECTED in bulk.
+ * <p>
+ * A bulk transition runs in one transaction and uses set-based statements: one query to classify
+ * the requested ids and one conditional UPDATE for all pending ones, whatever the number of items.
+ * Approving consumable requests also reserves their stock through the {@link StockLedgerService};
+ * requests that cannot be served are reported as {@code INSUFFICIENT_STOCK} and stay pending. Rejecting
+ * equipment requests frees their reservation window in the {@link ReservationService}.
+ * </p>
+ */
+@Service
+public class RequestWorkflowServiceImpl implements RequestWorkflowService {
+
+    private static final int MAX_BATCH = 10_000;
+    // keeps IN lists within what every database accepts
+    private static final int IN_CHUNK = 1000;
+
+    private final EquipmentRequestRepository equipmentRequestRepository;
+    private final ConsumableRequestRepository consumableRequestRepository;
+    private final UserRepository userRepository;
+    private final StockLedgerService stockLedgerService;
+    private final ReservationService reservationService;
+    private final OutboxService outboxService;
+
+    public RequestWorkflowServiceImpl(EquipmentRequestRepository equipmentRequestRepository,
+                                      ConsumableRequestRepository consumableRequestRepository,
+                                      UserRepository userRepository,
+                                      StockLedgerService stockLedgerService,
+                                      ReservationService reservationService,
+                                      OutboxService outboxService) {
+        this.equipmentRequestRepository = equipmentRequestRepository;
+        this.consumableRequestRepository = consumableRequestRepository;
+        this.userRepository = userRepository;
+        this.stockLedgerService = stockLedgerService;
+        this.reservationService = reservationService;
+        this.outboxService = outboxService;
+    }
+
+    @Override
+    @Transactional
+    public BulkTransitionResultDTO transitionEquipmentRequests(List<Long> ids, RequestStatus status, Long approverId) {
+        var requested = checkRequest(ids, status);
+        var approver = userRepository.getReferenceById(approverId);
+        var date = now();
+
+        Map<Long, TransitionOutcome> outcomes = new HashMap<>();
+        Map<Long, Long> requesters = new HashMap<>();
+        List<Long> pending = new ArrayList<>();
+        for (var chunk : chunks(requested)) {
+            classify(equipmentRequestRepository.findStatuses(chunk), pending, outcomes, requesters);
+        }
+
+        int updated = 0;
+        for (var chunk : chunks(pending)) {
+            updated += equipmentRequestRepository.transition(chunk, RequestStatus.PENDING, status, approver, date);
+        }
+        Set<Long> transitioned = new HashSet<>(pending);
+        if (updated != pending.size()) {
+            // another transaction changed some of the requests after they were classified
+            transitioned.clear();
+            for (var chunk : chunks(pending)) {
+                transitioned.addAll(equipmentRequestRepository.findTransitioned(chunk, status, approver, date));
+            }
+            pending.forEach(id -> outcomes.put(id, TransitionOutcome.NOT_PENDING));
+        }
+        statusChanged(RequestType.EQUIPMENT, transitioned, requesters, status, approverId, date);
+        if (status == RequestStatus.REJECTED && !transitioned.isEmpty()) {
+            // rejected reservations free their window
+            AfterCommit.run(() -> reservationService.released(transitioned));
+        }
+        return results(requested, outcomes, transitioned, status);
+    }
+
+    @Override
+    @Transactional
+    public BulkTransitionResultDTO transitionConsumableRequests(List<Long> ids, RequestStatus status, Long approverId) {
+        var requested = checkRequest(ids, status);
+        var approver = userRepository.getReferenceById(approverId);
+        var date = now();
+
+        Map<Long, TransitionOutcome> outcomes = new HashMap<>();
+        Map<Long, Long> requesters = new HashMap<>();
+        List<Long> pending = new ArrayList<>();
+        for (var chunk : chunks(requested)) {
+            classify(consumableRequestRepository.findStatuses(chunk), pending, outcomes, requesters);
+        }
+
+        List<Long> toTransition = pending;
+        if (status == RequestStatus.APPROVED) {
+            List<ConsumableRequest> requests = new ArrayList<>();
+            for (var chunk : chunks(pending)) {
+                requests.addAll(consumableRequestRepository.findWithConsumableByStatus(chunk, RequestStatus.PENDING));
+            }
+            // serve the requests in the order they were given
+            var order = new HashMap<Long, Integer>();
+            requested.forEach(id -> order.put(id, order.size()));
+            requests.sort((a, b) -> Integer.compare(order.get(a.getId()), order.get(b.getId())));
+
+            var reserved = stockLedgerService.reserveForRequests(requests);
+            toTransition = pending.stream().filter(reserved::contains).toList();
+            // requests changed by another transaction since they were classified are no longer pending
+            pending.forEach(id -> outcomes.put(id, TransitionOutcome.NOT_PENDING));
+            requests.forEach(r -> outcomes.put(r.getId(), TransitionOutcome.INSUFFICIENT_STOCK));
+        }
+
+        int updated = 0;
+        for (var chunk : chunks(toTransition)) {
+            updated += consumableRequestRepository.transition(chunk, RequestStatus.PENDING, status, approver, date);
+        }
+        if (updated != toTransition.size()) {
+            // stock was reserved for requests that were changed concurrently: undo the whole batch
+            throw new RequestException("Some requests were modified concurrently, retry the operation", HttpStatus.CONFLICT);
+        }
+        statusChanged(RequestType.CONSUMABLE, toTransition, requesters, status, approverId, date);
+        return results(requested, outcomes, new HashSet<>(toTransition), status);
+    }
+
+    private void statusChanged(RequestType type, Collection<Long> ids, Map<Long, Long> requesters,
+                               RequestStatus status, Long approverId, LocalDateTime date) {
+        var aggregateType = type == RequestType.EQUIPMENT ? OutboxService.EQUIPMENT_REQUEST : OutboxService.CONSUMABLE_REQUEST;
+        for (var id : ids) {
+            outboxService.record(aggregateType, id, "request.status_changed",
+                    new RequestStatusChangeDTO(id, type, requesters.get(id), status, approverId, date));
+        }
+    }
+
+    private List<Long> checkRequest(List<Long> ids, RequestStatus status) {
+        if (status != RequestStatus.APPROVED && status != RequestStatus.REJECTED) {
+            throw new RequestException("Requests can only be APPROVED or REJECTED", HttpStatus.BAD_REQUEST);
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new RequestException("No request ids given", HttpStatus.BAD_REQUEST);
+        }
+        if (ids.size() > MAX_BATCH) {
+            throw new RequestException("At most " + MAX_BATCH + " requests can be processed at once", HttpStatus.BAD_REQUEST);
+        }
+        return List.copyOf(new LinkedHashSet<>(ids));
+    }
+
+    private void classify(List<RequestStatusRow> rows, List<Long> pending, Map<Long, TransitionOutcome> outcomes,
+                          Map<Long, Long> requesters) {
+        for (var row : rows) {
+            requesters.put(row.id(), row.requesterId());
+            if (row.status() == RequestStatus.PENDING) {
+                pending.add(row.id());
+            } else {
+                outcomes.put(row.id(), TransitionOutcome.NOT_PENDING);
+            }
+        }
+    }
+
+    private BulkTransitionResultDTO results(List<Long> requested, Map<Long, TransitionOutcome> outcomes,
+                                            Set<Long> transitioned, RequestStatus status) {
+        var success = status == RequestStatus.APPROVED ? TransitionOutcome.APPROVED : TransitionOutcome.REJECTED;
+        var results = requested.stream()
+                .map(id -> new TransitionResultDTO(id, transitioned.contains(id)
+                        ? success
+                        : outcomes.getOrDefault(id, TransitionOutcome.NOT_FOUND)))
+                .toList();
+        return new BulkTransitionResultDTO(results);
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        var list = List.copyOf(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += IN_CHUNK) {
+            chunks.add(list.subList(i, Math.min(i + IN_CHUNK, list.size())));
+        }
+        return chunks;
+    }
+
+    private static LocalDateTime now() {
+        // stored timestamps keep microseconds at most, so the value can be compared after the update
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
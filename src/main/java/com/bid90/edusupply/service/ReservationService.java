@@ -0,0 +1,20 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.equipment.EquipmentDTO;
+import com.bid90.edusupply.dto.request.CreateReservationDTO;
+import com.bid90.edusupply.dto.request.ReservationDTO;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReservationService {
+
+    ReservationDTO reserve(CreateReservationDTO reservation, Long requesterId);
+
+    List<ReservationDTO> getReservations(Long equipmentId, LocalDateTime from, LocalDateTime to);
+
+    List<EquipmentDTO> getAvailable(String building, String category, LocalDateTime from, LocalDateTime to);
+
+    void released(Collection<Long> requestIds);
+}
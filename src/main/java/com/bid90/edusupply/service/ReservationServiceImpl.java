@@ -0,0 +1,257 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.equipment.EquipmentDTO;
+import com.bid90.edusupply.dto.request.CreateReservationDTO;
+import com.bid90.edusupply.dto.request.ReservationDTO;
+import com.bid90.edusupply.exception.RequestException;
+import com.bid90.edusupply.model.EquipmentRequest;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.model.RequestStatus;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import com.bid90.edusupply.repository.EquipmentRequestRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Equipment reservations: equipment requests with a time window, checked against an in-memory calendar.
+ * <p>
+ * Every equipment item has an {@link IntervalTree} of the windows of its pending and approved requests, so a
+ * conflict check or an availability check of one item takes logarithmic time. Bookings take the write lock of
+ * the stripe of their item, out of {@code reservation.lock-stripes}, for the check, the insert and its commit,
+ * so concurrent bookings of the same item are serialized while bookings of other items proceed. The calendar
+ * is loaded at startup; rejected requests leave it after commit and ended windows are pruned every
+ * {@code reservation.prune-interval-ms}.
+ * </p>
+ * <p>
+ * The calendar is per node: with several nodes, bookings must be routed to one of them.
+ * </p>
+ */
+@Service
+public class ReservationServiceImpl implements ReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationServiceImpl.class);
+    private static final List<RequestStatus> BLOCKING = List.of(RequestStatus.PENDING, RequestStatus.APPROVED);
+
+    private final EquipmentRequestRepository equipmentRequestRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final UserRepository userRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock[] stripes;
+    private final Map<Long, IntervalTree> calendars = new ConcurrentHashMap<>();
+    // request id to booked window, to find the interval of a released request
+    private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+
+    private record Booking(Long equipmentId, IntervalTree.Interval interval) {
+    }
+
+    public ReservationServiceImpl(EquipmentRequestRepository equipmentRequestRepository,
+                                  EquipmentRepository equipmentRepository,
+                                  UserRepository userRepository,
+                                  OutboxService outboxService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${reservation.lock-stripes:64}") int lockStripes) {
+        this.equipmentRequestRepository = equipmentRequestRepository;
+        this.equipmentRepository = equipmentRepository;
+        this.userRepository = userRepository;
+        this.outboxService = outboxService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // a power of two, so the stripe is a mask of the hash
+        this.stripes = new ReentrantReadWriteLock[Integer.highestOneBit(Math.max(1, lockStripes) * 2 - 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    @Override
+    public ReservationDTO reserve(CreateReservationDTO reservation, Long requesterId) {
+        if (reservation.getEquipmentId() == null) {
+            throw new RequestException("Equipment is required", HttpStatus.BAD_REQUEST);
+        }
+        var start = truncate(reservation.getStartTime());
+        var end = truncate(reservation.getEndTime());
+        checkWindow(start, end);
+        if (start.isBefore(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES))) {
+            throw new RequestException("Reservations cannot start in the past", HttpStatus.BAD_REQUEST);
+        }
+        var equipmentId = reservation.getEquipmentId();
+
+        return locked(stripe(equipmentId).writeLock(), () -> {
+            var calendar = calendars.get(equipmentId);
+            if (calendar != null && calendar.overlaps(time(start), time(end))) {
+                throw new RequestException("Equipment is already reserved in this period", HttpStatus.CONFLICT);
+            }
+            var request = transaction.execute(status -> {
+                var equipment = equipmentRepository.findById(equipmentId)
+                        .orElseThrow(() -> new RequestException("Equipment not found", HttpStatus.NOT_FOUND));
+                if (equipment.getStatus() != EquipmentStatus.FUNCTIONAL) {
+                    throw new RequestException("Equipment is not available for reservation", HttpStatus.CONFLICT);
+                }
+                var created = new EquipmentRequest();
+                created.setEquipment(equipment);
+                created.setRequester(userRepository.getReferenceById(requesterId));
+                created.setStatus(RequestStatus.PENDING);
+                created.setRequestDate(LocalDateTime.now());
+                created.setReason(reservation.getReason());
+                created.setStartTime(start);
+                created.setEndTime(end);
+                var saved = equipmentRequestRepository.save(created);
+                outboxService.record(OutboxService.EQUIPMENT_REQUEST, saved.getId(), "reservation.created",
+                        new ReservationDTO(saved.getId(), equipmentId, start, end));
+                return saved;
+            });
+            // committed, and still holding the stripe, so no other booking of the item has checked meanwhile
+            book(request.getId(), equipmentId, start, end);
+            return new ReservationDTO(request.getId(), equipmentId, start, end);
+        });
+    }
+
+    @Override
+    public List<ReservationDTO> getReservations(Long equipmentId, LocalDateTime from, LocalDateTime to) {
+        checkWindow(from, to);
+        var intervals = locked(stripe(equipmentId).readLock(), () -> {
+            var calendar = calendars.get(equipmentId);
+            return calendar == null ? List.<IntervalTree.Interval>of() : calendar.overlapping(time(from), time(to));
+        });
+        return intervals.stream()
+                .map(interval -> new ReservationDTO(interval.id(), equipmentId,
+                        dateTime(interval.start()), dateTime(interval.end())))
+                .toList();
+    }
+
+    @Override
+    public List<EquipmentDTO> getAvailable(String building, String category, LocalDateTime from, LocalDateTime to) {
+        checkWindow(from, to);
+        long start = time(from);
+        long end = time(to);
+        var equipment = readOnlyTransaction.execute(status ->
+                equipmentRepository.findInBuilding(building, EquipmentStatus.FUNCTIONAL, category).stream()
+                        .map(EquipmentDTO::new)
+                        .toList());
+        return equipment.stream()
+                .filter(item -> locked(stripe(item.getId()).readLock(), () -> {
+                    var calendar = calendars.get(item.getId());
+                    return calendar == null || !calendar.overlaps(start, end);
+                }))
+                .toList();
+    }
+
+    @Override
+    public void released(Collection<Long> requestIds) {
+        for (var requestId : requestIds) {
+            var booking = bookings.remove(requestId);
+            if (booking != null) {
+                locked(stripe(booking.equipmentId()).writeLock(), () -> calendar(booking.equipmentId()).remove(booking.interval()));
+            }
+        }
+    }
+
+    /**
+     * Loads the windows of the pending and approved requests that have not ended yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var rows = readOnlyTransaction.execute(status ->
+                equipmentRequestRepository.findReservationsEndingAfter(BLOCKING, LocalDateTime.now()));
+        rows.forEach(row -> locked(stripe(row.equipmentId()).writeLock(), () -> {
+            book(row.id(), row.equipmentId(), row.startTime(), row.endTime());
+            return null;
+        }));
+        log.info("Reservation calendar loaded with {} reservations", rows.size());
+    }
+
+    /**
+     * Removes the windows that have ended, they can no longer conflict with a booking.
+     */
+    @Scheduled(initialDelayString = "${reservation.prune-interval-ms:3600000}",
+            fixedDelayString = "${reservation.prune-interval-ms:3600000}")
+    public void pruneEnded() {
+        long now = time(LocalDateTime.now());
+        for (var equipmentId : calendars.keySet()) {
+            locked(stripe(equipmentId).writeLock(), () -> {
+                var calendar = calendars.get(equipmentId);
+                if (calendar == null) {
+                    return null;
+                }
+                for (var interval : calendar.endedBy(now)) {
+                    calendar.remove(interval);
+                    bookings.remove(interval.id());
+                }
+                if (calendar.size() == 0) {
+                    calendars.remove(equipmentId);
+                }
+                return null;
+            });
+        }
+    }
+
+    // callers hold the write lock of the stripe of the item
+    private void book(Long requestId, Long equipmentId, LocalDateTime start, LocalDateTime end) {
+        var booking = new Booking(equipmentId, new IntervalTree.Interval(requestId, time(start), time(end)));
+        if (bookings.putIfAbsent(requestId, booking) == null) {
+            calendar(equipmentId).add(booking.interval());
+        }
+    }
+
+    private IntervalTree calendar(Long equipmentId) {
+        return calendars.computeIfAbsent(equipmentId, id -> new IntervalTree());
+    }
+
+    private ReentrantReadWriteLock stripe(Long equipmentId) {
+        int hash = equipmentId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static <T> T locked(Lock lock, Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void checkWindow(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            throw new RequestException("Start and end time are required", HttpStatus.BAD_REQUEST);
+        }
+        if (!start.isBefore(end)) {
+            throw new RequestException("Start time must be before end time", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static LocalDateTime truncate(LocalDateTime time) {
+        return time == null ? null : time.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static long time(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime dateTime(long time) {
+        return LocalDateTime.ofEpochSecond(time, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,190 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.event.OutboxEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+
+/**
+ * Pushes published events to the connected server-sent event streams.
+ * <p>
+ * Events are sent once the relay transaction commits, so a subscriber never sees an event that could still be
+ * renumbered by a retry, and are forwarded through {@link ClusterSync} to the streams held by the other nodes.
+ * The SSE id of every event is its sequence number, which the client sends back as {@code Last-Event-ID} to
+ * resume after a reconnect.
+ * </p>
+ * <p>
+ * Every stream is an {@link SseStream} drained by a virtual thread, so the relay never waits for a client. A new
+ * stream is registered before its replay, which is sent on the subscribing thread; the events published
+ * meanwhile are held back until the replay is done and only the ones it did not cover are queued, so a stream
+ * always gets the events in sequence order. A stream whose queue overflows is closed, the client reconnects
+ * from its last event.
+ * </p>
+ */
+@Component
+public class SseOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(SseOutboxSink.class);
+
+    static final String TOPIC = "outbox-events";
+
+    private final ClusterSync clusterSync;
+    private final int queueCapacity;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseOutboxSink(ClusterSync clusterSync, @Value("${outbox.events.queue-capacity:256}") int queueCapacity) {
+        this.clusterSync = clusterSync;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        clusterSync.subscribe(TOPIC, payload -> deliver(((Published) payload).events()));
+    }
+
+    /**
+     * Sends the batch to the streams of this node and forwards it to the other nodes once the relay
+     * transaction commits.
+     */
+    @Override
+    public void publish(List<OutboxEventDTO> events) {
+        var batch = new Published(new ArrayList<>(events));
+        AfterCommit.run(() -> {
+            deliver(batch.events());
+            clusterSync.publish(TOPIC, batch);
+        });
+    }
+
+    /**
+     * Registers a stream and replays the events published after the given sequence number.
+     *
+     * @param loader   Loads a page of events after a sequence number.
+     * @param pageSize Size of the replay pages.
+     */
+    SseEmitter subscribe(long after, BiFunction<Long, Integer, List<OutboxEventDTO>> loader, int pageSize) {
+        var subscriber = new Subscriber(after);
+        subscribers.add(subscriber);
+
+        long cursor = after;
+        while (subscriber.stream.isOpen()) {
+            var events = loader.apply(cursor, pageSize);
+            events.forEach(event -> subscriber.replay(Event.of(event)));
+            if (events.size() < pageSize) {
+                break;
+            }
+            cursor = events.getLast().getSequenceNumber();
+        }
+        subscriber.endReplay();
+        return subscriber.stream.emitter();
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.stream.complete());
+        senders.shutdown();
+    }
+
+    private void deliver(List<OutboxEventDTO> events) {
+        // checked once the batch committed, a stream registered meanwhile reads it in its replay otherwise
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<Event> built = new ArrayList<>(events.size());
+        for (var event : events) {
+            built.add(Event.of(event));
+        }
+        for (var subscriber : subscribers) {
+            built.forEach(subscriber::offer);
+        }
+    }
+
+    /**
+     * A published batch as sent to the other nodes.
+     */
+    record Published(List<OutboxEventDTO> events) implements Serializable {
+    }
+
+    /**
+     * An event with its SSE data built once for every stream.
+     */
+    private record Event(long sequenceNumber, Set<DataWithMediaType> data) {
+
+        static Event of(OutboxEventDTO event) {
+            return new Event(event.getSequenceNumber(), SseEmitter.event()
+                    .id(String.valueOf(event.getSequenceNumber()))
+                    .name(event.getType())
+                    .data(event)
+                    .build());
+        }
+    }
+
+    /**
+     * An open stream and the live events held back while its replay runs.
+     */
+    private final class Subscriber {
+
+        final SseStream stream;
+        // guarded by this, the replay only writes lastSequenceNumber before endReplay releases held
+        private Queue<Event> held = new ArrayDeque<>();
+        private long lastSequenceNumber;
+
+        Subscriber(long after) {
+            this.stream = new SseStream(new SseEmitter(), queueCapacity, senders, () -> subscribers.remove(this));
+            this.lastSequenceNumber = after;
+        }
+
+        /**
+         * Sends a replayed event on the subscribing thread, nothing is queued yet while the replay runs. Not
+         * synchronized, so the relay holding back a live event meanwhile does not wait for the client.
+         */
+        void replay(Event event) {
+            if (stream.send(event.data())) {
+                lastSequenceNumber = event.sequenceNumber();
+            }
+        }
+
+        /**
+         * Queues a live event, or holds it back while the replay runs.
+         */
+        synchronized void offer(Event event) {
+            if (held == null) {
+                enqueue(event);
+            } else if (held.size() < queueCapacity) {
+                held.add(event);
+            } else {
+                log.debug("Event stream closed, the client did not keep up with its replay");
+                stream.complete();
+            }
+        }
+
+        /**
+         * Queues the live events held back during the replay, skipping the ones it already sent.
+         */
+        synchronized void endReplay() {
+            var pending = held;
+            held = null;
+            pending.forEach(this::enqueue);
+        }
+
+        private void enqueue(Event event) {
+            // a live event committed before the replay read it arrives twice
+            if (event.sequenceNumber() <= lastSequenceNumber) {
+                return;
+            }
+            lastSequenceNumber = event.sequenceNumber();
+            stream.offer(event.data());
+        }
+    }
+}
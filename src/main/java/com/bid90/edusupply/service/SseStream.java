@@ -0,0 +1,144 @@
+package com.bid90.edusupply.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An open server-sent event stream with its own bounded send queue.
+ * <p>
+ * The queue is drained by at most one task of the given executor at a time, so the events of a stream stay in
+ * order and the thread offering an event never waits for the client. A stream whose queue overflows is closed,
+ * the client reconnects. An event must be built once with {@link SseEmitter#event()} and may then be offered to
+ * any number of streams, a builder must not be built twice.
+ * </p>
+ */
+final class SseStream {
+
+    private static final Logger log = LoggerFactory.getLogger(SseStream.class);
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Executor senders;
+    private final Runnable onClose;
+    private final Queue<Set<DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean open = new AtomicBoolean(true);
+
+    /**
+     * @param emitter  The emitter returned to the client.
+     * @param capacity Number of queued events above which the stream is closed.
+     * @param senders  Runs the tasks draining the queue.
+     * @param onClose  Run once when the stream closes, from any thread, to unregister it.
+     */
+    SseStream(SseEmitter emitter, int capacity, Executor senders, Runnable onClose) {
+        this.emitter = emitter;
+        this.capacity = Math.max(1, capacity);
+        this.senders = senders;
+        this.onClose = onClose;
+        emitter.onCompletion(this::closed);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> closed());
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    boolean isOpen() {
+        return open.get();
+    }
+
+    /**
+     * Queues an event, events offered to a closed stream are dropped.
+     *
+     * @return False if the event overflowed the queue and closed the stream.
+     */
+    boolean offer(Set<DataWithMediaType> event) {
+        if (!open.get()) {
+            return true;
+        }
+        if (queued.incrementAndGet() > capacity) {
+            log.debug("Event stream closed, the client did not keep up");
+            complete();
+            return false;
+        }
+        queue.add(event);
+        schedule();
+        return true;
+    }
+
+    /**
+     * Sends an event on the calling thread, bypassing the queue. Only for a stream nothing is offered to yet.
+     *
+     * @return False if the stream is closed.
+     */
+    boolean send(Set<DataWithMediaType> event) {
+        if (!open.get()) {
+            return false;
+        }
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            failed(e);
+            return false;
+        }
+    }
+
+    /**
+     * Closes the stream, the events still queued are dropped.
+     */
+    void complete() {
+        closed();
+        emitter.complete();
+    }
+
+    private void closed() {
+        if (open.compareAndSet(true, false)) {
+            onClose.run();
+        }
+    }
+
+    private void failed(Exception e) {
+        log.debug("Event stream closed: {}", e.getMessage());
+        closed();
+        emitter.completeWithError(e);
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            senders.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        Set<DataWithMediaType> event;
+        while ((event = queue.poll()) != null) {
+            queued.decrementAndGet();
+            if (!open.get()) {
+                continue;
+            }
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                failed(e);
+            }
+        }
+        draining.set(false);
+        // an event offered after the last poll but before the flag was cleared
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+}
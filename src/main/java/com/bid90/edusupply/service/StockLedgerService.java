@@ -0,0 +1,22 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.model.Consumable;
+import com.bid90.edusupply.model.ConsumableRequest;
+import com.bid90.edusupply.model.StockMovement;
+import com.bid90.edusupply.model.StockMovementType;
+
+import java.util.List;
+import java.util.Set;
+
+public interface StockLedgerService {
+
+    StockMovement record(Long consumableId, StockMovementType type, int quantity, ConsumableRequest request);
+
+    Set<Long> reserveForRequests(List<ConsumableRequest> requests);
+
+    Consumable getConsumable(Long consumableId);
+
+    int getAvailable(Long consumableId);
+
+    List<StockMovement> getMovements(Long consumableId);
+}
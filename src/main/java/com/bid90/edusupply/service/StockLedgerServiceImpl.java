@@ -0,0 +1,397 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.event.StockChangeDTO;
+import com.bid90.edusupply.exception.ConsumableException;
+import com.bid90.edusupply.model.Consumable;
+import com.bid90.edusupply.model.ConsumableRequest;
+import com.bid90.edusupply.model.StockMovement;
+import com.bid90.edusupply.model.StockMovementType;
+import com.bid90.edusupply.repository.ConsumableRepository;
+import com.bid90.edusupply.repository.StockMovementRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stock ledger for consumables.
+ * <p>
+ * Every change of stock is appended to {@code stock_movement_tb} and applied to the {@link Consumable} row,
+ * whose {@code @Version} column protects against lost updates between concurrent approvals and nodes.
+ * In front of the database each consumable has an in-memory available balance updated with compare-and-set.
+ * Reservations, single ones and the approvals of {@link #reserveForRequests}, take from the balance first, so
+ * reservations that do not fit are rejected without writing to the database and reservations of different
+ * consumables never contend. The database stays authoritative: the in-memory balance is resynchronized whenever
+ * it disagrees with the stored stock. A resync only replaces the balance while no change of that consumable is
+ * in flight on this node, otherwise it would drop reservations that have been taken from the balance but not
+ * yet committed, and add them back a second time if they later fail.
+ * </p>
+ * <p>
+ * The stored stock is always read outside the balance monitor and outside {@code computeIfAbsent}, so no thread
+ * blocks on a database round trip while holding a lock, and a virtual thread is never pinned by one. The
+ * monitor only guards the in-flight count and an epoch that tells a resync whether a change started while it
+ * was reading.
+ * </p>
+ */
+@Service
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final ConsumableRepository consumableRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxService outboxService;
+    private final Map<Long, Balance> balances = new ConcurrentHashMap<>();
+
+    public StockLedgerServiceImpl(ConsumableRepository consumableRepository,
+                                  StockMovementRepository stockMovementRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  OutboxService outboxService) {
+        this.consumableRepository = consumableRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxService = outboxService;
+    }
+
+    @Override
+    public StockMovement record(Long consumableId, StockMovementType type, int quantity, ConsumableRequest request) {
+        if (quantity <= 0) {
+            throw new ConsumableException("Quantity must be positive", HttpStatus.BAD_REQUEST);
+        }
+        if (type == StockMovementType.RESERVATION) {
+            return reserve(consumableId, quantity, request);
+        }
+        // load the balance before the change so that it is not counted twice
+        var balance = balance(consumableId);
+        balance.begin();
+        try {
+            var movement = persistWithRetry(consumableId, type, quantity, request);
+            if (type != StockMovementType.ISSUE) {
+                // RECEIPT, RELEASE and RETURN make stock available once committed
+                balance.available.addAndGet(quantity);
+            }
+            return movement;
+        } finally {
+            balance.end();
+        }
+    }
+
+    /**
+     * Reserves stock for many requests inside the caller's transaction.
+     * Requests are served in the given order; a request that cannot be satisfied is skipped instead of
+     * failing the whole batch. Every request is first taken from the in-memory balance, a request that does not
+     * fit is skipped without a database write, and only the consumables with a taken request are loaded. The
+     * stored stock still decides: a request it cannot cover is given back and the balance resynchronized once
+     * the transaction completes. Everything taken is given back if the transaction rolls back.
+     * <p>
+     * A balance may only be resynchronized on a miss while none of the batch's own reservations of it are in
+     * flight, so it is checked against the stored stock at most before the first request of each consumable.
+     * </p>
+     *
+     * @return the ids of the requests whose stock was reserved
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<Long> reserveForRequests(List<ConsumableRequest> requests) {
+        // every balance in here has one change in flight until the transaction completes
+        Map<Long, Balance> touched = new HashMap<>();
+        Map<Long, Integer> taken = new HashMap<>();
+        Set<Long> checked = new HashSet<>();
+        Set<Long> stale = new HashSet<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    taken.forEach((id, quantity) -> touched.get(id).available.addAndGet(quantity));
+                }
+                touched.values().forEach(Balance::end);
+                // the stored stock allowed less than the balance knew of
+                stale.forEach(StockLedgerServiceImpl.this::resync);
+            }
+        });
+
+        List<ConsumableRequest> accepted = new ArrayList<>();
+        for (var request : requests) {
+            var consumableId = request.getConsumable().getId();
+            int quantity = request.getQuantity();
+            if (quantity <= 0) {
+                continue;
+            }
+            var balance = touched.get(consumableId);
+            if (balance != null) {
+                if (!balance.tryTake(quantity)) {
+                    continue;
+                }
+            } else {
+                balance = balance(consumableId);
+                boolean took = checked.add(consumableId)
+                        ? takeOrResync(consumableId, balance, quantity)
+                        : take(balance, quantity);
+                if (!took) {
+                    continue;
+                }
+                touched.put(consumableId, balance);
+            }
+            taken.merge(consumableId, quantity, Integer::sum);
+            accepted.add(request);
+        }
+        if (accepted.isEmpty()) {
+            return Set.of();
+        }
+
+        Map<Long, Consumable> consumables = consumableRepository.findAllById(touched.keySet()).stream()
+                .collect(Collectors.toMap(Consumable::getId, Function.identity()));
+        Set<Long> reserved = new HashSet<>();
+        List<StockMovement> movements = new ArrayList<>();
+        for (var request : accepted) {
+            var consumable = consumables.get(request.getConsumable().getId());
+            int quantity = request.getQuantity();
+            if (consumable.getQuantity() - consumable.getReservedQuantity() < quantity) {
+                touched.get(consumable.getId()).available.addAndGet(quantity);
+                taken.merge(consumable.getId(), -quantity, Integer::sum);
+                stale.add(consumable.getId());
+                continue;
+            }
+            consumable.setReservedQuantity(consumable.getReservedQuantity() + quantity);
+            movements.add(movement(consumable, StockMovementType.RESERVATION, quantity, request));
+            stockChanged(consumable, StockMovementType.RESERVATION, quantity, request);
+            reserved.add(request.getId());
+        }
+        stockMovementRepository.saveAll(movements);
+        return reserved;
+    }
+
+    @Override
+    public Consumable getConsumable(Long consumableId) {
+        return consumableRepository.findById(consumableId)
+                .orElseThrow(() -> new ConsumableException("Consumable with id " + consumableId + " not found",
+                        HttpStatus.NOT_FOUND));
+    }
+
+    @Override
+    public int getAvailable(Long consumableId) {
+        return Math.max(0, balance(consumableId).available.get());
+    }
+
+    @Override
+    public List<StockMovement> getMovements(Long consumableId) {
+        getConsumable(consumableId);
+        return stockMovementRepository.findByConsumableId(consumableId);
+    }
+
+    /**
+     * Takes the quantity from the in-memory balance first, then persists the reservation.
+     * The in-memory reservation is given back if the database rejects it.
+     */
+    private StockMovement reserve(Long consumableId, int quantity, ConsumableRequest request) {
+        var balance = balance(consumableId);
+        if (!takeOrResync(consumableId, balance, quantity)) {
+            throw new ConsumableException("Insufficient stock for consumable " + consumableId, HttpStatus.CONFLICT);
+        }
+        StockMovement movement;
+        try {
+            movement = persistWithRetry(consumableId, StockMovementType.RESERVATION, quantity, request);
+        } catch (RuntimeException e) {
+            balance.available.addAndGet(quantity);
+            balance.end();
+            if (e instanceof ConsumableException ce && ce.getStatus() == HttpStatus.CONFLICT) {
+                resync(consumableId);
+            }
+            throw e;
+        }
+        balance.end();
+        return movement;
+    }
+
+    /**
+     * Takes the quantity from the balance, resynchronizing it once if it does not fit. On success the change
+     * stays in flight until the caller ends it.
+     */
+    private boolean takeOrResync(Long consumableId, Balance balance, int quantity) {
+        if (take(balance, quantity)) {
+            return true;
+        }
+        // the balance may be stale after a change made by another node
+        resync(consumableId);
+        return take(balance, quantity);
+    }
+
+    /**
+     * Takes the quantity from the balance. On success the change stays in flight until the caller ends it.
+     */
+    private static boolean take(Balance balance, int quantity) {
+        balance.begin();
+        if (balance.tryTake(quantity)) {
+            return true;
+        }
+        balance.end();
+        return false;
+    }
+
+    private StockMovement persistWithRetry(Long consumableId, StockMovementType type, int quantity, ConsumableRequest request) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> persist(consumableId, type, quantity, request));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new ConsumableException("Stock of consumable " + consumableId + " is being modified, try again",
+                            HttpStatus.CONFLICT, e);
+                }
+            }
+        }
+    }
+
+    private StockMovement persist(Long consumableId, StockMovementType type, int quantity, ConsumableRequest request) {
+        var consumable = getConsumable(consumableId);
+        int available = consumable.getQuantity() - consumable.getReservedQuantity();
+
+        switch (type) {
+            case RECEIPT, RETURN -> consumable.setQuantity(consumable.getQuantity() + quantity);
+            case RESERVATION -> {
+                if (available < quantity) {
+                    throw new ConsumableException("Insufficient stock for consumable " + consumableId, HttpStatus.CONFLICT);
+                }
+                consumable.setReservedQuantity(consumable.getReservedQuantity() + quantity);
+            }
+            case RELEASE -> {
+                checkReserved(consumable, quantity);
+                consumable.setReservedQuantity(consumable.getReservedQuantity() - quantity);
+            }
+            case ISSUE -> {
+                checkReserved(consumable, quantity);
+                consumable.setReservedQuantity(consumable.getReservedQuantity() - quantity);
+                consumable.setQuantity(consumable.getQuantity() - quantity);
+            }
+        }
+        consumableRepository.saveAndFlush(consumable);
+        stockChanged(consumable, type, quantity, request);
+        return stockMovementRepository.save(movement(consumable, type, quantity, request));
+    }
+
+    private void stockChanged(Consumable consumable, StockMovementType type, int quantity, ConsumableRequest request) {
+        outboxService.record(OutboxService.CONSUMABLE, consumable.getId(), "stock.changed",
+                new StockChangeDTO(consumable, type, quantity, request == null ? null : request.getId()));
+    }
+
+    private StockMovement movement(Consumable consumable, StockMovementType type, int quantity, ConsumableRequest request) {
+        var movement = new StockMovement();
+        movement.setConsumable(consumable);
+        movement.setType(type);
+        movement.setQuantity(quantity);
+        movement.setRequest(request);
+        return movement;
+    }
+
+    private void checkReserved(Consumable consumable, int quantity) {
+        if (consumable.getReservedQuantity() < quantity) {
+            throw new ConsumableException("Only " + consumable.getReservedQuantity() + " units of consumable "
+                    + consumable.getId() + " are reserved", HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * Returns the balance of the consumable, loading it from the stored stock the first time. The stored stock is
+     * read before the balance is installed; of two threads loading it at once, the first to install wins, and
+     * as every change goes through the balance, no change can have committed between that read and the install.
+     */
+    private Balance balance(Long consumableId) {
+        var balance = balances.get(consumableId);
+        if (balance != null) {
+            return balance;
+        }
+        var loaded = new Balance(storedAvailable(consumableId));
+        var installed = balances.putIfAbsent(consumableId, loaded);
+        return installed != null ? installed : loaded;
+    }
+
+    /**
+     * Replaces the balance with the stored stock, unless a change is in flight on this node or one started
+     * while the stored stock was read. Skipping is safe: the balance is checked again by the next reservation
+     * that does not fit.
+     */
+    private void resync(Long consumableId) {
+        var balance = balance(consumableId);
+        long epoch = balance.idleEpoch();
+        if (epoch < 0) {
+            return;
+        }
+        int stored = storedAvailable(consumableId);
+        balance.setIfIdleSince(epoch, stored);
+    }
+
+    private int storedAvailable(Long consumableId) {
+        var consumable = getConsumable(consumableId);
+        return consumable.getQuantity() - consumable.getReservedQuantity();
+    }
+
+    /**
+     * In-memory available stock of one consumable and the number of changes of it that have touched the
+     * database or the balance but are not settled yet. Reservations take from {@code available} with
+     * compare-and-set; the monitor only guards the in-flight count and the epoch against a concurrent resync,
+     * and is never held across a database call.
+     */
+    private static final class Balance {
+
+        final AtomicInteger available;
+        private int inFlight;
+        // counts the changes started, a resync drops its read if one started meanwhile
+        private long epoch;
+
+        Balance(int available) {
+            this.available = new AtomicInteger(available);
+        }
+
+        synchronized void begin() {
+            inFlight++;
+            epoch++;
+        }
+
+        synchronized void end() {
+            inFlight--;
+        }
+
+        /**
+         * @return the current epoch, or -1 if a change is in flight.
+         */
+        synchronized long idleEpoch() {
+            return inFlight == 0 ? epoch : -1;
+        }
+
+        /**
+         * Sets the balance if no change has started since {@link #idleEpoch()} returned the given epoch.
+         */
+        synchronized void setIfIdleSince(long since, int value) {
+            if (inFlight == 0 && epoch == since) {
+                available.set(value);
+            }
+        }
+
+        boolean tryTake(int quantity) {
+            while (true) {
+                int current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
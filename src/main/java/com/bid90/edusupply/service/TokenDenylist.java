@@ -0,0 +1,121 @@
+package com.bid90.edusupply.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TokenDenylist keeps revoked JWT tokens in memory until they would have expired anyway.
+ * <p>
+ * Single tokens are revoked by their {@code id} claim. All tokens of a user issued before a point in time
+ * can be revoked at once, which is used when the account is deleted or its credentials change.
+ * </p>
+ * <p>
+ * Revocations are shared through {@link ClusterSync}: they are published to the other nodes and stored until
+ * they lapse, so a node started later loads them on startup. Checks always read the local copy.
+ * </p>
+ */
+@Component
+public class TokenDenylist {
+
+    private static final String TOKENS = "revoked-tokens";
+    private static final String USERS = "revoked-users";
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+    private final long maxTokenLifetimeMs;
+    private final ClusterSync clusterSync;
+
+    /**
+     * Constructs a TokenDenylist.
+     *
+     * @param maxTokenLifetimeMs The longest lifetime of any issued token, after which user revocations are dropped.
+     * @param clusterSync        Shares revocations with the other nodes.
+     */
+    public TokenDenylist(@Value("${jwt.refresh.expiration}") long maxTokenLifetimeMs, ClusterSync clusterSync) {
+        this.maxTokenLifetimeMs = maxTokenLifetimeMs;
+        this.clusterSync = clusterSync;
+        clusterSync.subscribe(TOKENS, payload -> applyToken((RevokedToken) payload));
+        clusterSync.subscribe(USERS, payload -> applyUser((RevokedUser) payload));
+    }
+
+    /**
+     * Loads the revocations made by other nodes before this one started.
+     */
+    @PostConstruct
+    public void loadShared() {
+        clusterSync.entries(TOKENS).values().forEach(payload -> applyToken((RevokedToken) payload));
+        clusterSync.entries(USERS).values().forEach(payload -> applyUser((RevokedUser) payload));
+    }
+
+    /**
+     * Revokes a single token until its expiration.
+     *
+     * @param tokenId   The {@code id} claim of the token.
+     * @param expiresAt The expiration of the token.
+     */
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        purgeExpired();
+        long until = expiresAt != null ? expiresAt.toEpochMilli() : System.currentTimeMillis() + maxTokenLifetimeMs;
+        var revoked = new RevokedToken(tokenId, until);
+        applyToken(revoked);
+        clusterSync.put(TOKENS, tokenId, revoked, Duration.ofMillis(until - System.currentTimeMillis()));
+        clusterSync.publish(TOKENS, revoked);
+    }
+
+    /**
+     * Revokes every token of the user issued before now.
+     *
+     * @param userId The id of the user.
+     */
+    public void revokeUser(Long userId) {
+        purgeExpired();
+        // iat has second precision, so the cutoff is truncated to the current second
+        var revoked = new RevokedUser(userId, Instant.now().getEpochSecond() * 1000);
+        applyUser(revoked);
+        clusterSync.put(USERS, userId.toString(), revoked, Duration.ofMillis(maxTokenLifetimeMs));
+        clusterSync.publish(USERS, revoked);
+    }
+
+    /**
+     * Checks whether a token was revoked.
+     *
+     * @param tokenId  The {@code id} claim of the token, may be null.
+     * @param userId   The subject of the token.
+     * @param issuedAt The issue time of the token, may be null.
+     * @return True if the token or all tokens of its user issued at that time were revoked.
+     */
+    public boolean isRevoked(String tokenId, Long userId, Instant issuedAt) {
+        if (tokenId != null && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        var cutoff = revokedUsers.get(userId);
+        return cutoff != null && (issuedAt == null || issuedAt.toEpochMilli() < cutoff);
+    }
+
+    private void applyToken(RevokedToken revoked) {
+        revokedTokens.merge(revoked.tokenId(), revoked.until(), Math::max);
+    }
+
+    private void applyUser(RevokedUser revoked) {
+        revokedUsers.merge(revoked.userId(), revoked.cutoff(), Math::max);
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(until -> until <= now);
+        revokedUsers.values().removeIf(cutoff -> cutoff + maxTokenLifetimeMs <= now);
+    }
+
+    private record RevokedToken(String tokenId, long until) implements Serializable {
+    }
+
+    private record RevokedUser(Long userId, long cutoff) implements Serializable {
+    }
+}
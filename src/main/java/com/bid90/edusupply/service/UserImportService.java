@@ -0,0 +1,17 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.user.ImportResultDTO;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface UserImportService {
+
+    enum Format {
+        CSV,
+        NDJSON
+    }
+
+    void importUsers(InputStream input, Format format, Consumer<List<ImportResultDTO>> results);
+}
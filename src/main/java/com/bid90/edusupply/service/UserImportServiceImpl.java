@@ -0,0 +1,235 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.user.ImportOutcome;
+import com.bid90.edusupply.dto.user.ImportResultDTO;
+import com.bid90.edusupply.dto.user.ImportUserDTO;
+import com.bid90.edusupply.dto.user.UserDTO;
+import com.bid90.edusupply.model.Group;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.GroupRepository;
+import com.bid90.edusupply.repository.UserBatchRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk user import.
+ * <p>
+ * The upload is parsed one row at a time and processed in chunks of {@code user.import.batch-size} rows,
+ * so memory use does not depend on the size of the upload. Existing emails and group names are loaded once
+ * up front, so uniqueness and group checks need no query per row; emails accepted earlier in the same upload
+ * count as taken too. Valid rows of a chunk have their passwords hashed in parallel on a dedicated fork-join
+ * pool of {@code user.import.hash-parallelism} threads, then the users and their {@code user_group}
+ * memberships are written with JDBC batches in one transaction per chunk.
+ * </p>
+ * <p>
+ * The result of every row is reported once its chunk is done, in upload order. A chunk that fails to insert,
+ * for example because a concurrent import took one of its emails, is reported as {@link ImportOutcome#FAILED}
+ * without affecting the other chunks.
+ * </p>
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserRepository userRepository;
+    private final GroupRepository groupRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final UserValidator userValidator;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxService outboxService;
+    private final ForkJoinPool hashPool;
+    private final int batchSize;
+
+    /**
+     * Constructs a UserImportServiceImpl.
+     *
+     * @param batchSize       Rows per chunk, and per JDBC batch.
+     * @param hashParallelism Threads hashing passwords, 0 uses the number of available processors.
+     */
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 GroupRepository groupRepository,
+                                 UserBatchRepository userBatchRepository,
+                                 UserValidator userValidator,
+                                 PasswordEncoder passwordEncoder,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 OutboxService outboxService,
+                                 @Value("${user.import.batch-size:500}") int batchSize,
+                                 @Value("${user.import.hash-parallelism:0}") int hashParallelism) {
+        this.userRepository = userRepository;
+        this.groupRepository = groupRepository;
+        this.userBatchRepository = userBatchRepository;
+        this.userValidator = userValidator;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.outboxService = outboxService;
+        this.batchSize = Math.max(1, batchSize);
+        this.hashPool = new ForkJoinPool(hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public void importUsers(InputStream input, Format format, Consumer<List<ImportResultDTO>> results) {
+        Set<String> emails = new HashSet<>(userRepository.findAllEmails());
+        Map<String, Long> groups = groupRepository.findAll().stream()
+                .collect(Collectors.toMap(Group::getName, Group::getId));
+
+        try {
+            if (format == Format.CSV) {
+                try (var rows = new CsvUserReader(input)) {
+                    importRows(rows, emails, groups, results);
+                }
+            } else {
+                try (MappingIterator<ImportUserDTO> rows = objectMapper.readerFor(ImportUserDTO.class).readValues(input)) {
+                    importRows(rows, emails, groups, results);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdown();
+    }
+
+    private void importRows(Iterator<ImportUserDTO> rows, Set<String> emails, Map<String, Long> groups,
+                            Consumer<List<ImportResultDTO>> results) {
+        List<Row> chunk = new ArrayList<>(batchSize);
+        long number = 0;
+        while (true) {
+            number++;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                // the parser cannot resynchronize, the rest of the upload is lost
+                chunk.add(new Row(number, null, List.of("Unreadable input, import stopped: " + e.getMessage())));
+                break;
+            }
+            Row row;
+            try {
+                row = check(number, rows.next(), emails, groups);
+            } catch (RuntimeException e) {
+                row = new Row(number, null, List.of("Unreadable row: " + e.getMessage()));
+            }
+            chunk.add(row);
+            if (chunk.size() == batchSize) {
+                results.accept(insert(chunk, emails, groups));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.accept(insert(chunk, emails, groups));
+        }
+    }
+
+    /**
+     * Validates a row and reserves its email when it is valid.
+     */
+    private Row check(long number, ImportUserDTO user, Set<String> emails, Map<String, Long> groups) {
+        if (user.getGroups() == null) {
+            user.setGroups(new ArrayList<>());
+        }
+        List<String> violations = userValidator.validate(user);
+        if (user.getEmail() != null && emails.contains(user.getEmail())) {
+            violations.add("Email already exists");
+        }
+        for (var group : user.getGroups()) {
+            if (!groups.containsKey(group)) {
+                violations.add("Unknown group " + group);
+            }
+        }
+        if (violations.isEmpty()) {
+            emails.add(user.getEmail());
+        }
+        return new Row(number, user, violations);
+    }
+
+    private List<ImportResultDTO> insert(List<Row> chunk, Set<String> emails, Map<String, Long> groups) {
+        List<Row> valid = chunk.stream().filter(row -> row.violations().isEmpty()).toList();
+        Map<String, Long> ids = new HashMap<>();
+        String failure = null;
+        if (!valid.isEmpty()) {
+            var hashes = new String[valid.size()];
+            hashPool.submit(() -> IntStream.range(0, valid.size()).parallel()
+                    .forEach(i -> hashes[i] = passwordEncoder.encode(valid.get(i).user().getPassword()))).join();
+            List<User> users = IntStream.range(0, valid.size())
+                    .mapToObj(i -> toUser(valid.get(i).user(), hashes[i]))
+                    .toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userBatchRepository.insertUsers(users);
+                    List<long[]> memberships = new ArrayList<>();
+                    for (int i = 0; i < valid.size(); i++) {
+                        for (var group : new LinkedHashSet<>(valid.get(i).user().getGroups())) {
+                            memberships.add(new long[]{users.get(i).getId(), groups.get(group)});
+                        }
+                    }
+                    userBatchRepository.insertMemberships(memberships);
+                    for (var user : users) {
+                        outboxService.record(OutboxService.USER, user.getId(), "user.created", new UserDTO(user));
+                    }
+                });
+                for (var user : users) {
+                    ids.put(user.getEmail(), user.getId());
+                }
+            } catch (DataAccessException e) {
+                failure = "Batch insert failed: " + e.getMostSpecificCause().getMessage();
+                valid.forEach(row -> emails.remove(row.user().getEmail()));
+            }
+        }
+
+        List<ImportResultDTO> results = new ArrayList<>(chunk.size());
+        for (var row : chunk) {
+            var email = row.user() == null ? null : row.user().getEmail();
+            if (!row.violations().isEmpty()) {
+                results.add(new ImportResultDTO(row.number(), email, ImportOutcome.REJECTED, null, row.violations()));
+            } else if (failure != null) {
+                results.add(new ImportResultDTO(row.number(), email, ImportOutcome.FAILED, null, List.of(failure)));
+            } else {
+                results.add(new ImportResultDTO(row.number(), email, ImportOutcome.CREATED, ids.get(email), List.of()));
+            }
+        }
+        return results;
+    }
+
+    private static User toUser(ImportUserDTO row, String passwordHash) {
+        var user = new User();
+        user.setName(row.getName());
+        user.setEmail(row.getEmail());
+        user.setPassword(passwordHash);
+        user.setRole(row.getRole());
+        user.setEnabled(row.getEnabled() == null || row.getEnabled());
+        return user;
+    }
+
+    private record Row(long number, ImportUserDTO user, List<String> violations) {
+    }
+}
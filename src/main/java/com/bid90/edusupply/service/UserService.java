@@ -2,7 +2,10 @@ package com.bid90.edusupply.service;
 
 import com.bid90.edusupply.dto.user.RegisterUserDTO;
 import com.bid90.edusupply.dto.user.UpdateUserDTO;
+import com.bid90.edusupply.dto.user.UserDTO;
 import com.bid90.edusupply.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.List;
@@ -13,6 +16,10 @@ public interface UserService {
 
     List<User> getAllUser();
 
+    Page<UserDTO> getUsers(Pageable pageable);
+
+    List<UserDTO> getUsersAfter(Long after, int size);
+
     User addNewUser(RegisterUserDTO user);
 
     void deleteUser(Long id);
@@ -24,4 +31,6 @@ public interface UserService {
     UserDetails loadUserByUsername(String username);
 
     Optional<User> getUserByEmail(String email);
+
+    void rehashPassword(User user, String rawPassword);
 }
@@ -1,28 +1,55 @@
 package com.bid90.edusupply.service;
 
+import com.bid90.edusupply.dto.group.GroupDTO;
 import com.bid90.edusupply.dto.user.RegisterUserDTO;
 import com.bid90.edusupply.dto.user.UpdateUserDTO;
+import com.bid90.edusupply.dto.user.UserDTO;
 import com.bid90.edusupply.exception.UserException;
 import com.bid90.edusupply.model.User;
 import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.repository.projection.UserGroupRow;
+import com.bid90.edusupply.repository.projection.UserRow;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "email", "role", "enabled", "createdAt", "updatedAt");
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final JwtTokenCache jwtTokenCache;
+    private final TokenDenylist tokenDenylist;
+    private final EntityCache entityCache;
+    private final UserValidator userValidator;
+    private final OutboxService outboxService;
+
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenCache jwtTokenCache,
+                           TokenDenylist tokenDenylist, EntityCache entityCache, UserValidator userValidator,
+                           OutboxService outboxService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.jwtTokenCache = jwtTokenCache;
+        this.tokenDenylist = tokenDenylist;
+        this.entityCache = entityCache;
+        this.userValidator = userValidator;
+        this.outboxService = outboxService;
     }
 
     @Override
@@ -31,88 +58,125 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    public Page<UserDTO> getUsers(Pageable pageable) {
+        checkSort(pageable.getSort());
+        var rows = userRepository.findRows(pageable);
+        return new PageImpl<>(withGroups(rows.getContent()), pageable, rows.getTotalElements());
+    }
+
+    @Override
+    public List<UserDTO> getUsersAfter(Long after, int size) {
+        return withGroups(userRepository.findRowsAfter(after == null ? Long.MIN_VALUE : after, PageRequest.of(0, size)));
+    }
+
+    /**
+     * Builds the DTOs of the given user rows, loading the groups of all of them in a single query.
+     */
+    private List<UserDTO> withGroups(List<UserRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<GroupDTO>> groups = userRepository.findGroupRows(rows.stream().map(UserRow::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(UserGroupRow::userId,
+                        Collectors.mapping(GroupDTO::new, Collectors.toList())));
+        return rows.stream()
+                .map(row -> new UserDTO(row, groups.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
+
+    @Override
+    @Transactional
     public User addNewUser(RegisterUserDTO user) {
-        checkEmail(user.getEmail());
-        checkName(user.getName());
-        checkPassword(user.getPassword());
+        userValidator.requireValid(userValidator.validate(user));
         var newUser = new User();
         newUser.setEmail(user.getEmail());
         newUser.setName(user.getName());
         newUser.setRole(user.getRole());
         newUser.setPassword(passwordEncoder.encode(user.getPassword()));
         newUser.setEnabled(user.getEnabled());
-        return userRepository.save(newUser);
+        var saved = userRepository.save(newUser);
+        outboxService.record(OutboxService.USER, saved.getId(), "user.created", new UserDTO(saved));
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
         var user = userRepository.findById(id).orElseThrow(() -> new UserException("User with id " + id + " not found",
                 HttpStatus.NOT_FOUND));
         userRepository.delete(user);
+        outboxService.record(OutboxService.USER, id, "user.deleted", Map.of("id", id));
+        tokenDenylist.revokeUser(id);
+        jwtTokenCache.invalidateUser(id);
+        // evicted once committed, a read in between would cache the user again
+        AfterCommit.run(() -> entityCache.evictUser(id, user.getEmail()));
     }
 
     @Override
+    @Transactional
     public User updateUser(Long id, UpdateUserDTO dto) {
-        User user = userRepository.findById(id)
+        User user = userRepository.findWithGroupsById(id)
                 .orElseThrow(() -> new UserException("User with id " + id + " not found", HttpStatus.NOT_FOUND));
-
-
-        Optional.of(dto.getEmail()).ifPresent(email -> {
-            checkEmail(email);
-            user.setEmail(email);
-        });
-
-
-        Optional.of(dto.getName()).ifPresent(name -> {
-            checkName(name);
-            user.setName(name);
-        });
-
-
-        Optional.of(dto.getPassword()).ifPresent(pass -> {
-            checkPassword(pass);
-            user.setPassword(passwordEncoder.encode(pass));
-        });
-
-        return userRepository.save(user);
+        var previousEmail = user.getEmail();
+        userValidator.requireValid(userValidator.validate(dto));
+
+        Optional.ofNullable(dto.getEmail()).ifPresent(user::setEmail);
+        Optional.ofNullable(dto.getName()).ifPresent(user::setName);
+        Optional.ofNullable(dto.getPassword()).ifPresent(pass -> user.setPassword(passwordEncoder.encode(pass)));
+
+        var saved = userRepository.save(user);
+        outboxService.record(OutboxService.USER, id, "user.updated", new UserDTO(saved));
+        // Tokens carry the email as a claim and must not outlive a password change
+        tokenDenylist.revokeUser(id);
+        jwtTokenCache.invalidateUser(id);
+        AfterCommit.run(() -> entityCache.evictUser(id, previousEmail, saved.getEmail()));
+        return saved;
     }
 
+    /**
+     * Cached: the user is loaded with its groups, so the cached entity can be used outside of a session.
+     */
     @Override
+    @Cacheable(cacheNames = EntityCache.USERS, unless = "#result == null")
     public Optional<User> getUserById(Long aLong) {
-        return userRepository.getUserById(aLong);
+        return userRepository.findWithGroupsById(aLong);
     }
+
     @Override
+    @Cacheable(cacheNames = EntityCache.USERS_BY_EMAIL, unless = "#result == null")
     public Optional<User> getUserByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return userRepository.findByEmailWithGroups(email);
     }
 
-
-    void checkEmail(String email) {
-        String emailRegex = "^[A-Za-z0-9+_.-]+@(.+)$";
-        if (!Pattern.matches(emailRegex, email)) {
-            throw new UserException("Invalid email format", HttpStatus.BAD_REQUEST);
+    /**
+     * The user usually comes from the cache and is shared between threads, so it is not changed: only the
+     * password column is updated, which keeps any other change made to the user meanwhile. Nothing is updated
+     * if the password itself was changed since the user was read.
+     */
+    @Override
+    public void rehashPassword(User user, String rawPassword) {
+        var hash = passwordEncoder.encode(rawPassword);
+        if (userRepository.updatePassword(user.getId(), user.getPassword(), hash) > 0) {
+            entityCache.evictUser(user.getId(), user.getEmail());
         }
     }
 
-    void checkName(String name) {
-        if (name.trim().isEmpty()) {
-            throw new UserException("Name cannot be empty", HttpStatus.BAD_REQUEST);
-        }
-    }
 
-    void checkPassword(String pass) {
-        String passwordPattern = "^(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$";
-        if (!Pattern.matches(passwordPattern, pass)) {
-            throw new UserException(
-                    "Password must be at least 8 characters, include an uppercase letter, a number, and a special character",
-                    HttpStatus.BAD_REQUEST
-            );
-        }
+    void checkSort(Sort sort) {
+        sort.forEach(order -> {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new UserException("Cannot sort users by " + order.getProperty(), HttpStatus.BAD_REQUEST);
+            }
+        });
     }
 
+
     @Override
+    @Cacheable(cacheNames = EntityCache.USERS_BY_EMAIL)
     public UserDetails loadUserByUsername(String username){
-        return userRepository.findByEmail(username)
+        // same entity as getUserByEmail, both share the usersByEmail region
+        return userRepository.findByEmailWithGroups(username)
                 .orElseThrow(() -> new UserException("User not found with email: " + username,HttpStatus.NOT_FOUND));
     }
 
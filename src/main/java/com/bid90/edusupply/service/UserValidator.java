@@ -0,0 +1,127 @@
+package com.bid90.edusupply.service;
+
+import com.bid90.edusupply.dto.user.RegisterUserDTO;
+import com.bid90.edusupply.dto.user.UpdateUserDTO;
+import com.bid90.edusupply.exception.UserException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * UserValidator checks user input and reports every violation in one pass.
+ * <p>
+ * Lengths are capped before any pattern runs, the email pattern is compiled once and uses a possessive
+ * quantifier, and the password rules are checked with a single scan over the characters instead of
+ * backtracking lookaheads, so the cost stays linear in the (capped) input length.
+ * </p>
+ */
+@Component
+public class UserValidator {
+
+    static final int MAX_EMAIL_LENGTH = 254;
+    static final int MAX_NAME_LENGTH = 255;
+    static final int MIN_PASSWORD_LENGTH = 8;
+    // BCrypt only uses the first 72 bytes, and all allowed password characters are single byte
+    static final int MAX_PASSWORD_LENGTH = 72;
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9+_.-]++@.+");
+    private static final String PASSWORD_SPECIALS = "@$!%*?&";
+    private static final String PASSWORD_RULES =
+            "Password must be at least 8 characters, include an uppercase letter, a number, and a special character";
+
+    /**
+     * Validates a new user.
+     *
+     * @param user The user to register.
+     * @return The violations, empty if the user is valid.
+     */
+    public List<String> validate(RegisterUserDTO user) {
+        List<String> violations = new ArrayList<>();
+        checkEmail(user.getEmail(), violations);
+        checkName(user.getName(), violations);
+        checkPassword(user.getPassword(), violations);
+        if (user.getRole() == null) {
+            violations.add("Role is required");
+        }
+        return violations;
+    }
+
+    /**
+     * Validates the fields present in an update, absent fields are left unchanged and not checked.
+     *
+     * @param update The update.
+     * @return The violations, empty if the update is valid.
+     */
+    public List<String> validate(UpdateUserDTO update) {
+        List<String> violations = new ArrayList<>();
+        if (update.getEmail() != null) {
+            checkEmail(update.getEmail(), violations);
+        }
+        if (update.getName() != null) {
+            checkName(update.getName(), violations);
+        }
+        if (update.getPassword() != null) {
+            checkPassword(update.getPassword(), violations);
+        }
+        return violations;
+    }
+
+    /**
+     * Throws if there is any violation.
+     *
+     * @param violations The violations returned by a {@code validate} method.
+     * @throws UserException with status 400 listing every violation.
+     */
+    public void requireValid(List<String> violations) {
+        if (!violations.isEmpty()) {
+            throw new UserException(String.join("; ", violations), HttpStatus.BAD_REQUEST, violations);
+        }
+    }
+
+    void checkEmail(String email, List<String> violations) {
+        if (email == null || email.length() > MAX_EMAIL_LENGTH || !EMAIL.matcher(email).matches()) {
+            violations.add("Invalid email format");
+        }
+    }
+
+    void checkName(String name, List<String> violations) {
+        if (name == null || name.isBlank()) {
+            violations.add("Name cannot be empty");
+        } else if (name.length() > MAX_NAME_LENGTH) {
+            violations.add("Name cannot be longer than " + MAX_NAME_LENGTH + " characters");
+        }
+    }
+
+    void checkPassword(String password, List<String> violations) {
+        if (password == null || password.length() < MIN_PASSWORD_LENGTH) {
+            violations.add(PASSWORD_RULES);
+            return;
+        }
+        if (password.length() > MAX_PASSWORD_LENGTH) {
+            violations.add("Password cannot be longer than " + MAX_PASSWORD_LENGTH + " characters");
+            return;
+        }
+        boolean upper = false;
+        boolean digit = false;
+        boolean special = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                upper = true;
+            } else if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (PASSWORD_SPECIALS.indexOf(c) >= 0) {
+                special = true;
+            } else if (c < 'a' || c > 'z') {
+                violations.add(PASSWORD_RULES);
+                return;
+            }
+        }
+        if (!upper || !digit || !special) {
+            violations.add(PASSWORD_RULES);
+        }
+    }
+}
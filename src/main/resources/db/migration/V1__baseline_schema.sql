@@ -0,0 +1,116 @@
+-- Schema as generated by Hibernate before migrations were introduced.
+-- Existing databases are baselined before this version (spring.flyway.baseline-version=0), so it also runs on
+-- them: it only creates what is missing, the sequences are moved past existing ids by SequenceAligner.
+
+CREATE SEQUENCE IF NOT EXISTS user_tb_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS group_tb_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS location_tb_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS equipment_tb_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS consumable_tb_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS request_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS stock_movement_tb_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS user_tb (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    role       VARCHAR(32)  NOT NULL,
+    enabled    BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_user_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS group_tb (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    immutable   BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT uk_group_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS user_group (
+    user_id  BIGINT NOT NULL,
+    group_id BIGINT NOT NULL,
+    CONSTRAINT fk_user_group_user FOREIGN KEY (user_id) REFERENCES user_tb (id),
+    CONSTRAINT fk_user_group_group FOREIGN KEY (group_id) REFERENCES group_tb (id)
+);
+
+CREATE TABLE IF NOT EXISTS location_tb (
+    id          BIGINT  NOT NULL PRIMARY KEY,
+    name        VARCHAR(255),
+    type        VARCHAR(32),
+    floor       INTEGER NOT NULL,
+    building    VARCHAR(255),
+    description VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS equipment_tb (
+    id             BIGINT NOT NULL PRIMARY KEY,
+    name           VARCHAR(255),
+    description    VARCHAR(255),
+    category       VARCHAR(255),
+    status         VARCHAR(32),
+    location_id    BIGINT,
+    purchase_date  DATE,
+    inventory_code VARCHAR(255),
+    CONSTRAINT fk_equipment_location FOREIGN KEY (location_id) REFERENCES location_tb (id)
+);
+
+CREATE TABLE IF NOT EXISTS consumable_tb (
+    id                BIGINT  NOT NULL PRIMARY KEY,
+    name              VARCHAR(255),
+    quantity          INTEGER NOT NULL,
+    reserved_quantity INTEGER NOT NULL,
+    unit              VARCHAR(255),
+    location_id       BIGINT,
+    version           BIGINT,
+    CONSTRAINT fk_consumable_location FOREIGN KEY (location_id) REFERENCES location_tb (id)
+);
+
+CREATE TABLE IF NOT EXISTS equipment_request_tb (
+    id             BIGINT NOT NULL PRIMARY KEY,
+    requester_id   BIGINT NOT NULL,
+    status         VARCHAR(32),
+    approved_by_id BIGINT,
+    request_date   TIMESTAMP(6),
+    approval_date  TIMESTAMP(6),
+    reason         VARCHAR(255),
+    equipment_id   BIGINT NOT NULL,
+    CONSTRAINT fk_equipment_request_requester FOREIGN KEY (requester_id) REFERENCES user_tb (id),
+    CONSTRAINT fk_equipment_request_approver FOREIGN KEY (approved_by_id) REFERENCES user_tb (id),
+    CONSTRAINT fk_equipment_request_equipment FOREIGN KEY (equipment_id) REFERENCES equipment_tb (id)
+);
+
+CREATE TABLE IF NOT EXISTS consumable_request_tb (
+    id             BIGINT  NOT NULL PRIMARY KEY,
+    requester_id   BIGINT  NOT NULL,
+    status         VARCHAR(32),
+    approved_by_id BIGINT,
+    request_date   TIMESTAMP(6),
+    approval_date  TIMESTAMP(6),
+    reason         VARCHAR(255),
+    consumable_id  BIGINT  NOT NULL,
+    quantity       INTEGER NOT NULL,
+    CONSTRAINT fk_consumable_request_requester FOREIGN KEY (requester_id) REFERENCES user_tb (id),
+    CONSTRAINT fk_consumable_request_approver FOREIGN KEY (approved_by_id) REFERENCES user_tb (id),
+    CONSTRAINT fk_consumable_request_consumable FOREIGN KEY (consumable_id) REFERENCES consumable_tb (id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_movement_tb (
+    id                    BIGINT      NOT NULL PRIMARY KEY,
+    consumable_id         BIGINT      NOT NULL,
+    type                  VARCHAR(32) NOT NULL,
+    quantity              INTEGER     NOT NULL,
+    consumable_request_id BIGINT,
+    created_at            TIMESTAMP(6),
+    CONSTRAINT fk_stock_movement_consumable FOREIGN KEY (consumable_id) REFERENCES consumable_tb (id),
+    CONSTRAINT fk_stock_movement_request FOREIGN KEY (consumable_request_id) REFERENCES consumable_request_tb (id)
+);
+
+-- added to the stock after databases created by Hibernate were in use
+ALTER TABLE consumable_tb ADD COLUMN IF NOT EXISTS reserved_quantity INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE consumable_tb ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
@@ -0,0 +1,26 @@
+-- Indexes for the lookup and filter paths. Composite indexes lead with the equality column and end with
+-- the column the results are ordered or ranged by, so they also serve a filter on the leading column alone.
+
+-- group membership is read from both sides
+ALTER TABLE user_group ADD CONSTRAINT pk_user_group PRIMARY KEY (user_id, group_id);
+CREATE INDEX IF NOT EXISTS idx_user_group_group ON user_group (group_id, user_id);
+
+-- requests of a requester, newest first
+CREATE INDEX IF NOT EXISTS idx_equipment_request_requester ON equipment_request_tb (requester_id, request_date);
+CREATE INDEX IF NOT EXISTS idx_consumable_request_requester ON consumable_request_tb (requester_id, request_date);
+-- work queues and history by status, ranged by date
+CREATE INDEX IF NOT EXISTS idx_equipment_request_status ON equipment_request_tb (status, request_date);
+CREATE INDEX IF NOT EXISTS idx_consumable_request_status ON consumable_request_tb (status, request_date);
+-- requests of an item
+CREATE INDEX IF NOT EXISTS idx_equipment_request_equipment ON equipment_request_tb (equipment_id, request_date);
+CREATE INDEX IF NOT EXISTS idx_consumable_request_consumable ON consumable_request_tb (consumable_id, request_date);
+
+-- inventory of a location, by status
+CREATE INDEX IF NOT EXISTS idx_equipment_location_status ON equipment_tb (location_id, status);
+CREATE INDEX IF NOT EXISTS idx_equipment_status ON equipment_tb (status);
+CREATE INDEX IF NOT EXISTS idx_equipment_inventory_code ON equipment_tb (inventory_code);
+CREATE INDEX IF NOT EXISTS idx_consumable_location ON consumable_tb (location_id);
+CREATE INDEX IF NOT EXISTS idx_location_building_floor ON location_tb (building, floor);
+
+-- stock ledger of a consumable, in order
+CREATE INDEX IF NOT EXISTS idx_stock_movement_consumable ON stock_movement_tb (consumable_id, id);
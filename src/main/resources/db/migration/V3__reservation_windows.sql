@@ -0,0 +1,6 @@
+-- Reservation window of an equipment request. Requests made before reservations existed have no window.
+ALTER TABLE equipment_request_tb ADD COLUMN start_time TIMESTAMP(6);
+ALTER TABLE equipment_request_tb ADD COLUMN end_time TIMESTAMP(6);
+
+-- reservations of an item, ranged by time
+CREATE INDEX IF NOT EXISTS idx_equipment_request_window ON equipment_request_tb (equipment_id, start_time, end_time);
@@ -0,0 +1,36 @@
+-- Cold tier of the request history. Approved and rejected requests older than request.archive.age-days are
+-- moved here in batches, so the live tables only hold recent and pending work. The archive keeps the ids and
+-- references as plain values, without foreign keys.
+CREATE TABLE equipment_request_archive (
+    id             BIGINT NOT NULL PRIMARY KEY,
+    requester_id   BIGINT NOT NULL,
+    status         VARCHAR(32),
+    approved_by_id BIGINT,
+    request_date   TIMESTAMP(6),
+    approval_date  TIMESTAMP(6),
+    reason         VARCHAR(255),
+    equipment_id   BIGINT NOT NULL,
+    start_time     TIMESTAMP(6),
+    end_time       TIMESTAMP(6),
+    archived_at    TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE consumable_request_archive (
+    id             BIGINT  NOT NULL PRIMARY KEY,
+    requester_id   BIGINT  NOT NULL,
+    status         VARCHAR(32),
+    approved_by_id BIGINT,
+    request_date   TIMESTAMP(6),
+    approval_date  TIMESTAMP(6),
+    reason         VARCHAR(255),
+    consumable_id  BIGINT  NOT NULL,
+    quantity       INTEGER NOT NULL,
+    archived_at    TIMESTAMP(6) NOT NULL
+);
+
+-- history of a requester, newest first
+CREATE INDEX IF NOT EXISTS idx_equipment_request_archive_requester ON equipment_request_archive (requester_id, request_date);
+CREATE INDEX IF NOT EXISTS idx_consumable_request_archive_requester ON consumable_request_archive (requester_id, request_date);
+
+-- the stock ledger keeps the id of the request it served, which may now be in the archive
+ALTER TABLE stock_movement_tb DROP CONSTRAINT fk_stock_movement_request;
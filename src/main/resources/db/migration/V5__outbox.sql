@@ -0,0 +1,18 @@
+-- Transactional outbox: change events written in the same transaction as the change, published by the relay.
+CREATE SEQUENCE IF NOT EXISTS outbox_event_tb_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_event_tb (
+    id             BIGINT       NOT NULL PRIMARY KEY,
+    aggregate_type VARCHAR(64)  NOT NULL,
+    aggregate_id   BIGINT,
+    type           VARCHAR(64)  NOT NULL,
+    payload        CHARACTER LARGE OBJECT,
+    created_at     TIMESTAMP(6) NOT NULL,
+    sequence_number BIGINT,
+    published_at   TIMESTAMP(6)
+);
+
+-- the feed, read by sequence number
+CREATE UNIQUE INDEX IF NOT EXISTS uk_outbox_event_sequence_number ON outbox_event_tb (sequence_number);
+-- unpublished events in order, and published events by age for the purge
+CREATE INDEX IF NOT EXISTS idx_outbox_event_published ON outbox_event_tb (published_at, id);
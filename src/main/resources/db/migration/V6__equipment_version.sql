@@ -0,0 +1,3 @@
+-- Optimistic locking version of equipment, also orders the snapshots applied to the search index.
+ALTER TABLE equipment_tb ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+UPDATE equipment_tb SET version = 0 WHERE version IS NULL;
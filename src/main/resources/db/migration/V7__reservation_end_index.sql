@@ -0,0 +1,2 @@
+-- reservations still running or to come, by the end of their window (idx_equipment_request_window leads with the item)
+CREATE INDEX IF NOT EXISTS idx_equipment_request_end_time ON equipment_request_tb (end_time, status);
@@ -0,0 +1,92 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.JwtTokenCache;
+import com.bid90.edusupply.service.JwtTokenService;
+import com.bid90.edusupply.service.RefreshTokenStore;
+import com.bid90.edusupply.service.TokenDenylist;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code POST /api/auth/logout} revokes the presented access token and answers 401 without a valid one. Revoked
+ * tokens are rejected even while they are still in the token cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthLogoutTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtTokenService jwtTokenService;
+    @Autowired
+    private JwtTokenCache jwtTokenCache;
+    @Autowired
+    private TokenDenylist tokenDenylist;
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
+    @Test
+    void revokesThePresentedToken() throws Exception {
+        var admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        var token = jwtTokenService.generateToken(admin.getId().toString(),
+                Map.of("id", UUID.randomUUID().toString(), "role", admin.getRole().name()));
+        mockMvc.perform(get("/api/group").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/group").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void cachedTokensAreCheckedForRevocationOnEveryRequest() throws Exception {
+        var admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        var revoked = jwtTokenService.generateToken(admin.getId().toString(),
+                Map.of("id", UUID.randomUUID().toString(), "role", admin.getRole().name()));
+        var family = UUID.randomUUID().toString();
+        var ofRevokedFamily = jwtTokenService.generateToken(admin.getId().toString(),
+                Map.of("id", UUID.randomUUID().toString(), "role", admin.getRole().name(), "family", family));
+        for (var token : List.of(revoked, ofRevokedFamily)) {
+            mockMvc.perform(get("/api/group").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+
+        // revoked while the tokens stay cached, as when a request caches a token after the invalidation
+        tokenDenylist.revokeToken(jwtTokenService.verificationToken(revoked).getClaim("id").asString(),
+                Instant.now().plusSeconds(3600));
+        refreshTokenStore.revokeFamily(family, Instant.now().plusSeconds(3600));
+
+        for (var token : List.of(revoked, ofRevokedFamily)) {
+            assertThat(jwtTokenCache.get(token)).isNotNull();
+            mockMvc.perform(get("/api/group").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void rejectsMissingAndInvalidTokens() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+}
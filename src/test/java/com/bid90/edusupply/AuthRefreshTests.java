@@ -0,0 +1,115 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.dto.auth.RefreshRequestDTO;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.JwtTokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Refresh token rotation on {@code POST /api/auth/refresh}: a refresh token is exchanged once, a reused token
+ * revokes its whole family, logging out revokes the family too, and refresh tokens are not accepted as access
+ * tokens.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthRefreshTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtTokenService jwtTokenService;
+
+    @Test
+    void rotatesRefreshTokensAndRevokesTheFamilyOnReuse() throws Exception {
+        var refreshToken = refreshToken(UUID.randomUUID().toString());
+
+        var rotated = tokens(refresh(refreshToken).andExpect(status().isOk()));
+        var rotatedRefreshToken = rotated.get("refreshToken").asText();
+        var rotatedAccessToken = rotated.get("accessToken").asText();
+        assertThat(rotatedRefreshToken).isNotEqualTo(refreshToken);
+        mockMvc.perform(get("/api/group").header("Authorization", "Bearer " + rotatedAccessToken))
+                .andExpect(status().isOk());
+
+        // the old token was already exchanged, presenting it again revokes everything rotated from it
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+        refresh(rotatedRefreshToken).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/group").header("Authorization", "Bearer " + rotatedAccessToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void logoutRevokesTheRefreshTokenFamily() throws Exception {
+        var tokens = tokens(refresh(refreshToken(UUID.randomUUID().toString())).andExpect(status().isOk()));
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + tokens.get("accessToken").asText()))
+                .andExpect(status().isNoContent());
+
+        refresh(tokens.get("refreshToken").asText()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void otherFamiliesAreNotRevoked() throws Exception {
+        var reused = refreshToken(UUID.randomUUID().toString());
+        var other = refreshToken(UUID.randomUUID().toString());
+
+        refresh(reused).andExpect(status().isOk());
+        refresh(reused).andExpect(status().isUnauthorized());
+        refresh(other).andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsInvalidTokensAndRefreshTokensAsAccessTokens() throws Exception {
+        var refreshToken = refreshToken(UUID.randomUUID().toString());
+
+        mockMvc.perform(get("/api/group").header("Authorization", "Bearer " + refreshToken))
+                .andExpect(status().isForbidden());
+        refresh("not-a-token").andExpect(status().isUnauthorized());
+        refresh(accessToken()).andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        var request = new RefreshRequestDTO();
+        request.setRefreshToken(refreshToken);
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private JsonNode tokens(ResultActions response) throws Exception {
+        return objectMapper.readTree(response.andReturn().getResponse().getContentAsString());
+    }
+
+    private String refreshToken(String family) {
+        var admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        return jwtTokenService.generateTokens(admin.getId().toString(),
+                Map.of("id", UUID.randomUUID().toString(), "role", admin.getRole().name(), "family", family),
+                Map.of("id", UUID.randomUUID().toString(), "refresh", true, "family", family)).getRefreshToken();
+    }
+
+    private String accessToken() {
+        var admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        return jwtTokenService.generateToken(admin.getId().toString(),
+                Map.of("id", UUID.randomUUID().toString(), "role", admin.getRole().name()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.config.ConnectionLimitingDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Borrowers beyond the limit wait for a connection to be closed, fail after the acquire timeout, and every
+ * permit comes back exactly once, also when the pool fails.
+ */
+class ConnectionLimitingDataSourceTests {
+
+    @Test
+    void blocksAtTheLimitUntilAConnectionIsClosed() throws Exception {
+        var dataSource = new ConnectionLimitingDataSource(pool(), 2, 5000);
+        var first = dataSource.getConnection();
+        dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isZero();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var third = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return dataSource.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (dataSource.getWaitingThreads() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(dataSource.getWaitingThreads()).isEqualTo(1);
+            assertThat(third).isNotDone();
+
+            first.close();
+
+            assertThat(third.get(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(dataSource.getWaitingThreads()).isZero();
+        }
+    }
+
+    @Test
+    void failsAfterTheAcquireTimeout() throws SQLException {
+        var dataSource = new ConnectionLimitingDataSource(pool(), 1, 100);
+        dataSource.getConnection();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void releasesThePermitOnceOnClose() throws SQLException {
+        var pooled = mock(Connection.class);
+        var pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        var dataSource = new ConnectionLimitingDataSource(pool, 2, 100);
+
+        var connection = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        connection.close();
+        connection.close();
+
+        verify(pooled, times(2)).close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void releasesThePermitWhenThePoolFails() throws SQLException {
+        var pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        var dataSource = new ConnectionLimitingDataSource(pool, 1, 100);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    private static DataSource pool() throws SQLException {
+        var pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        return pool;
+    }
+}
@@ -0,0 +1,151 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.dto.equipment.EquipmentDTO;
+import com.bid90.edusupply.dto.equipment.EquipmentSearchDTO;
+import com.bid90.edusupply.dto.equipment.FacetDTO;
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.model.Location;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import com.bid90.edusupply.service.EquipmentSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Equipment search over an index rebuilt from two chunks and then updated incrementally, also when the
+ * changes arrive out of order.
+ */
+class EquipmentSearchTests {
+
+    private EquipmentSearchServiceImpl search;
+
+    @BeforeEach
+    void setup() {
+        var lab = location(1L, "Laborator fizică");
+        var hall = location(2L, "Sala de ședințe");
+        var repository = mock(EquipmentRepository.class);
+        when(repository.findAllAfter(eq(0L), any())).thenReturn(List.of(
+                equipment(1L, "Proiector Epson", "Proiector pentru ședințe", "Proiectoare", "INV-2024-0001", EquipmentStatus.FUNCTIONAL, hall),
+                equipment(2L, "Proiector BenQ", "Lampă defectă", "Proiectoare", "INV-2024-0002", EquipmentStatus.DEFECTIVE, lab)));
+        when(repository.findAllAfter(eq(2L), any())).thenReturn(List.of(
+                equipment(3L, "Osciloscop", "Măsurători în laborator", "Aparatură", "INV-2023-0107", EquipmentStatus.FUNCTIONAL, lab)));
+        search = new EquipmentSearchServiceImpl(repository, 2, 50);
+        search.rebuild();
+    }
+
+    @Test
+    void matchesWordsIgnoringCaseAndDiacritics() {
+        assertThat(ids(query("SEDINTE", null))).containsExactly(1L);
+        assertThat(ids(query("lampa", null))).containsExactly(2L);
+        assertThat(ids(query("proiector epson", null))).containsExactly(1L);
+        assertThat(ids(query("masuratori laborator", null))).containsExactly(3L);
+    }
+
+    @Test
+    void matchesWordAndInventoryCodePrefixes() {
+        assertThat(ids(query("proiect", null))).containsExactly(1L, 2L);
+        assertThat(ids(query(null, "inv-2024"))).containsExactly(1L, 2L);
+        assertThat(ids(query(null, "INV-2023-01"))).containsExactly(3L);
+        assertThat(ids(query(null, "INV-2025"))).isEmpty();
+    }
+
+    @Test
+    void countsFacetsOfTheMatches() {
+        var result = search.search(query("proiector", null));
+
+        assertThat(result.getStatusFacets()).extracting(FacetDTO::getValue, FacetDTO::getCount)
+                .containsExactlyInAnyOrder(tuple("FUNCTIONAL", 1L),
+                        tuple("DEFECTIVE", 1L));
+        assertThat(result.getCategoryFacets()).extracting(FacetDTO::getValue, FacetDTO::getCount)
+                .containsExactly(tuple("Proiectoare", 2L));
+        assertThat(result.getLocationFacets()).extracting(FacetDTO::getLabel)
+                .containsExactlyInAnyOrder("Sala de ședințe", "Laborator fizică");
+    }
+
+    @Test
+    void filtersByStatusAndLocation() {
+        var query = query(null, null);
+        query.setStatus(EquipmentStatus.FUNCTIONAL);
+        query.setLocationId(1L);
+
+        assertThat(ids(query)).containsExactly(3L);
+    }
+
+    @Test
+    void appliesChanges() {
+        var updated = equipment(2L, "Proiector BenQ", "Lampă nouă", "Proiectoare", "INV-2024-0002",
+                EquipmentStatus.FUNCTIONAL, location(1L, "Laborator fizică"));
+        updated.setVersion(1L);
+        search.indexed(new EquipmentDTO(updated));
+        search.removed(3L);
+
+        assertThat(ids(query("defecta", null))).isEmpty();
+        assertThat(ids(query("noua", null))).containsExactly(2L);
+        assertThat(ids(query("osciloscop", null))).isEmpty();
+    }
+
+    @Test
+    void ignoresSnapshotsOlderThanTheIndexedOne() {
+        var lab = location(1L, "Laborator fizică");
+        var repaired = equipment(2L, "Proiector BenQ", "Lampă nouă", "Proiectoare", "INV-2024-0002",
+                EquipmentStatus.FUNCTIONAL, lab);
+        repaired.setVersion(2L);
+        var broken = equipment(2L, "Proiector BenQ", "Lampă spartă", "Proiectoare", "INV-2024-0002",
+                EquipmentStatus.DEFECTIVE, lab);
+        broken.setVersion(1L);
+        var renamed = equipment(3L, "Osciloscop digital", "Măsurători în laborator", "Aparatură", "INV-2023-0107",
+                EquipmentStatus.FUNCTIONAL, lab);
+        renamed.setVersion(1L);
+
+        // committed in this order, their after-commit callbacks ran the other way round
+        search.indexed(new EquipmentDTO(repaired));
+        search.indexed(new EquipmentDTO(broken));
+        search.removed(3L);
+        search.indexed(new EquipmentDTO(renamed));
+
+        assertThat(ids(query("noua", null))).containsExactly(2L);
+        assertThat(ids(query("sparta", null))).isEmpty();
+        assertThat(ids(query("osciloscop", null))).isEmpty();
+    }
+
+    private List<Long> ids(EquipmentSearchDTO query) {
+        return search.search(query).getItems().stream().map(EquipmentDTO::getId).toList();
+    }
+
+    private static EquipmentSearchDTO query(String q, String code) {
+        var query = new EquipmentSearchDTO();
+        query.setQ(q);
+        query.setCode(code);
+        return query;
+    }
+
+    private static Location location(Long id, String name) {
+        var location = new Location();
+        location.setId(id);
+        location.setName(name);
+        return location;
+    }
+
+    private static Equipment equipment(Long id, String name, String description, String category, String code,
+                                       EquipmentStatus status, Location location) {
+        var equipment = new Equipment();
+        equipment.setId(id);
+        equipment.setName(name);
+        equipment.setDescription(description);
+        equipment.setCategory(category);
+        equipment.setInventoryCode(code);
+        equipment.setStatus(status);
+        equipment.setLocation(location);
+        equipment.setVersion(0L);
+        return equipment;
+    }
+}
@@ -0,0 +1,157 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.model.RequestStatus;
+import com.bid90.edusupply.repository.ConsumableRepository;
+import com.bid90.edusupply.repository.ConsumableRequestRepository;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import com.bid90.edusupply.repository.EquipmentRequestRepository;
+import com.bid90.edusupply.repository.GroupRepository;
+import com.bid90.edusupply.repository.LocationRepository;
+import com.bid90.edusupply.repository.OutboxEventRepository;
+import com.bid90.edusupply.repository.StockMovementRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Runs every filtering repository query, then EXPLAINs each SQL statement it issued against the migrated schema
+ * and fails if H2 plans a full table scan. Unfiltered listings (findAll, plain pages) are not covered.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.bid90.edusupply.ExplainPlanTests$Recorder")
+class ExplainPlanTests {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private ConsumableRepository consumableRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private EquipmentRequestRepository equipmentRequestRepository;
+    @Autowired
+    private ConsumableRequestRepository consumableRequestRepository;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        var page = PageRequest.of(0, 20);
+        var ids = List.of(1L, 2L, 3L);
+        var now = LocalDateTime.now();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("UserRepository.getUserById", () -> userRepository.getUserById(1L));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("admin@admin"));
+        queries.put("UserRepository.findByEmailWithGroups", () -> userRepository.findByEmailWithGroups("admin@admin"));
+        queries.put("UserRepository.findWithGroupsById", () -> userRepository.findWithGroupsById(1L));
+        queries.put("UserRepository.findRowsAfter", () -> userRepository.findRowsAfter(0L, page));
+        queries.put("UserRepository.findGroupRows", () -> userRepository.findGroupRows(ids));
+        queries.put("GroupRepository.findByName", () -> groupRepository.findByName(UUID.randomUUID().toString()));
+        queries.put("GroupRepository.findAllAfter", () -> groupRepository.findAllAfter(0L, page));
+        queries.put("EquipmentRepository.findByInventoryCode", () -> equipmentRepository.findByInventoryCode("INV-1"));
+        queries.put("EquipmentRepository.findByLocationAndStatus",
+                () -> equipmentRepository.findByLocationAndStatus(1L, EquipmentStatus.DEFECTIVE));
+        queries.put("EquipmentRepository.countByStatus", () -> equipmentRepository.countByStatus(EquipmentStatus.DEFECTIVE));
+        queries.put("EquipmentRepository.findInBuilding",
+                () -> equipmentRepository.findInBuilding("A", EquipmentStatus.FUNCTIONAL, null));
+        queries.put("ConsumableRepository.findByLocationId", () -> consumableRepository.findByLocationId(1L));
+        queries.put("LocationRepository.findByBuildingAndFloor", () -> locationRepository.findByBuildingAndFloor("A", 1));
+        queries.put("EquipmentRequestRepository.findStatuses", () -> equipmentRequestRepository.findStatuses(ids));
+        queries.put("EquipmentRequestRepository.findTransitioned", () -> equipmentRequestRepository.findTransitioned(
+                ids, RequestStatus.APPROVED, userRepository.getReferenceById(1L), now));
+        queries.put("EquipmentRequestRepository.findByRequester", () -> equipmentRequestRepository.findByRequester(1L, page));
+        queries.put("EquipmentRequestRepository.findIdsByStatusBefore",
+                () -> equipmentRequestRepository.findIdsByStatusBefore(RequestStatus.APPROVED, now, page));
+        queries.put("EquipmentRequestRepository.findReservationsEndingAfter",
+                () -> equipmentRequestRepository.findReservationsEndingAfter(
+                        List.of(RequestStatus.PENDING, RequestStatus.APPROVED), now));
+        queries.put("ConsumableRequestRepository.findStatuses", () -> consumableRequestRepository.findStatuses(ids));
+        queries.put("ConsumableRequestRepository.findWithConsumableByStatus",
+                () -> consumableRequestRepository.findWithConsumableByStatus(ids, RequestStatus.PENDING));
+        queries.put("ConsumableRequestRepository.findTransitioned", () -> consumableRequestRepository.findTransitioned(
+                ids, RequestStatus.APPROVED, userRepository.getReferenceById(1L), now));
+        queries.put("ConsumableRequestRepository.findByRequester", () -> consumableRequestRepository.findByRequester(1L, page));
+        queries.put("ConsumableRequestRepository.findIdsByStatusBefore",
+                () -> consumableRequestRepository.findIdsByStatusBefore(RequestStatus.APPROVED, now, page));
+        queries.put("StockMovementRepository.findByConsumableId", () -> stockMovementRepository.findByConsumableId(1L));
+        queries.put("OutboxEventRepository.findUnpublished", () -> outboxEventRepository.findUnpublished(page));
+        queries.put("OutboxEventRepository.findLastSequenceNumber", () -> outboxEventRepository.findLastSequenceNumber());
+        queries.put("OutboxEventRepository.findPublishedAfter", () -> outboxEventRepository.findPublishedAfter(0L, page));
+        // a cutoff in the past, nothing is purged
+        queries.put("OutboxEventRepository.deletePublishedBefore",
+                () -> outboxEventRepository.deletePublishedBefore(now.minusYears(100)));
+
+        return queries.entrySet().stream().map(query -> dynamicTest(query.getKey(), () -> assertIndexed(query.getValue())));
+    }
+
+    private void assertIndexed(Runnable query) {
+        Recorder.STATEMENTS.clear();
+        transactionTemplate.executeWithoutResult(status -> query.run());
+
+        assertThat(Recorder.STATEMENTS).isNotEmpty();
+        for (var sql : Recorder.STATEMENTS) {
+            assertThat(explain(sql)).as(sql).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatementCallback<String>) statement -> {
+            // the plan does not depend on the values, only numeric parameters (limits) must not be null
+            var parameters = statement.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                switch (parameters.getParameterType(i)) {
+                    case Types.INTEGER, Types.BIGINT, Types.SMALLINT, Types.NUMERIC -> statement.setLong(i, 1);
+                    default -> statement.setObject(i, null);
+                }
+            }
+            try (var plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    public static class Recorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.repository.GroupRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.JwtTokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exports through {@code GET /api/export/{dataset}}, with a fetch size smaller than the tables so that
+ * the persistence context is cleared while scrolling.
+ */
+@SpringBootTest(properties = "export.fetch-size=2")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private JwtTokenService jwtTokenService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+
+    @BeforeAll
+    void setup() {
+        var admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        token = jwtTokenService.generateToken(admin.getId().toString(),
+                Map.of("id", UUID.randomUUID().toString(), "role", Role.ADMIN.name()));
+    }
+
+    @Test
+    void exportsUsersAsCsv() throws Exception {
+        var lines = new String(export("/api/export/users?format=csv"), StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines[0]).isEqualTo("id,name,email,role,enabled,groups,createdAt,updatedAt");
+        assertThat(lines).hasSize((int) userRepository.count() + 1);
+        assertThat(lines).anySatisfy(line -> assertThat(line).contains(",admin@admin,ADMIN,true,"));
+    }
+
+    @Test
+    void exportsGroupsAsGzippedNdjson() throws Exception {
+        byte[] compressed = export("/api/export/groups?gzip=true");
+        String ndjson;
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            ndjson = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        var lines = ndjson.split("\n");
+        assertThat(lines).hasSize((int) groupRepository.count());
+        for (var line : lines) {
+            assertThat(objectMapper.readTree(line).has("name")).isTrue();
+        }
+    }
+
+    @Test
+    void exportsArchivedRequestsAfterTheLiveOnes() throws Exception {
+        var admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        long id = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) + 1000 FROM consumable_request_archive", Long.class);
+        jdbcTemplate.update("INSERT INTO consumable_request_archive (id, requester_id, status, request_date, reason, "
+                        + "consumable_id, quantity, archived_at) VALUES (?, ?, 'REJECTED', ?, 'Old', 42, 7, ?)",
+                id, admin.getId(), LocalDateTime.of(2020, 1, 2, 3, 4), LocalDateTime.now());
+
+        var lines = new String(export("/api/export/consumable-requests?format=csv"), StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines[0]).isEqualTo("id,status,requesterId,requesterEmail,approvedById,requestDate,approvalDate,"
+                + "reason,consumableId,quantity,archived");
+        assertThat(lines[lines.length - 1])
+                .isEqualTo(id + ",REJECTED," + admin.getId() + ",admin@admin,,2020-01-02T03:04,,Old,42,7,true");
+        var ndjson = new String(export("/api/export/consumable-requests"), StandardCharsets.UTF_8).split("\n");
+        var archived = objectMapper.readTree(ndjson[ndjson.length - 1]);
+        assertThat(archived.get("id").asLong()).isEqualTo(id);
+        assertThat(archived.get("requestDate").asText()).isEqualTo("2020-01-02T03:04:00");
+        assertThat(archived.get("archived").asBoolean()).isTrue();
+    }
+
+    @Test
+    void rejectsUnknownDataset() throws Exception {
+        mockMvc.perform(get("/api/export/salaries").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    private byte[] export(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return result.getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,135 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.exception.LocationException;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.model.LocationType;
+import com.bid90.edusupply.repository.ConsumableRepository;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import com.bid90.edusupply.repository.LocationRepository;
+import com.bid90.edusupply.repository.projection.ConsumableRollupRow;
+import com.bid90.edusupply.repository.projection.EquipmentRollupRow;
+import com.bid90.edusupply.repository.projection.LocationRollupRow;
+import com.bid90.edusupply.service.InventoryRollupServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Inventory rollups computed from the database, updated incrementally and checked against a recompute.
+ */
+class InventoryRollupTests {
+
+    private static final LocationRollupRow LAB = new LocationRollupRow(1L, "Laborator", LocationType.LAB, "A", 1);
+    private static final LocationRollupRow STORAGE = new LocationRollupRow(2L, "Magazie", LocationType.STORAGE, "A", 0);
+    private static final LocationRollupRow CLASSROOM = new LocationRollupRow(3L, "Sala 12", LocationType.CLASSROOM, "B", 1);
+
+    private EquipmentRepository equipmentRepository;
+    private ConsumableRepository consumableRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryRollupServiceImpl rollups;
+
+    @BeforeEach
+    void setup() {
+        var locationRepository = mock(LocationRepository.class);
+        when(locationRepository.findRollupRows()).thenReturn(List.of(LAB, STORAGE, CLASSROOM));
+        equipmentRepository = mock(EquipmentRepository.class);
+        when(equipmentRepository.findRollupRows()).thenReturn(List.of(
+                new EquipmentRollupRow(1L, 1L, EquipmentStatus.FUNCTIONAL, "Proiectoare"),
+                new EquipmentRollupRow(2L, 1L, EquipmentStatus.DEFECTIVE, "Proiectoare"),
+                new EquipmentRollupRow(3L, 2L, EquipmentStatus.FUNCTIONAL, null)));
+        consumableRepository = mock(ConsumableRepository.class);
+        when(consumableRepository.findRollupRows()).thenReturn(List.of(
+                new ConsumableRollupRow(1L, 2L, 100, 30),
+                new ConsumableRollupRow(2L, 2L, 20, 0)));
+        meterRegistry = new SimpleMeterRegistry();
+        rollups = new InventoryRollupServiceImpl(locationRepository, equipmentRepository, consumableRepository,
+                mock(PlatformTransactionManager.class), meterRegistry);
+        rollups.recompute();
+    }
+
+    @Test
+    void summarizesLocationsFloorsAndBuildings() {
+        var lab = rollups.getLocationSummary(1L);
+        assertThat(lab.getName()).isEqualTo("Laborator");
+        assertThat(lab.getInventory().getEquipmentTotal()).isEqualTo(2);
+        assertThat(lab.getInventory().getEquipmentByStatus()).isEqualTo(Map.of("FUNCTIONAL", 1L, "DEFECTIVE", 1L));
+        assertThat(lab.getInventory().getEquipmentByCategory()).isEqualTo(Map.of("Proiectoare", 2L));
+
+        var storage = rollups.getLocationSummary(2L).getInventory();
+        assertThat(storage.getEquipmentByCategory()).isEqualTo(Map.of("UNCATEGORIZED", 1L));
+        assertThat(storage.getConsumableItems()).isEqualTo(2);
+        assertThat(storage.getConsumableQuantity()).isEqualTo(120);
+        assertThat(storage.getConsumableAvailable()).isEqualTo(90);
+
+        assertThat(rollups.getLocationSummary(3L).getInventory().getEquipmentTotal()).isZero();
+
+        var building = rollups.getBuildingSummary("A", null);
+        assertThat(building.getLocations()).isEqualTo(2);
+        assertThat(building.getInventory().getEquipmentTotal()).isEqualTo(3);
+        assertThat(building.getInventory().getConsumableReserved()).isEqualTo(30);
+        var floor = rollups.getBuildingSummary("A", 1);
+        assertThat(floor.getLocations()).isEqualTo(1);
+        assertThat(floor.getInventory().getEquipmentTotal()).isEqualTo(2);
+        assertThat(floor.getInventory().getConsumableItems()).isZero();
+    }
+
+    @Test
+    void appliesChangesIncrementally() {
+        rollups.equipmentSaved(new EquipmentRollupRow(2L, 3L, EquipmentStatus.FUNCTIONAL, "Proiectoare"));
+        rollups.equipmentRemoved(3L);
+        rollups.consumableSaved(new ConsumableRollupRow(1L, 2L, 80, 10));
+
+        assertThat(rollups.getLocationSummary(1L).getInventory().getEquipmentByStatus()).isEqualTo(Map.of("FUNCTIONAL", 1L));
+        assertThat(rollups.getLocationSummary(3L).getInventory().getEquipmentTotal()).isEqualTo(1);
+        assertThat(rollups.getBuildingSummary("B", 1).getInventory().getEquipmentByStatusAndCategory())
+                .isEqualTo(Map.of("FUNCTIONAL", Map.of("Proiectoare", 1L)));
+        var storage = rollups.getBuildingSummary("A", 0).getInventory();
+        assertThat(storage.getEquipmentTotal()).isZero();
+        assertThat(storage.getConsumableQuantity()).isEqualTo(100);
+        assertThat(storage.getConsumableAvailable()).isEqualTo(90);
+    }
+
+    @Test
+    void locationMovedToAnotherBuildingTakesItsCounts() {
+        rollups.locationSaved(new LocationRollupRow(1L, "Laborator", LocationType.LAB, "B", 2));
+
+        assertThat(rollups.getBuildingSummary("A", null).getInventory().getEquipmentTotal()).isEqualTo(1);
+        assertThat(rollups.getBuildingSummary("B", 2).getInventory().getEquipmentTotal()).isEqualTo(2);
+        assertThatThrownBy(() -> rollups.getBuildingSummary("A", 1)).isInstanceOf(LocationException.class);
+    }
+
+    @Test
+    void recomputeReportsDriftedLocations() {
+        // changed by a bulk update that bypassed the entity listeners
+        when(equipmentRepository.findRollupRows()).thenReturn(List.of(
+                new EquipmentRollupRow(1L, 1L, EquipmentStatus.DEFECTIVE, "Proiectoare"),
+                new EquipmentRollupRow(2L, 1L, EquipmentStatus.DEFECTIVE, "Proiectoare"),
+                new EquipmentRollupRow(3L, 2L, EquipmentStatus.FUNCTIONAL, null)));
+
+        var check = rollups.recompute();
+
+        assertThat(check.getEquipment()).isEqualTo(3);
+        assertThat(check.getConsumables()).isEqualTo(2);
+        assertThat(check.getDriftedLocations()).containsExactly(1L);
+        assertThat(meterRegistry.counter("inventory.rollup.drift").count()).isEqualTo(1);
+        assertThat(rollups.getLocationSummary(1L).getInventory().getEquipmentByStatus()).isEqualTo(Map.of("DEFECTIVE", 2L));
+        assertThat(rollups.recompute().getDriftedLocations()).isEmpty();
+    }
+
+    @Test
+    void unknownLocationIsNotFound() {
+        assertThatThrownBy(() -> rollups.getLocationSummary(99L))
+                .isInstanceOfSatisfying(LocationException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThatThrownBy(() -> rollups.getBuildingSummary("C", null)).isInstanceOf(LocationException.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.bid90.edusupply;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.bid90.edusupply.service.JwtKeyManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Key ids that reveal nothing about the secret, verification by {@code kid}, reloading the secret file when its
+ * modification time changes, and retired keys that stop verifying after their grace period.
+ */
+class JwtKeyManagerTests {
+
+    private static final String SECRET = "first-secret-0123456789";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void keyIdsAreConfiguredOrRandom() {
+        var configured = new JwtKeyManager(SECRET, "2026-10", "", "", 5000, 60_000);
+        var first = new JwtKeyManager(SECRET, "", "", "", 5000, 60_000);
+        var second = new JwtKeyManager(SECRET, "", "", "", 5000, 60_000);
+
+        assertThat(configured.signingKey().kid()).isEqualTo("2026-10");
+        assertThat(first.signingKey().kid()).hasSize(16).isNotEqualTo(second.signingKey().kid());
+    }
+
+    @Test
+    void verifiesTokensByKeyId() {
+        var keys = new JwtKeyManager(SECRET, "", "", "old-secret-0123456789", 5000, 60_000);
+        var otherNode = new JwtKeyManager(SECRET, "", "", "", 5000, 60_000);
+
+        assertThatCode(() -> keys.verify(JWT.decode(token(keys.signingKey()))))
+                .doesNotThrowAnyException();
+        // no kid, the current key decides
+        assertThatCode(() -> keys.verify(JWT.decode(JWT.create().sign(Algorithm.HMAC512(SECRET)))))
+                .doesNotThrowAnyException();
+        // a retired key found by trying every valid key, its random kid is not known
+        assertThatCode(() -> keys.verify(JWT.decode(token("unknown", "old-secret-0123456789"))))
+                .doesNotThrowAnyException();
+        // the same secret with the kid another node picked
+        assertThatCode(() -> keys.verify(JWT.decode(token(otherNode.signingKey()))))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> keys.verify(JWT.decode(token("unknown", "forged-secret-0123456789"))))
+                .isInstanceOf(JWTVerificationException.class);
+        assertThatThrownBy(() -> keys.verify(JWT.decode(token(keys.signingKey().kid(), "forged-secret-0123456789"))))
+                .isInstanceOf(JWTVerificationException.class);
+    }
+
+    @Test
+    void reloadsTheSecretFileWhenItsModificationTimeChanges() throws IOException {
+        var file = secretFile(SECRET);
+        var keys = new JwtKeyManager("unused", "", file.toString(), "", 0, 60_000);
+        var first = keys.signingKey();
+        var firstToken = token(first);
+
+        // same modification time, not read again
+        Files.writeString(file, "second-secret-0123456789");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2020-01-01T00:00:00Z")));
+        assertThat(keys.signingKey().kid()).isEqualTo(first.kid());
+
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2021-01-01T00:00:00Z")));
+        var second = keys.signingKey();
+
+        assertThat(second.kid()).isNotEqualTo(first.kid());
+        assertThatCode(() -> keys.verify(JWT.decode(token(second)))).doesNotThrowAnyException();
+        assertThatCode(() -> keys.verify(JWT.decode(firstToken))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void retiredKeysExpireAfterTheGracePeriod() throws Exception {
+        var file = secretFile(SECRET);
+        var keys = new JwtKeyManager("unused", "", file.toString(), "", 0, 100);
+        var firstToken = token(keys.signingKey());
+
+        Files.writeString(file, "second-secret-0123456789");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        keys.signingKey();
+        assertThatCode(() -> keys.verify(JWT.decode(firstToken))).doesNotThrowAnyException();
+
+        Thread.sleep(150);
+
+        assertThatThrownBy(() -> keys.verify(JWT.decode(firstToken)))
+                .isInstanceOf(JWTVerificationException.class);
+    }
+
+    private Path secretFile(String secret) throws IOException {
+        var file = directory.resolve("jwt-secret");
+        Files.writeString(file, secret);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2020-01-01T00:00:00Z")));
+        return file;
+    }
+
+    private static String token(JwtKeyManager.SigningKey key) {
+        return JWT.create().withKeyId(key.kid()).withSubject("1").sign(key.algorithm());
+    }
+
+    private static String token(String kid, String secret) {
+        return JWT.create().withKeyId(kid).withSubject("1").sign(Algorithm.HMAC512(secret));
+    }
+}
@@ -0,0 +1,111 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.security.JwtPrincipal;
+import com.bid90.edusupply.service.ClusterSync;
+import com.bid90.edusupply.service.JwtTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verified tokens are served from the cache until they expire or their user is invalidated, the cache stays
+ * within its size while keeping the tokens in use, and hits and misses are published as metrics.
+ */
+class JwtTokenCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void servesCachedTokensAndCountsHitsAndMisses() {
+        var cache = new JwtTokenCache(100, registry, ClusterSync.local());
+        var cached = cached(1L);
+
+        assertThat(cache.get("token")).isNull();
+        cache.put("token", cached, Instant.now().plusSeconds(60));
+
+        assertThat(cache.get("token")).isSameAs(cached);
+        assertThat(cache.get("token").principal()).isSameAs(cached.principal());
+        assertThat(cache.get("other")).isNull();
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void entriesExpireWithTheirToken() throws InterruptedException {
+        var cache = new JwtTokenCache(100, registry, ClusterSync.local());
+        cache.put("short", cached(1L), Instant.now().plusMillis(100));
+        cache.put("long", cached(1L), Instant.now().plusSeconds(60));
+        cache.put("expired", cached(1L), Instant.now().minusSeconds(1));
+
+        assertThat(cache.get("short")).isNotNull();
+        assertThat(cache.get("expired")).isNull();
+        Thread.sleep(150);
+
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.get("long")).isNotNull();
+    }
+
+    @Test
+    void invalidatesTheTokensOfOneUserOrAll() {
+        var cache = new JwtTokenCache(100, registry, ClusterSync.local());
+        cache.put("jane-1", cached(1L), Instant.now().plusSeconds(60));
+        cache.put("jane-2", cached(1L), Instant.now().plusSeconds(60));
+        cache.put("john", cached(2L), Instant.now().plusSeconds(60));
+
+        cache.invalidateUser(1L);
+
+        assertThat(cache.get("jane-1")).isNull();
+        assertThat(cache.get("jane-2")).isNull();
+        assertThat(cache.get("john")).isNotNull();
+
+        cache.invalidateAll();
+
+        assertThat(cache.get("john")).isNull();
+    }
+
+    @Test
+    void staysWithinItsSizeAndKeepsTokensInUse() throws InterruptedException {
+        var cache = new JwtTokenCache(100, registry, ClusterSync.local());
+        cache.put("hot", cached(1L), Instant.now().plusSeconds(60));
+        for (int i = 0; i < 5000; i++) {
+            cache.get("hot");
+            cache.put("cold-" + i, cached(2L), Instant.now().plusSeconds(60));
+        }
+
+        // Caffeine evicts in the background
+        long deadline = System.currentTimeMillis() + 5000;
+        while (size() > 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(size()).isLessThanOrEqualTo(100);
+        assertThat(cache.get("hot")).isNotNull();
+    }
+
+    @Test
+    void sizeZeroDisablesTheCache() {
+        var cache = new JwtTokenCache(0, registry, ClusterSync.local());
+        cache.put("token", cached(1L), Instant.now().plusSeconds(60));
+
+        assertThat(cache.get("token")).isNull();
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tag("cache", "jwt.token.cache").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private double size() {
+        return registry.get("cache.size").tag("cache", "jwt.token.cache").gauge().value();
+    }
+
+    private static JwtTokenCache.CachedToken cached(Long userId) {
+        var principal = new JwtPrincipal(userId, "user" + userId + "@school.test", Role.USER, List.of());
+        return new JwtTokenCache.CachedToken(userId, principal, UUID.randomUUID().toString(), Instant.now(), null);
+    }
+}
@@ -0,0 +1,357 @@
+package com.bid90.edusupply;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test against the embedded server on a random port and a fresh H2 file database,
+ * seeded by {@link BulkDataSeeder}.
+ * <p>
+ * Each endpoint is first driven alone, so that the server allocation can be attributed to it, then all of them
+ * are driven together with a weighted mix. Server allocation is everything the JVM allocated minus what the
+ * load generator's own threads allocated, so it includes the login executor and virtual request threads.
+ * Clients therefore run on a fixed pool of {@code loadtest.clients} platform threads rather than on virtual
+ * threads: the per-thread allocation counter only exists for platform threads, and a fixed pool keeps every
+ * client thread alive until its count has been read. Each client waits for its response, so the pool size is
+ * the number of concurrent users. The report with
+ * throughput, p50/p99 latency and allocation per endpoint is logged and written to
+ * {@code target/loadtest-report.txt}.
+ * </p>
+ * Excluded from the default build, run with {@code mvn -Ploadtest test}. Sizes and durations are read from
+ * the {@code loadtest.*} system properties, e.g. {@code -Dloadtest.users=20000 -Dloadtest.clients=200}.
+ * Add {@code -Dspring.threads.virtual.enabled=true} to compare with virtual-thread request handling.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.h2.console.enabled=false",
+        "seed.bulk.enabled=true",
+        "seed.bulk.users=${loadtest.users:5000}",
+        "seed.bulk.groups=${loadtest.groups:100}",
+        "seed.bulk.equipment=${loadtest.equipment:2000}",
+        "seed.bulk.consumables=${loadtest.consumables:200}",
+        "seed.bulk.requests=${loadtest.requests:10000}",
+        "login.throttle.max-failures-per-ip=1000000",
+        "login.throttle.max-failures-per-email=1000000",
+        "login.executor.queue-capacity=10000"
+})
+class LoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTests.class);
+    private static final String PASSWORD = "Seed123@";
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    private static final Duration PHASE = Duration.ofSeconds(Long.getLong("loadtest.phase-seconds", 15));
+    private static final int USERS = Integer.getInteger("loadtest.users", 5000);
+    private static final int TRANSITION_BATCH = 10;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Set<Thread> clientThreads = ConcurrentHashMap.newKeySet();
+    private final ThreadFactory clientThreadFactory = runnable -> {
+        var thread = Thread.ofPlatform().name("loadtest-client").daemon().unstarted(runnable);
+        clientThreads.add(thread);
+        return thread;
+    };
+    // fixed pools, so that no client thread terminates and takes its allocation count along
+    private final ExecutorService clients = Executors.newFixedThreadPool(CLIENTS, clientThreadFactory);
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newFixedThreadPool(4, clientThreadFactory))
+            .build();
+    private LocalDateTime started;
+
+    @DynamicPropertySource
+    static void freshDatabase(DynamicPropertyRegistry registry) throws IOException {
+        var directory = Files.createTempDirectory("edusupply-loadtest");
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + directory.resolve("h2db"));
+    }
+
+    @Test
+    void mixedTraffic() throws Exception {
+        started = LocalDateTime.now();
+        var adminToken = login("admin@admin", "Admin123@");
+        var pendingRequests = new ConcurrentLinkedQueue<>(jdbcTemplate.queryForList(
+                "select id from equipment_request_tb where status = 'PENDING' order by id", Long.class));
+        assertThat(pendingRequests).as("seeded pending requests").isNotEmpty();
+        var maxUserId = jdbcTemplate.queryForObject("select max(id) from user_tb", Long.class);
+
+        var scenarios = List.of(
+                new Scenario("POST /api/auth/login", 1, () -> post("/api/auth/login", null,
+                        Map.of("email", BulkDataSeeder.userEmail(ThreadLocalRandom.current().nextInt(USERS)),
+                                "password", PASSWORD))),
+                new Scenario("GET /api/user", 4, () -> get("/api/user?size=50&page="
+                        + ThreadLocalRandom.current().nextInt(20), adminToken)),
+                new Scenario("GET /api/user?after", 4, () -> get("/api/user?size=50&after="
+                        + ThreadLocalRandom.current().nextLong(maxUserId), adminToken)),
+                new Scenario("GET /api/group", 4, () -> get("/api/group?size=50", adminToken)),
+                new Scenario("POST /api/request/equipment/transitions", 1, () ->
+                        post("/api/request/equipment/transitions", adminToken,
+                                Map.of("ids", nextPending(pendingRequests), "status", "APPROVED"))));
+
+        drive(scenarios, WARMUP);
+
+        var report = new StringBuilder();
+        report.append(String.format("clients=%d phase=%ss users=%d%n", CLIENTS, PHASE.toSeconds(), USERS));
+        List<PhaseResult> isolated = new ArrayList<>();
+        for (var scenario : scenarios) {
+            isolated.add(drive(List.of(scenario), PHASE));
+        }
+        report.append(PhaseResult.formatIsolated(isolated));
+        var mixed = drive(scenarios, PHASE);
+        report.append(mixed.format("mixed"));
+
+        log.info("Load test report\n{}", report);
+        Files.writeString(Path.of("target", "loadtest-report.txt"), report);
+
+        assertThat(isolated).allSatisfy(result -> assertThat(result.errors()).isZero());
+        assertThat(mixed.errors()).isZero();
+        assertThat(mixed.timers().values()).allSatisfy(timer -> assertThat(timer.count()).isPositive());
+    }
+
+    @AfterEach
+    void stopClients() {
+        clients.shutdownNow();
+    }
+
+    /**
+     * Takes the next batch of pending requests. When they run out, the requests approved by this test are put
+     * back to PENDING, so the scenario keeps measuring real transitions instead of no-ops. This runs before the
+     * request is timed.
+     */
+    private List<Long> nextPending(Queue<Long> pending) {
+        List<Long> ids = new ArrayList<>(TRANSITION_BATCH);
+        while (ids.size() < TRANSITION_BATCH) {
+            var id = pending.poll();
+            if (id != null) {
+                ids.add(id);
+            } else if (!ids.isEmpty()) {
+                break;
+            } else {
+                reseed(pending);
+            }
+        }
+        return ids;
+    }
+
+    private synchronized void reseed(Queue<Long> pending) {
+        if (!pending.isEmpty()) {
+            return;
+        }
+        var approved = jdbcTemplate.queryForList("select id from equipment_request_tb "
+                + "where status = 'APPROVED' and approval_date >= ? order by id", Long.class, started);
+        if (approved.isEmpty()) {
+            // every pending request is in flight, wait for some to be approved
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            return;
+        }
+        jdbcTemplate.batchUpdate("update equipment_request_tb set status = 'PENDING', approved_by_id = null, "
+                + "approval_date = null where id = ?", approved, approved.size(), (statement, id) -> statement.setLong(1, id));
+        pending.addAll(approved);
+    }
+
+    /**
+     * Runs the scenarios with {@link #CLIENTS} clients on the fixed platform-thread pool for the given duration.
+     * Each client repeatedly picks a scenario by weight and waits for the response before the next request.
+     */
+    private PhaseResult drive(List<Scenario> scenarios, Duration duration) {
+        var registry = new SimpleMeterRegistry();
+        Map<String, Timer> timers = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> timers.put(scenario.name(), Timer.builder("loadtest.request")
+                .tag("endpoint", scenario.name())
+                .publishPercentiles(0.5, 0.99)
+                .register(registry)));
+        int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        var errors = new AtomicLong();
+
+        long allocatedBefore = serverAllocatedBytes();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Future<Void>> running = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            running.add(clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    var scenario = pick(scenarios, ThreadLocalRandom.current().nextInt(totalWeight));
+                    var request = scenario.request().get();
+                    long sent = System.nanoTime();
+                    try {
+                        var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    }
+                    timers.get(scenario.name()).record(System.nanoTime() - sent, TimeUnit.NANOSECONDS);
+                }
+                return null;
+            }));
+        }
+        for (var client : running) {
+            try {
+                client.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new PhaseResult(timers, errors.get(), elapsed, serverAllocatedBytes() - allocatedBefore);
+    }
+
+    private static Scenario pick(List<Scenario> scenarios, int roll) {
+        for (var scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    /**
+     * Bytes allocated so far by every thread of the JVM except the load generator: request threads, platform or
+     * virtual, the login executor and background jobs.
+     */
+    private long serverAllocatedBytes() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = threads.getTotalThreadAllocatedBytes();
+        long[] ids = Stream.concat(clientThreads.stream(), Thread.getAllStackTraces().keySet().stream()
+                        // the selector thread of the HTTP client
+                        .filter(thread -> thread.getName().startsWith("HttpClient-")))
+                .mapToLong(Thread::threadId)
+                .distinct()
+                .toArray();
+        return total - Arrays.stream(threads.getThreadAllocatedBytes(ids)).filter(bytes -> bytes > 0).sum();
+    }
+
+    private String login(String email, String password) throws Exception {
+        var response = httpClient.send(post("/api/auth/login", null, Map.of("email", email, "password", password)),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        try {
+            var builder = HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder.build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private record Scenario(String name, int weight, Supplier<HttpRequest> request) {
+    }
+
+    private record PhaseResult(Map<String, Timer> timers, long errors, long elapsedNanos, long allocatedBytes) {
+
+        /**
+         * One row per endpoint driven alone, with the server allocation of its phase.
+         */
+        static String formatIsolated(List<PhaseResult> results) {
+            var out = new StringBuilder();
+            out.append(String.format("%n[isolated]%n%-42s %10s %10s %10s %10s %10s %10s %10s%n", "endpoint",
+                    "requests", "req/s", "p50 ms", "p99 ms", "errors", "alloc MB/s", "KB/req"));
+            for (var result : results) {
+                double seconds = result.elapsedNanos() / 1e9;
+                result.timers().forEach((name, timer) -> {
+                    var percentiles = timer.takeSnapshot().percentileValues();
+                    out.append(String.format("%-42s %10d %10.0f %10.2f %10.2f %10d %10.1f %10.1f%n", name,
+                            timer.count(), timer.count() / seconds, millis(percentiles, 0.5), millis(percentiles, 0.99),
+                            result.errors(), result.allocatedBytes() / seconds / 1e6,
+                            timer.count() == 0 ? 0.0 : result.allocatedBytes() / 1e3 / timer.count()));
+                });
+            }
+            return out.toString();
+        }
+
+        String format(String phase) {
+            double seconds = elapsedNanos / 1e9;
+            long requests = timers.values().stream().mapToLong(Timer::count).sum();
+            var out = new StringBuilder();
+            out.append(String.format("%n[%s] %.0f req/s, %d errors, server allocation %.1f MB/s, %.1f KB/req%n",
+                    phase, requests / seconds, errors, allocatedBytes / seconds / 1e6,
+                    requests == 0 ? 0.0 : allocatedBytes / 1e3 / requests));
+            out.append(String.format("%-42s %10s %10s %10s %10s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms"));
+            timers.forEach((name, timer) -> {
+                var percentiles = timer.takeSnapshot().percentileValues();
+                out.append(String.format("%-42s %10d %10.0f %10.2f %10.2f%n", name, timer.count(), timer.count() / seconds,
+                        millis(percentiles, 0.5), millis(percentiles, 0.99)));
+            });
+            return out.toString();
+        }
+
+        private static double millis(ValueAtPercentile[] percentiles, double percentile) {
+            return Arrays.stream(percentiles)
+                    .filter(value -> value.percentile() == percentile)
+                    .mapToDouble(value -> value.value(TimeUnit.MILLISECONDS))
+                    .findFirst()
+                    .orElse(Double.NaN);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.exception.LoginThrottledException;
+import com.bid90.edusupply.service.LoginThrottle;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Attempts are counted when admitted, per email and per IP, and refunded when they succeed or end without
+ * checking the credentials, so only failed logins stay counted and concurrent guesses cannot pass the limit.
+ */
+class LoginThrottleTests {
+
+    @Test
+    void successfulLoginsFromOneAddressAreNotThrottled() {
+        var throttle = new LoginThrottle(3, 3, 60_000);
+
+        assertThatCode(() -> {
+            for (int i = 0; i < 1000; i++) {
+                throttle.acquire("student" + i + "@school.test", "10.0.0.1");
+                throttle.recordSuccess("student" + i + "@school.test", "10.0.0.1");
+            }
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsAnEmailAfterTooManyFailures() {
+        var throttle = new LoginThrottle(3, 0, 60_000);
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("jane@school.test", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> throttle.acquire("JANE@school.test", "10.0.0.9"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> throttle.acquire("john@school.test", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void concurrentAttemptsCountBeforeTheyComplete() {
+        var throttle = new LoginThrottle(10, 0, 60_000);
+        int admitted = 0;
+        // none of the guesses has been checked yet
+        for (int i = 0; i < 200; i++) {
+            try {
+                throttle.acquire("jane@school.test", "10.0.0.1");
+                admitted++;
+            } catch (LoginThrottledException e) {
+                // over the limit
+            }
+        }
+
+        assertThat(admitted).isEqualTo(10);
+    }
+
+    @Test
+    void successClearsTheFailuresOfTheEmail() {
+        var throttle = new LoginThrottle(3, 0, 60_000);
+        throttle.acquire("jane@school.test", null);
+        throttle.acquire("jane@school.test", null);
+        throttle.acquire("jane@school.test", null);
+        throttle.recordSuccess("jane@school.test", null);
+        throttle.acquire("jane@school.test", null);
+        throttle.acquire("jane@school.test", null);
+
+        assertThatCode(() -> throttle.acquire("jane@school.test", null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void releasedAttemptsAreNotCounted() {
+        var throttle = new LoginThrottle(2, 2, 60_000);
+        for (int i = 0; i < 10; i++) {
+            throttle.acquire("jane@school.test", "10.0.0.1");
+            throttle.release("jane@school.test", "10.0.0.1");
+        }
+
+        assertThatCode(() -> throttle.acquire("jane@school.test", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void ipLimitCountsFailuresOfEveryEmail() {
+        var disabled = new LoginThrottle(0, 0, 60_000);
+        var enabled = new LoginThrottle(0, 5, 60_000);
+        for (int i = 0; i < 5; i++) {
+            disabled.acquire("user" + i + "@school.test", "10.0.0.1");
+            enabled.acquire("user" + i + "@school.test", "10.0.0.1");
+        }
+
+        assertThatCode(() -> disabled.acquire("other@school.test", "10.0.0.1")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> enabled.acquire("other@school.test", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> enabled.acquire("other@school.test", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void attemptRejectedByTheIpIsNotCountedForTheEmail() {
+        var throttle = new LoginThrottle(1, 1, 60_000);
+        throttle.acquire("john@school.test", "10.0.0.1");
+
+        assertThatThrownBy(() -> throttle.acquire("jane@school.test", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> throttle.acquire("jane@school.test", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void failuresExpireWithTheWindow() throws InterruptedException {
+        var throttle = new LoginThrottle(1, 0, 50);
+        throttle.acquire("jane@school.test", null);
+        assertThatThrownBy(() -> throttle.acquire("jane@school.test", null))
+                .isInstanceOf(LoginThrottledException.class);
+
+        Thread.sleep(60);
+        throttle.sweep();
+
+        assertThatCode(() -> throttle.acquire("jane@school.test", null)).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,154 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.dto.event.OutboxEventDTO;
+import com.bid90.edusupply.dto.group.CreateGroupDTO;
+import com.bid90.edusupply.dto.group.UpdateGroupDTO;
+import com.bid90.edusupply.exception.GroupException;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.GroupService;
+import com.bid90.edusupply.service.JwtTokenService;
+import com.bid90.edusupply.service.OutboxRelay;
+import com.bid90.edusupply.service.OutboxService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Events written with the changes, published by the relay in batches smaller than the backlog, readable from
+ * the feed in publication order and appended to the file sink. A stream opened while events are published gets
+ * the replay and then the live events, each once and in sequence order.
+ */
+@SpringBootTest(properties = {
+        "outbox.relay.batch-size=2",
+        "outbox.relay.interval-ms=3600000",
+        "outbox.sink.file.enabled=true",
+        "outbox.sink.file.path=target/outbox-tests/events.ndjson"})
+@AutoConfigureMockMvc
+class OutboxTests {
+
+    private static final Path FILE = Path.of("target/outbox-tests/events.ndjson");
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    @Autowired
+    private GroupService groupService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtTokenService jwtTokenService;
+
+    @Test
+    void publishesCommittedChangesInOrder() throws IOException {
+        outboxRelay.relay();
+        long start = last();
+
+        var created = new CreateGroupDTO();
+        created.setName("outbox-" + UUID.randomUUID());
+        created.setDescription("outbox test");
+        var group = groupService.createGroup(created);
+        var update = new UpdateGroupDTO();
+        update.setDescription("updated");
+        groupService.updateGroup(group.getId(), update);
+        groupService.deleteGroup(group.getId());
+        // rolled back, so no event
+        assertThatThrownBy(() -> groupService.updateGroup(group.getId(), update)).isInstanceOf(GroupException.class);
+
+        assertThat(outboxRelay.relay()).isGreaterThanOrEqualTo(3);
+
+        var events = eventsAfter(start).stream().filter(event -> group.getId().equals(event.getAggregateId())).toList();
+        assertThat(events).extracting(OutboxEventDTO::getType)
+                .containsExactly("group.created", "group.updated", "group.deleted");
+        assertThat(events).extracting(OutboxEventDTO::getAggregateType).containsOnly(OutboxService.GROUP);
+        assertThat(events.getFirst().getPayload()).contains(group.getName());
+        assertThat(events).extracting(OutboxEventDTO::getSequenceNumber).isSorted().doesNotHaveDuplicates();
+
+        var lines = Files.readAllLines(FILE);
+        for (var event : events) {
+            assertThat(lines).anyMatch(line -> line.contains("\"id\":" + event.getId() + ","));
+        }
+    }
+
+    @Test
+    void streamsTheReplayThenLiveEventsInOrder() throws Exception {
+        outboxRelay.relay();
+        long start = last();
+        var admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        var token = jwtTokenService.generateToken(admin.getId().toString(),
+                Map.of("id", UUID.randomUUID().toString(), "role", admin.getRole().name()));
+        var replayed = new CountDownLatch(5);
+
+        // changes keep being published while the stream replays the first ones
+        var writer = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 20; i++) {
+                var created = new CreateGroupDTO();
+                created.setName("outbox-" + UUID.randomUUID());
+                created.setDescription("outbox stream test");
+                groupService.createGroup(created);
+                outboxRelay.relay();
+                replayed.countDown();
+            }
+        });
+        replayed.await();
+        var stream = mockMvc.perform(get("/api/events/stream").param("after", String.valueOf(start))
+                        .param("access_token", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        writer.join();
+
+        var expected = eventsAfter(start).stream().map(OutboxEventDTO::getSequenceNumber).toList();
+        assertThat(expected).hasSizeGreaterThanOrEqualTo(20);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!streamed(stream).contains(expected.getLast()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(streamed(stream)).containsExactlyElementsOf(expected);
+    }
+
+    private static List<Long> streamed(MvcResult stream) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        var matcher = EVENT_ID.matcher(stream.getResponse().getContentAsString());
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    private long last() {
+        var events = eventsAfter(0);
+        return events.isEmpty() ? 0 : events.getLast().getSequenceNumber();
+    }
+
+    private List<OutboxEventDTO> eventsAfter(long after) {
+        List<OutboxEventDTO> events = new ArrayList<>();
+        Long cursor = after;
+        while (cursor != null) {
+            var page = outboxService.getEvents(cursor, 100);
+            events.addAll(page.getContent());
+            cursor = page.getNextAfter();
+        }
+        return events;
+    }
+}
@@ -0,0 +1,75 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rehashing a password on login updates only the password column and leaves the cached user untouched, so
+ * changes made to the user meanwhile, e.g. by another node, are kept.
+ */
+@SpringBootTest
+class PasswordRehashTests {
+
+    private static final String PASSWORD = "Secret123@";
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void keepsChangesMadeSinceTheUserWasCached() {
+        var user = user();
+        var cached = userService.getUserByEmail(user.getEmail()).orElseThrow();
+        var cachedHash = cached.getPassword();
+        // changed behind the cache
+        jdbcTemplate.update("UPDATE user_tb SET enabled = FALSE, name = 'Renamed' WHERE id = ?", user.getId());
+
+        userService.rehashPassword(cached, PASSWORD);
+
+        var stored = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(stored.isEnabled()).isFalse();
+        assertThat(stored.getName()).isEqualTo("Renamed");
+        assertThat(stored.getPassword()).isNotEqualTo(cachedHash).startsWith("$2a$10$");
+        assertThat(passwordEncoder.matches(PASSWORD, stored.getPassword())).isTrue();
+        assertThat(cached.getPassword()).isEqualTo(cachedHash);
+    }
+
+    @Test
+    void doesNotOverwriteAPasswordChangedMeanwhile() {
+        var user = user();
+        var cached = userService.getUserByEmail(user.getEmail()).orElseThrow();
+        var changed = passwordEncoder.encode("Changed123@");
+        jdbcTemplate.update("UPDATE user_tb SET password = ? WHERE id = ?", changed, user.getId());
+
+        userService.rehashPassword(cached, PASSWORD);
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo(changed);
+    }
+
+    private User user() {
+        var user = new User();
+        user.setName("Rehash Tester");
+        user.setEmail(UUID.randomUUID() + "@school.test");
+        // a cheaper cost than configured, as left behind by an earlier strength setting
+        user.setPassword(new BCryptPasswordEncoder(4).encode(PASSWORD));
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,144 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.dto.request.RequestHistoryDTO;
+import com.bid90.edusupply.model.Consumable;
+import com.bid90.edusupply.model.ConsumableRequest;
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.EquipmentRequest;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.model.Request;
+import com.bid90.edusupply.model.RequestStatus;
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.ConsumableRepository;
+import com.bid90.edusupply.repository.ConsumableRequestRepository;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import com.bid90.edusupply.repository.EquipmentRequestRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.RequestArchiveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archive runs over batches smaller than the number of archivable requests, and history pages that span the
+ * live and archive tables.
+ */
+@SpringBootTest(properties = {"request.archive.age-days=30", "request.archive.batch-size=2"})
+class RequestArchiveTests {
+
+    @Autowired
+    private RequestArchiveService requestArchiveService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private ConsumableRepository consumableRepository;
+    @Autowired
+    private EquipmentRequestRepository equipmentRequestRepository;
+    @Autowired
+    private ConsumableRequestRepository consumableRequestRepository;
+
+    @Test
+    void movesOldDecidedRequestsAndKeepsTheHistoryWhole() {
+        var requester = new User();
+        requester.setName("Archive Tester");
+        requester.setEmail(UUID.randomUUID() + "@school.test");
+        requester.setPassword("not-used");
+        requester.setRole(Role.USER);
+        requester = userRepository.save(requester);
+        var equipment = new Equipment();
+        equipment.setName("Proiector");
+        equipment.setStatus(EquipmentStatus.FUNCTIONAL);
+        equipment = equipmentRepository.save(equipment);
+        var consumable = new Consumable();
+        consumable.setName("Hârtie A4");
+        consumable.setQuantity(100);
+        consumable = consumableRepository.save(consumable);
+
+        var old = LocalDateTime.now().minusDays(40).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> archivable = new ArrayList<>();
+        List<Long> live = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            archivable.add(equipmentRequest(requester, equipment, RequestStatus.APPROVED, old.plusHours(i), null).getId());
+        }
+        live.add(equipmentRequest(requester, equipment, RequestStatus.PENDING, old, null).getId());
+        live.add(equipmentRequest(requester, equipment, RequestStatus.APPROVED, LocalDateTime.now(), null).getId());
+        // reservation whose window has not ended yet
+        live.add(equipmentRequest(requester, equipment, RequestStatus.APPROVED, old, LocalDateTime.now().plusDays(1)).getId());
+        for (int i = 0; i < 2; i++) {
+            archivable.add(consumableRequest(requester, consumable, RequestStatus.REJECTED, old.plusMinutes(i)).getId());
+        }
+
+        var result = requestArchiveService.archive();
+
+        assertThat(result.getEquipmentRequests()).isGreaterThanOrEqualTo(3);
+        assertThat(result.getConsumableRequests()).isGreaterThanOrEqualTo(2);
+        archivable.forEach(id -> {
+            assertThat(equipmentRequestRepository.existsById(id)).isFalse();
+            assertThat(consumableRequestRepository.existsById(id)).isFalse();
+        });
+        live.forEach(id -> assertThat(equipmentRequestRepository.existsById(id)).isTrue());
+
+        var firstPage = requestArchiveService.getHistory(requester.getId(), null, 100).getContent();
+        assertThat(firstPage).extracting(RequestHistoryDTO::getId).containsExactlyInAnyOrderElementsOf(
+                concat(archivable, live));
+        assertThat(firstPage).filteredOn(RequestHistoryDTO::isArchived).extracting(RequestHistoryDTO::getId)
+                .containsExactlyInAnyOrderElementsOf(archivable);
+        assertThat(firstPage.get(0).getId()).isEqualTo(live.get(1));
+
+        List<Long> paged = new ArrayList<>();
+        Long after = null;
+        do {
+            var page = requestArchiveService.getHistory(requester.getId(), after, 3);
+            page.getContent().forEach(request -> paged.add(request.getId()));
+            after = page.getNextAfter();
+        } while (after != null);
+        assertThat(paged).containsExactlyElementsOf(firstPage.stream().map(RequestHistoryDTO::getId).toList());
+    }
+
+    private EquipmentRequest equipmentRequest(User requester, Equipment equipment, RequestStatus status,
+                                              LocalDateTime requestDate, LocalDateTime endTime) {
+        var request = new EquipmentRequest();
+        request.setEquipment(equipment);
+        if (endTime != null) {
+            request.setStartTime(endTime.minusHours(2));
+            request.setEndTime(endTime);
+        }
+        return equipmentRequestRepository.save(decided(request, requester, status, requestDate));
+    }
+
+    private ConsumableRequest consumableRequest(User requester, Consumable consumable, RequestStatus status,
+                                                LocalDateTime requestDate) {
+        var request = new ConsumableRequest();
+        request.setConsumable(consumable);
+        request.setQuantity(1);
+        return consumableRequestRepository.save(decided(request, requester, status, requestDate));
+    }
+
+    private static <T extends Request> T decided(T request, User requester, RequestStatus status, LocalDateTime requestDate) {
+        request.setRequester(requester);
+        request.setStatus(status);
+        request.setRequestDate(requestDate);
+        if (status != RequestStatus.PENDING) {
+            request.setApprovedBy(requester);
+            request.setApprovalDate(requestDate.plusMinutes(5));
+        }
+        return request;
+    }
+
+    private static List<Long> concat(List<Long> a, List<Long> b) {
+        List<Long> all = new ArrayList<>(a);
+        all.addAll(b);
+        return all;
+    }
+}
@@ -0,0 +1,120 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.EquipmentRequest;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.model.RequestStatus;
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import com.bid90.edusupply.repository.EquipmentRequestRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.JwtTokenService;
+import com.bid90.edusupply.service.OutboxRelay;
+import com.bid90.edusupply.service.RequestWorkflowService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request status changes pushed over {@code GET /api/request/events} to the requester and to admins, and not
+ * to other users; streams authenticated with the token in the query string.
+ */
+@SpringBootTest(properties = "outbox.relay.interval-ms=3600000")
+@AutoConfigureMockMvc
+class RequestStatusPushTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private EquipmentRequestRepository equipmentRequestRepository;
+    @Autowired
+    private RequestWorkflowService requestWorkflowService;
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private JwtTokenService jwtTokenService;
+
+    @Test
+    void pushesStatusChangesToTheRequesterAndAdmins() throws Exception {
+        var admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        var requester = user();
+        var other = user();
+        var equipment = new Equipment();
+        equipment.setName("Laptop");
+        equipment.setStatus(EquipmentStatus.FUNCTIONAL);
+        equipment = equipmentRepository.save(equipment);
+        var pending = new EquipmentRequest();
+        pending.setEquipment(equipment);
+        pending.setRequester(requester);
+        pending.setStatus(RequestStatus.PENDING);
+        pending.setRequestDate(LocalDateTime.now());
+        pending = equipmentRequestRepository.save(pending);
+
+        var requesterStream = open(token(requester));
+        var otherStream = open(token(other));
+        var adminStream = open(token(admin));
+
+        requestWorkflowService.transitionEquipmentRequests(List.of(pending.getId()), RequestStatus.APPROVED, admin.getId());
+        outboxRelay.relay();
+
+        var expected = "\"requestId\":" + pending.getId() + ",";
+        awaitContent(requesterStream, expected);
+        awaitContent(adminStream, expected);
+        assertThat(requesterStream.getResponse().getContentAsString())
+                .contains("event:request.status_changed")
+                .contains("\"status\":\"APPROVED\"");
+        assertThat(otherStream.getResponse().getContentAsString()).doesNotContain(expected);
+    }
+
+    @Test
+    void rejectsStreamsWithoutToken() throws Exception {
+        mockMvc.perform(get("/api/request/events")).andExpect(status().isForbidden());
+    }
+
+    private MvcResult open(String token) throws Exception {
+        return mockMvc.perform(get("/api/request/events").param("access_token", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static void awaitContent(MvcResult stream, String expected) throws Exception {
+        // events are sent by virtual threads after the relay commits
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!stream.getResponse().getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(stream.getResponse().getContentAsString()).contains(expected);
+    }
+
+    private User user() {
+        var user = new User();
+        user.setName("Push Tester");
+        user.setEmail(UUID.randomUUID() + "@school.test");
+        user.setPassword("not-used");
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+
+    private String token(User user) {
+        return jwtTokenService.generateToken(user.getId().toString(),
+                Map.of("id", UUID.randomUUID().toString(), "role", user.getRole().name()));
+    }
+}
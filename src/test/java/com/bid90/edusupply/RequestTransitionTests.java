@@ -0,0 +1,229 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.dto.request.BulkTransitionResultDTO;
+import com.bid90.edusupply.dto.request.TransitionOutcome;
+import com.bid90.edusupply.dto.request.TransitionResultDTO;
+import com.bid90.edusupply.exception.RequestException;
+import com.bid90.edusupply.model.Consumable;
+import com.bid90.edusupply.model.ConsumableRequest;
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.EquipmentRequest;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.model.RequestStatus;
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.ConsumableRepository;
+import com.bid90.edusupply.repository.ConsumableRequestRepository;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import com.bid90.edusupply.repository.EquipmentRequestRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.RequestWorkflowService;
+import com.bid90.edusupply.service.StockLedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bulk request transitions report one outcome per requested id: transitioned, not found, no longer pending or,
+ * for consumables, not enough stock. Batches larger than one IN list are split transparently.
+ */
+@SpringBootTest(properties = "outbox.relay.interval-ms=3600000")
+class RequestTransitionTests {
+
+    @Autowired
+    private RequestWorkflowService requestWorkflowService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private EquipmentRequestRepository equipmentRequestRepository;
+    @Autowired
+    private ConsumableRepository consumableRepository;
+    @Autowired
+    private ConsumableRequestRepository consumableRequestRepository;
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    private User admin;
+    private User requester;
+
+    @BeforeEach
+    void setup() {
+        admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        var user = new User();
+        user.setName("Transition Tester");
+        user.setEmail(UUID.randomUUID() + "@school.test");
+        user.setPassword("not-used");
+        user.setRole(Role.USER);
+        requester = userRepository.save(user);
+    }
+
+    @Test
+    void reportsAnOutcomePerRequestedId() {
+        var requests = equipmentRequests(3);
+        var approved = requests.get(0);
+        requestWorkflowService.transitionEquipmentRequests(List.of(approved), RequestStatus.APPROVED, admin.getId());
+
+        var result = requestWorkflowService.transitionEquipmentRequests(
+                List.of(requests.get(1), approved, -1L, requests.get(2), requests.get(1)),
+                RequestStatus.REJECTED, admin.getId());
+
+        // duplicates are reported once, in the order given
+        assertThat(result.getResults()).containsExactly(
+                new TransitionResultDTO(requests.get(1), TransitionOutcome.REJECTED),
+                new TransitionResultDTO(approved, TransitionOutcome.NOT_PENDING),
+                new TransitionResultDTO(-1L, TransitionOutcome.NOT_FOUND),
+                new TransitionResultDTO(requests.get(2), TransitionOutcome.REJECTED));
+        var stored = equipmentRequestRepository.findById(requests.get(1)).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(RequestStatus.REJECTED);
+        assertThat(stored.getApprovedBy().getId()).isEqualTo(admin.getId());
+        assertThat(equipmentRequestRepository.findById(approved).orElseThrow().getStatus())
+                .isEqualTo(RequestStatus.APPROVED);
+    }
+
+    @Test
+    void transitionsAgainAreNotPending() {
+        var requests = equipmentRequests(2);
+        requestWorkflowService.transitionEquipmentRequests(requests, RequestStatus.APPROVED, admin.getId());
+
+        var again = requestWorkflowService.transitionEquipmentRequests(requests, RequestStatus.APPROVED, admin.getId());
+
+        assertThat(outcomes(again)).containsOnly(TransitionOutcome.NOT_PENDING);
+    }
+
+    @Test
+    void approvalsWithoutEnoughStockStayPending() {
+        var consumable = new Consumable();
+        consumable.setName("Markers");
+        consumable.setQuantity(5);
+        consumable.setUnit("pcs");
+        consumable = consumableRepository.save(consumable);
+        var first = consumableRequest(consumable, 3);
+        var tooMany = consumableRequest(consumable, 3);
+        var fits = consumableRequest(consumable, 2);
+
+        var result = requestWorkflowService.transitionConsumableRequests(List.of(first, tooMany, fits),
+                RequestStatus.APPROVED, admin.getId());
+
+        // requests are served in the order given
+        assertThat(outcomes(result)).containsExactly(
+                TransitionOutcome.APPROVED, TransitionOutcome.INSUFFICIENT_STOCK, TransitionOutcome.APPROVED);
+        assertThat(consumableRequestRepository.findById(tooMany).orElseThrow().getStatus())
+                .isEqualTo(RequestStatus.PENDING);
+        assertThat(consumableRepository.findById(consumable.getId()).orElseThrow().getReservedQuantity())
+                .isEqualTo(5);
+    }
+
+    @Test
+    void approvalsFollowTheStoredStockWhenTheBalanceIsStale() {
+        var consumable = new Consumable();
+        consumable.setName("Chalk");
+        consumable.setQuantity(5);
+        consumable.setUnit("pcs");
+        consumable = consumableRepository.save(consumable);
+        requestWorkflowService.transitionConsumableRequests(List.of(consumableRequest(consumable, 1)),
+                RequestStatus.APPROVED, admin.getId());
+        assertThat(stockLedgerService.getAvailable(consumable.getId())).isEqualTo(4);
+
+        // another node reserved stock, the balance still allows more than is stored
+        var stored = consumableRepository.findById(consumable.getId()).orElseThrow();
+        stored.setReservedQuantity(4);
+        consumableRepository.save(stored);
+        var overbooked = requestWorkflowService.transitionConsumableRequests(List.of(consumableRequest(consumable, 2)),
+                RequestStatus.APPROVED, admin.getId());
+
+        assertThat(outcomes(overbooked)).containsExactly(TransitionOutcome.INSUFFICIENT_STOCK);
+        assertThat(stockLedgerService.getAvailable(consumable.getId())).isEqualTo(1);
+
+        // another node received stock, the balance allows less than is stored
+        stored = consumableRepository.findById(consumable.getId()).orElseThrow();
+        stored.setQuantity(10);
+        consumableRepository.save(stored);
+        var received = requestWorkflowService.transitionConsumableRequests(
+                List.of(consumableRequest(consumable, 5), consumableRequest(consumable, 2)),
+                RequestStatus.APPROVED, admin.getId());
+
+        assertThat(outcomes(received)).containsExactly(TransitionOutcome.APPROVED, TransitionOutcome.INSUFFICIENT_STOCK);
+        assertThat(stockLedgerService.getAvailable(consumable.getId())).isEqualTo(1);
+        assertThat(consumableRepository.findById(consumable.getId()).orElseThrow().getReservedQuantity())
+                .isEqualTo(9);
+    }
+
+    @Test
+    void splitsBatchesLargerThanOneInList() {
+        var requests = new ArrayList<>(equipmentRequests(2500));
+        Collections.shuffle(requests);
+        requests.add(-1L);
+
+        var result = requestWorkflowService.transitionEquipmentRequests(requests, RequestStatus.APPROVED, admin.getId());
+
+        assertThat(result.getResults()).hasSize(2501);
+        assertThat(result.getResults().subList(0, 2500)).extracting(TransitionResultDTO::getOutcome)
+                .containsOnly(TransitionOutcome.APPROVED);
+        assertThat(result.getResults().get(2500).getOutcome()).isEqualTo(TransitionOutcome.NOT_FOUND);
+        assertThat(equipmentRequestRepository.findAllById(requests)).extracting(EquipmentRequest::getStatus)
+                .hasSize(2500)
+                .containsOnly(RequestStatus.APPROVED);
+    }
+
+    @Test
+    void rejectsInvalidBatches() {
+        assertThatThrownBy(() -> requestWorkflowService.transitionEquipmentRequests(List.of(1L),
+                RequestStatus.PENDING, admin.getId()))
+                .isInstanceOfSatisfying(RequestException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> requestWorkflowService.transitionEquipmentRequests(List.of(),
+                RequestStatus.APPROVED, admin.getId()))
+                .isInstanceOf(RequestException.class);
+        var tooMany = new ArrayList<Long>();
+        for (long id = 1; id <= 10_001; id++) {
+            tooMany.add(id);
+        }
+        assertThatThrownBy(() -> requestWorkflowService.transitionConsumableRequests(tooMany,
+                RequestStatus.APPROVED, admin.getId()))
+                .isInstanceOf(RequestException.class);
+    }
+
+    private List<Long> equipmentRequests(int count) {
+        var equipment = new Equipment();
+        equipment.setName("Projector");
+        equipment.setStatus(EquipmentStatus.FUNCTIONAL);
+        equipment = equipmentRepository.save(equipment);
+        List<EquipmentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            var request = new EquipmentRequest();
+            request.setEquipment(equipment);
+            request.setRequester(requester);
+            request.setStatus(RequestStatus.PENDING);
+            request.setRequestDate(LocalDateTime.now());
+            requests.add(request);
+        }
+        return equipmentRequestRepository.saveAll(requests).stream().map(EquipmentRequest::getId).toList();
+    }
+
+    private Long consumableRequest(Consumable consumable, int quantity) {
+        var request = new ConsumableRequest();
+        request.setConsumable(consumable);
+        request.setQuantity(quantity);
+        request.setRequester(requester);
+        request.setStatus(RequestStatus.PENDING);
+        request.setRequestDate(LocalDateTime.now());
+        return consumableRequestRepository.save(request).getId();
+    }
+
+    private static List<TransitionOutcome> outcomes(BulkTransitionResultDTO result) {
+        return result.getResults().stream().map(TransitionResultDTO::getOutcome).toList();
+    }
+}
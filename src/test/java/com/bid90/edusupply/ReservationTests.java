@@ -0,0 +1,183 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.dto.equipment.EquipmentDTO;
+import com.bid90.edusupply.dto.request.CreateReservationDTO;
+import com.bid90.edusupply.dto.request.ReservationDTO;
+import com.bid90.edusupply.exception.RequestException;
+import com.bid90.edusupply.model.Equipment;
+import com.bid90.edusupply.model.EquipmentRequest;
+import com.bid90.edusupply.model.EquipmentStatus;
+import com.bid90.edusupply.model.Location;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.EquipmentRepository;
+import com.bid90.edusupply.repository.EquipmentRequestRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.repository.projection.ReservationRow;
+import com.bid90.edusupply.service.OutboxService;
+import com.bid90.edusupply.service.ReservationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reservations checked against the in-memory calendar: conflicts, concurrent bookings of one item, availability
+ * in a building and release of rejected requests.
+ */
+class ReservationTests {
+
+    private final LocalDateTime monday = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.DAYS);
+    private ReservationServiceImpl reservations;
+    private EquipmentRequestRepository equipmentRequestRepository;
+
+    @BeforeEach
+    void setup() {
+        var location = new Location();
+        location.setId(1L);
+        location.setBuilding("A");
+        var items = List.of(equipment(1L, location), equipment(2L, location), equipment(3L, location));
+
+        var equipmentRepository = mock(EquipmentRepository.class);
+        items.forEach(item -> when(equipmentRepository.findById(item.getId())).thenReturn(Optional.of(item)));
+        when(equipmentRepository.findInBuilding(eq("A"), eq(EquipmentStatus.FUNCTIONAL), isNull())).thenReturn(items);
+        var userRepository = mock(UserRepository.class);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(new User());
+        equipmentRequestRepository = mock(EquipmentRequestRepository.class);
+        var ids = new AtomicLong(100);
+        when(equipmentRequestRepository.save(any())).thenAnswer(invocation -> {
+            EquipmentRequest request = invocation.getArgument(0);
+            request.setId(ids.incrementAndGet());
+            return request;
+        });
+        reservations = new ReservationServiceImpl(equipmentRequestRepository, equipmentRepository, userRepository,
+                mock(OutboxService.class), mock(PlatformTransactionManager.class), 4);
+    }
+
+    @Test
+    void rejectsOverlappingWindowsOfTheSameItem() {
+        reserve(1L, 10, 12);
+
+        assertThatThrownBy(() -> reserve(1L, 11, 13))
+                .isInstanceOfSatisfying(RequestException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+        assertThatThrownBy(() -> reserve(1L, 9, 14)).isInstanceOf(RequestException.class);
+        reserve(1L, 12, 13);
+        reserve(1L, 8, 10);
+        reserve(2L, 10, 12);
+
+        assertThat(reservations.getReservations(1L, at(0), at(24)))
+                .extracting(ReservationDTO::getStartTime)
+                .containsExactly(at(8), at(10), at(12));
+        assertThat(reservations.getReservations(1L, at(11), at(12))).hasSize(1);
+    }
+
+    @Test
+    void onlyOneConcurrentBookingOfAnItemSucceeds() throws Exception {
+        List<Callable<Boolean>> bookings = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            bookings.add(() -> {
+                try {
+                    reserve(3L, 10, 12);
+                    return true;
+                } catch (RequestException e) {
+                    return false;
+                }
+            });
+        }
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var succeeded = executor.invokeAll(bookings).stream().filter(result -> {
+                try {
+                    return result.get();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).count();
+            assertThat(succeeded).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void listsFreeItemsOfABuildingAndReleasesRejectedRequests() {
+        var booked = reserve(1L, 10, 12);
+        reserve(2L, 14, 16);
+
+        assertThat(reservations.getAvailable("A", null, at(10), at(12)))
+                .extracting(EquipmentDTO::getId)
+                .containsExactly(2L, 3L);
+        assertThat(reservations.getAvailable("A", null, at(11), at(15)))
+                .extracting(EquipmentDTO::getId)
+                .containsExactly(3L);
+
+        reservations.released(List.of(booked.getRequestId()));
+
+        assertThat(reservations.getAvailable("A", null, at(10), at(12)))
+                .extracting(EquipmentDTO::getId)
+                .containsExactly(1L, 2L, 3L);
+        reserve(1L, 10, 12);
+    }
+
+    @Test
+    void loadsAndPrunesExistingReservations() {
+        var now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        when(equipmentRequestRepository.findReservationsEndingAfter(any(), any())).thenReturn(List.of(
+                new ReservationRow(1L, 1L, at(10), at(12)),
+                new ReservationRow(2L, 1L, now.minusHours(2), now.minusSeconds(1))));
+        reservations.load();
+
+        assertThatThrownBy(() -> reserve(1L, 11, 12)).isInstanceOf(RequestException.class);
+        reservations.pruneEnded();
+
+        assertThat(reservations.getReservations(1L, now.minusDays(1), at(24)))
+                .extracting(ReservationDTO::getRequestId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void rejectsInvalidWindows() {
+        assertThatThrownBy(() -> reserve(1L, 12, 10))
+                .isInstanceOfSatisfying(RequestException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        var past = new CreateReservationDTO();
+        past.setEquipmentId(1L);
+        past.setStartTime(LocalDateTime.now().minusDays(1));
+        past.setEndTime(LocalDateTime.now().minusDays(1).plusHours(1));
+        assertThatThrownBy(() -> reservations.reserve(past, 1L)).isInstanceOf(RequestException.class);
+    }
+
+    private ReservationDTO reserve(Long equipmentId, int fromHour, int toHour) {
+        var reservation = new CreateReservationDTO();
+        reservation.setEquipmentId(equipmentId);
+        reservation.setStartTime(at(fromHour));
+        reservation.setEndTime(at(toHour));
+        return reservations.reserve(reservation, 1L);
+    }
+
+    private LocalDateTime at(int hour) {
+        return monday.plusHours(hour);
+    }
+
+    private static Equipment equipment(Long id, Location location) {
+        var equipment = new Equipment();
+        equipment.setId(id);
+        equipment.setName("Proiector " + id);
+        equipment.setStatus(EquipmentStatus.FUNCTIONAL);
+        equipment.setLocation(location);
+        return equipment;
+    }
+}
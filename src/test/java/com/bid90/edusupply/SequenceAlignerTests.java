@@ -0,0 +1,95 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.model.Group;
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.GroupRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starting against an H2 file created when the ids were {@code IDENTITY} columns: the migrations add the missing
+ * sequences, and the aligner moves them, or creates them if they are still missing, past the existing ids.
+ */
+class SequenceAlignerTests {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void startsAgainstADatabaseCreatedWithIdentityColumns() throws SQLException {
+        var database = "jdbc:h2:file:" + directory.resolve("h2db");
+        execute(database,
+                "CREATE TABLE user_tb (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                        + "email VARCHAR(255) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, role VARCHAR(32) NOT NULL, "
+                        + "enabled BOOLEAN NOT NULL, created_at TIMESTAMP(6), updated_at TIMESTAMP(6))",
+                "CREATE TABLE group_tb (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE, "
+                        + "description VARCHAR(255) NOT NULL, immutable BOOLEAN NOT NULL, created_at TIMESTAMP(6), "
+                        + "updated_at TIMESTAMP(6))",
+                "CREATE TABLE user_group (user_id BIGINT NOT NULL REFERENCES user_tb (id), "
+                        + "group_id BIGINT NOT NULL REFERENCES group_tb (id))",
+                "INSERT INTO group_tb (name, description, immutable) VALUES ('ALL', 'All users', TRUE)",
+                "INSERT INTO user_tb (name, email, password, role, enabled) VALUES ('Admin', 'admin@admin', 'x', 'ADMIN', TRUE)",
+                "INSERT INTO user_tb (name, email, password, role, enabled) VALUES ('Jane', 'jane@school.test', 'x', 'USER', TRUE)",
+                "INSERT INTO user_tb (name, email, password, role, enabled) VALUES ('John', 'john@school.test', 'x', 'USER', TRUE)",
+                "INSERT INTO user_group (user_id, group_id) VALUES (1, 1)");
+
+        try (var context = application(database)) {
+            var users = context.getBean(UserRepository.class);
+            assertThat(users.findByEmail("jane@school.test")).isPresent();
+            assertThat(newUser(context).getId()).isGreaterThan(3);
+            var group = new Group();
+            group.setName("Teachers");
+            group.setDescription("Teachers");
+            assertThat(context.getBean(GroupRepository.class).save(group).getId()).isGreaterThan(1);
+        }
+        long highest;
+        try (var context = application(database)) {
+            highest = newUser(context).getId();
+        }
+
+        // as left behind by a schema that was stamped without its sequences
+        execute(database, "DROP SEQUENCE user_tb_seq");
+        try (var context = application(database)) {
+            assertThat(newUser(context).getId()).isGreaterThan(highest);
+            assertThat(context.getBean(UserRepository.class).count()).isEqualTo(6);
+        }
+    }
+
+    private static User newUser(ConfigurableApplicationContext context) {
+        var user = new User();
+        user.setName("Sequence Tester");
+        user.setEmail(UUID.randomUUID() + "@school.test");
+        user.setPassword("not-used");
+        user.setRole(Role.USER);
+        return context.getBean(UserRepository.class).save(user);
+    }
+
+    private static void execute(String database, String... statements) throws SQLException {
+        try (var connection = DriverManager.getConnection(database, "sa", "");
+             var statement = connection.createStatement()) {
+            for (var sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext application(String database) {
+        return new SpringApplicationBuilder(EdusupplyApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + database,
+                "--spring.datasource.username=sa",
+                "--outbox.relay.interval-ms=3600000",
+                "--logging.level.root=WARN");
+    }
+}
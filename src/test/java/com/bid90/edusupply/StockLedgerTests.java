@@ -0,0 +1,132 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.exception.ConsumableException;
+import com.bid90.edusupply.model.Consumable;
+import com.bid90.edusupply.model.StockMovementType;
+import com.bid90.edusupply.repository.ConsumableRepository;
+import com.bid90.edusupply.service.StockLedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrent reservations against the in-memory balance never oversell, and the balance ends equal to the
+ * stored stock, also when it is resynchronized while reservations are in flight.
+ */
+@SpringBootTest(properties = "outbox.relay.interval-ms=3600000")
+class StockLedgerTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+    @Autowired
+    private ConsumableRepository consumableRepository;
+
+    @Test
+    void concurrentReservationsDoNotOversell() throws Exception {
+        var consumable = consumable(100);
+        var succeeded = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 20; i++) {
+                try {
+                    stockLedgerService.record(consumable.getId(), StockMovementType.RESERVATION, 1, null);
+                    succeeded.incrementAndGet();
+                } catch (ConsumableException e) {
+                    // insufficient stock or too much contention, either way nothing was reserved
+                }
+            }
+            return null;
+        });
+        // reservations that gave up under contention leave stock that can still be reserved
+        while (stockLedgerService.getAvailable(consumable.getId()) > 0) {
+            stockLedgerService.record(consumable.getId(), StockMovementType.RESERVATION, 1, null);
+            succeeded.incrementAndGet();
+        }
+
+        var stored = consumableRepository.findById(consumable.getId()).orElseThrow();
+        assertThat(succeeded.get()).isEqualTo(100);
+        assertThat(stored.getReservedQuantity()).isEqualTo(100);
+        assertThat(stockLedgerService.getAvailable(consumable.getId())).isZero();
+        assertThatThrownBy(() -> stockLedgerService.record(consumable.getId(), StockMovementType.RESERVATION, 1, null))
+                .isInstanceOf(ConsumableException.class);
+    }
+
+    @Test
+    void balanceMatchesStoredStockAfterMixedConcurrentChanges() throws Exception {
+        var consumable = consumable(10);
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 20; i++) {
+                // reservations larger than the stock fail and trigger a resync while others are in flight
+                attempt(consumable, StockMovementType.RESERVATION, 1 + i % 4);
+                attempt(consumable, StockMovementType.RECEIPT, 1);
+            }
+            return null;
+        });
+
+        var stored = consumableRepository.findById(consumable.getId()).orElseThrow();
+        assertThat(stockLedgerService.getAvailable(consumable.getId()))
+                .isEqualTo(stored.getQuantity() - stored.getReservedQuantity());
+    }
+
+    @Test
+    void staleBalanceIsResynchronizedFromStoredStock() {
+        var consumable = consumable(1);
+        assertThat(stockLedgerService.getAvailable(consumable.getId())).isEqualTo(1);
+
+        // another node received stock
+        var stored = consumableRepository.findById(consumable.getId()).orElseThrow();
+        stored.setQuantity(5);
+        consumableRepository.save(stored);
+
+        stockLedgerService.record(consumable.getId(), StockMovementType.RESERVATION, 3, null);
+
+        assertThat(stockLedgerService.getAvailable(consumable.getId())).isEqualTo(2);
+    }
+
+    private void attempt(Consumable consumable, StockMovementType type, int quantity) {
+        try {
+            stockLedgerService.record(consumable.getId(), type, quantity, null);
+        } catch (ConsumableException e) {
+            // insufficient stock or too much contention, either way nothing changed
+        }
+    }
+
+    private void runConcurrently(Callable<Void> task) throws Exception {
+        var start = new CountDownLatch(1);
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private Consumable consumable(int quantity) {
+        var consumable = new Consumable();
+        consumable.setName("Ledger test");
+        consumable.setQuantity(quantity);
+        consumable.setUnit("pcs");
+        return consumableRepository.save(consumable);
+    }
+}
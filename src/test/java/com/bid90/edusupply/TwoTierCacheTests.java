@@ -0,0 +1,230 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.config.RedisAvailability;
+import com.bid90.edusupply.config.RedisClusterSync;
+import com.bid90.edusupply.config.TwoTierCache;
+import com.bid90.edusupply.service.TokenDenylist;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.bid90.edusupply.dto.group.GroupDTO;
+import com.bid90.edusupply.dto.user.UserDTO;
+import com.bid90.edusupply.model.Group;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.EntityCache;
+import com.bid90.edusupply.service.GroupService;
+import com.bid90.edusupply.service.UserService;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes sharing an in-process Redis server: read-through from the Redis tier, invalidation of the
+ * near-caches over pub/sub, shared token revocations, and local-only mode when Redis is unreachable. The entity
+ * regions are also checked end to end, with two application contexts sharing the Redis server and a database.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TwoTierCacheTests {
+
+    private static final long TOKEN_LIFETIME_MS = 60_000;
+
+    private RedisServer redisServer;
+    private int port;
+    private final List<Node> nodes = new ArrayList<>();
+
+    @BeforeAll
+    void startRedis() throws IOException {
+        port = freePort();
+        redisServer = new RedisServer(port);
+        redisServer.start();
+    }
+
+    @AfterAll
+    void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        for (var node : nodes) {
+            node.stop();
+        }
+        nodes.clear();
+    }
+
+    @Test
+    void readsThroughTheRedisTier() {
+        var a = node(port);
+        var b = node(port);
+
+        a.cache().put("read-through", "value");
+
+        assertThat(b.cache().getLocal().get("read-through")).isNull();
+        assertThat(b.cache().get("read-through", String.class)).isEqualTo("value");
+        assertThat(b.cache().getLocal().get("read-through")).isNotNull();
+    }
+
+    @Test
+    void evictionClearsTheNearCacheOfOtherNodes() {
+        var a = node(port);
+        var b = node(port);
+        a.cache().put("evicted", "value");
+        assertThat(b.cache().get("evicted", String.class)).isEqualTo("value");
+
+        a.cache().evict("evicted");
+
+        await(() -> b.cache().getLocal().get("evicted") == null);
+        assertThat(b.cache().get("evicted")).isNull();
+    }
+
+    @Test
+    void revocationsReachRunningAndLaterNodes() {
+        var a = node(port);
+        var b = node(port);
+
+        a.denylist().revokeToken("token-1", Instant.now().plusSeconds(60));
+        a.denylist().revokeUser(42L);
+
+        await(() -> b.denylist().isRevoked("token-1", 1L, Instant.now()));
+        await(() -> b.denylist().isRevoked(null, 42L, Instant.now().minusSeconds(10)));
+
+        var late = node(port);
+        assertThat(late.denylist().isRevoked("token-1", 1L, Instant.now())).isTrue();
+        assertThat(late.denylist().isRevoked(null, 42L, Instant.now().minusSeconds(10))).isTrue();
+    }
+
+    @Test
+    void fallsBackToLocalOnlyModeWhenRedisIsUnreachable() throws IOException {
+        var node = node(freePort());
+
+        node.cache().put("local", "value");
+        node.denylist().revokeToken("token-2", Instant.now().plusSeconds(60));
+
+        assertThat(node.availability().isUp()).isFalse();
+        assertThat(node.cache().get("local", String.class)).isEqualTo("value");
+        assertThat(node.denylist().isRevoked("token-2", 1L, Instant.now())).isTrue();
+    }
+
+    @Test
+    void cachedEntitiesRoundTripBetweenNodes() {
+        var database = "jdbc:h2:mem:two-tier-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        try (var a = application(database); var b = application(database)) {
+            var admin = a.getBean(UserRepository.class).findByEmail("admin@admin").orElseThrow();
+            a.getBean(UserService.class).getUserById(admin.getId());
+            var pageable = PageRequest.of(0, 10);
+            a.getBean(GroupService.class).getGroups(pageable);
+
+            var users = (TwoTierCache) b.getBean(CacheManager.class).getCache(EntityCache.USERS);
+            assertThat(users.getLocal().get(admin.getId())).isNull();
+            // read from Redis, deserialized with the Hibernate collections it was cached with
+            var user = users.get(admin.getId(), User.class);
+            assertThat(user.getEmail()).isEqualTo("admin@admin");
+            assertThat(user.getGroups()).isNotEmpty()
+                    .allSatisfy(group -> assertThat(group.getName()).isNotBlank());
+            assertThat(user.getAuthorities()).isNotEmpty();
+            assertThat(new UserDTO(user).getGroup()).hasSameSizeAs(user.getGroups());
+            // the cached entity is what the other node serves
+            assertThat(b.getBean(UserService.class).getUserById(admin.getId())).contains(user);
+
+            var groups = (TwoTierCache) b.getBean(CacheManager.class).getCache(EntityCache.GROUPS);
+            @SuppressWarnings("unchecked")
+            Page<Group> page = groups.get(pageable, Page.class);
+            assertThat(page.getContent()).isNotEmpty()
+                    .allSatisfy(group -> {
+                        // members are not loaded with the page, and are not needed to use the group
+                        assertThat(Hibernate.isInitialized(group.getUsers())).isFalse();
+                        assertThat(new GroupDTO(group).getName()).isEqualTo(group.getName());
+                    });
+        }
+    }
+
+    private ConfigurableApplicationContext application(String database) {
+        // arguments, default properties would not override application.properties
+        return new SpringApplicationBuilder(EdusupplyApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + database,
+                "--cache.redis.enabled=true",
+                "--spring.data.redis.port=" + port,
+                "--outbox.relay.interval-ms=3600000",
+                "--logging.level.root=WARN");
+    }
+
+    private Node node(int redisPort) {
+        var connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redisPort),
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofMillis(500)).build());
+        connectionFactory.afterPropertiesSet();
+        var availability = new RedisAvailability(60_000);
+        var clusterSync = new RedisClusterSync(connectionFactory, availability);
+        clusterSync.start();
+
+        var remoteCacheManager = RedisCacheManager.builder(connectionFactory)
+                .withInitialCacheConfigurations(Map.of("test", RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(1))
+                        .disableCachingNullValues()))
+                .build();
+        remoteCacheManager.afterPropertiesSet();
+        var cache = new TwoTierCache(new CaffeineCache("test", Caffeine.newBuilder().build(), false),
+                remoteCacheManager.getCache("test"), availability, clusterSync);
+        clusterSync.subscribe(TwoTierCache.TOPIC, payload -> cache.onInvalidation((TwoTierCache.Invalidation) payload));
+
+        var denylist = new TokenDenylist(TOKEN_LIFETIME_MS, clusterSync);
+        denylist.loadShared();
+        var node = new Node(connectionFactory, clusterSync, availability, cache, denylist);
+        nodes.add(node);
+        return node;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met within 5 s").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Node(LettuceConnectionFactory connectionFactory, RedisClusterSync clusterSync,
+                        RedisAvailability availability, TwoTierCache cache, TokenDenylist denylist) {
+
+        void stop() throws Exception {
+            clusterSync.stop();
+            connectionFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.dto.user.ImportOutcome;
+import com.bid90.edusupply.dto.user.ImportResultDTO;
+import com.bid90.edusupply.model.Group;
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.repository.GroupRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.JwtTokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk import through {@code POST /api/user/bulk}: per-row outcomes in upload order, chunked inserts with
+ * group memberships, and rejection of duplicate emails inside the upload and against existing users.
+ */
+@SpringBootTest(properties = "user.import.batch-size=2")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserImportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private JwtTokenService jwtTokenService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeAll
+    void setup() {
+        var group = new Group();
+        group.setName("IMPORT_A");
+        group.setDescription("IMPORT_A");
+        groupRepository.save(group);
+
+        var admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        token = jwtTokenService.generateToken(admin.getId().toString(),
+                Map.of("id", UUID.randomUUID().toString(), "role", Role.ADMIN.name()));
+    }
+
+    @Test
+    void importsCsvRowByRow() throws Exception {
+        var csv = """
+                name,email,password,role,enabled,groups
+                Ann,ann@import.test,Secret123@,MANAGER,true,IMPORT_A
+                "Doe, Bob",bob@import.test,Secret123@,,,
+                Twin,ann@import.test,Secret123@,,,
+                Admin,admin@admin,Secret123@,,,
+                Weak,weak@import.test,weak,,,
+                Lost,lost@import.test,Secret123@,,,NO_SUCH_GROUP
+                """;
+
+        var results = importUsers("text/csv", csv);
+
+        assertThat(results).extracting(ImportResultDTO::getRow).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(results).extracting(ImportResultDTO::getOutcome).containsExactly(
+                ImportOutcome.CREATED, ImportOutcome.CREATED, ImportOutcome.REJECTED,
+                ImportOutcome.REJECTED, ImportOutcome.REJECTED, ImportOutcome.REJECTED);
+        assertThat(results.get(2).getViolations()).contains("Email already exists");
+        assertThat(results.get(5).getViolations()).contains("Unknown group NO_SUCH_GROUP");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var ann = userRepository.findByEmailWithGroups("ann@import.test").orElseThrow();
+            assertThat(ann.getId()).isEqualTo(results.get(0).getId());
+            assertThat(ann.getRole()).isEqualTo(Role.MANAGER);
+            assertThat(passwordEncoder.matches("Secret123@", ann.getPassword())).isTrue();
+            assertThat(ann.getGroups()).extracting(Group::getName).containsExactly("IMPORT_A");
+
+            var bob = userRepository.findByEmail("bob@import.test").orElseThrow();
+            assertThat(bob.getName()).isEqualTo("Doe, Bob");
+            assertThat(bob.getRole()).isEqualTo(Role.USER);
+            assertThat(bob.isEnabled()).isTrue();
+        });
+    }
+
+    @Test
+    void importsNdjson() throws Exception {
+        var ndjson = """
+                {"name":"Cleo","email":"cleo@import.test","password":"Secret123@","groups":["IMPORT_A"]}
+                {"name":"Dan","email":"dan@import.test","password":"Secret123@","role":"NOT_A_ROLE"}
+                {"name":"Eve","email":"eve@import.test","password":"Secret123@","enabled":false}
+                """;
+
+        var results = importUsers("application/x-ndjson", ndjson);
+
+        assertThat(results).extracting(ImportResultDTO::getOutcome).containsExactly(
+                ImportOutcome.CREATED, ImportOutcome.REJECTED, ImportOutcome.CREATED);
+        assertThat(userRepository.findByEmail("eve@import.test").orElseThrow().isEnabled()).isFalse();
+    }
+
+    private List<ImportResultDTO> importUsers(String contentType, String body) throws Exception {
+        var response = mockMvc.perform(post("/api/user/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<ImportResultDTO> results = new ArrayList<>();
+        for (var line : response.split("\n")) {
+            results.add(objectMapper.readValue(line, ImportResultDTO.class));
+        }
+        return results;
+    }
+}
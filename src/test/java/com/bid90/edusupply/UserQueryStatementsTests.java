@@ -0,0 +1,137 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.dto.auth.LoginRequestDTO;
+import com.bid90.edusupply.model.Group;
+import com.bid90.edusupply.model.User;
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.repository.GroupRepository;
+import com.bid90.edusupply.repository.UserRepository;
+import com.bid90.edusupply.service.AuthService;
+import com.bid90.edusupply.service.JwtTokenService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the user and group endpoints run a fixed number of SQL statements, whatever the page size.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // the relay polls the outbox on its own thread, which would count in the statistics
+        "outbox.relay.interval-ms=3600000"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserQueryStatementsTests {
+
+    private static final int USERS = 60;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private JwtTokenService jwtTokenService;
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String token;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        var groups = List.of(newGroup("STATS_A"), newGroup("STATS_B"), newGroup("STATS_C"));
+        for (int i = 0; i < USERS; i++) {
+            var user = new User();
+            user.setName("Stats " + i);
+            user.setEmail("stats" + i + "@school.test");
+            user.setPassword("not-a-hash");
+            user.setRole(Role.USER);
+            user.getGroups().add(groups.get(i % 3));
+            user.getGroups().add(groups.get((i + 1) % 3));
+            userRepository.save(user);
+        }
+
+        var admin = userRepository.findByEmail("admin@admin").orElseThrow();
+        token = jwtTokenService.generateToken(admin.getId().toString(),
+                Map.of("id", UUID.randomUUID().toString(), "role", Role.ADMIN.name()));
+    }
+
+    @Test
+    void userPageStatementsDoNotDependOnPageSize() throws Exception {
+        // warm up the token cache so the filter does not add a user lookup
+        statementsFor("/api/user?size=2");
+
+        long small = statementsFor("/api/user?size=2");
+        long large = statementsFor("/api/user?size=40");
+
+        assertThat(large).isEqualTo(small);
+        // rows + count + group memberships
+        assertThat(large).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void userKeysetStatementsDoNotDependOnPageSize() throws Exception {
+        statementsFor("/api/user?after=0&size=2");
+
+        long small = statementsFor("/api/user?after=0&size=2");
+        long large = statementsFor("/api/user?after=0&size=40");
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void groupPageStatements() throws Exception {
+        statementsFor("/api/group?size=2");
+
+        assertThat(statementsFor("/api/group?size=2")).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void loginLoadsUserAndGroupsInOneStatement() {
+        var login = new LoginRequestDTO();
+        login.setEmail("admin@admin");
+        login.setPassword("Admin123@");
+
+        statistics.clear();
+        var response = authService.login(login);
+
+        assertThat(response.getUser().getGroup()).isNotEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private long statementsFor(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Group newGroup(String name) {
+        var group = new Group();
+        group.setName(name);
+        group.setDescription(name);
+        return groupRepository.save(group);
+    }
+}
@@ -0,0 +1,155 @@
+package com.bid90.edusupply;
+
+import com.bid90.edusupply.dto.user.RegisterUserDTO;
+import com.bid90.edusupply.dto.user.UpdateUserDTO;
+import com.bid90.edusupply.exception.UserException;
+import com.bid90.edusupply.model.Role;
+import com.bid90.edusupply.service.UserValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Every rule of the user validator, that all violations are reported together, and that long adversarial input
+ * is rejected in time linear in the capped length.
+ */
+class UserValidatorTests {
+
+    private static final String PASSWORD_RULES =
+            "Password must be at least 8 characters, include an uppercase letter, a number, and a special character";
+
+    private final UserValidator validator = new UserValidator();
+
+    @Test
+    void acceptsAValidUser() {
+        assertThat(validator.validate(user("jane@school.test", "Jane", "Secret123@", Role.USER))).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidEmails() {
+        assertThat(validator.validate(user(null, "Jane", "Secret123@", Role.USER)))
+                .containsExactly("Invalid email format");
+        assertThat(validator.validate(user("jane.school.test", "Jane", "Secret123@", Role.USER)))
+                .containsExactly("Invalid email format");
+        assertThat(validator.validate(user("jane doe@school.test", "Jane", "Secret123@", Role.USER)))
+                .containsExactly("Invalid email format");
+        assertThat(validator.validate(user("a".repeat(250) + "@school.test", "Jane", "Secret123@", Role.USER)))
+                .containsExactly("Invalid email format");
+    }
+
+    @Test
+    void rejectsEmptyAndTooLongNames() {
+        assertThat(validator.validate(user("jane@school.test", null, "Secret123@", Role.USER)))
+                .containsExactly("Name cannot be empty");
+        assertThat(validator.validate(user("jane@school.test", "   ", "Secret123@", Role.USER)))
+                .containsExactly("Name cannot be empty");
+        assertThat(validator.validate(user("jane@school.test", "n".repeat(256), "Secret123@", Role.USER)))
+                .containsExactly("Name cannot be longer than 255 characters");
+        assertThat(validator.validate(user("jane@school.test", "n".repeat(255), "Secret123@", Role.USER))).isEmpty();
+    }
+
+    @Test
+    void rejectsPasswordsBreakingAnyRule() {
+        for (var password : List.of("Sec12@", "secret123@", "SecretABC@", "Secret1234", "Secret 123@", "Sécret123@")) {
+            assertThat(validator.validate(user("jane@school.test", "Jane", password, Role.USER)))
+                    .as(password)
+                    .containsExactly(PASSWORD_RULES);
+        }
+        assertThat(validator.validate(user("jane@school.test", "Jane", null, Role.USER)))
+                .containsExactly(PASSWORD_RULES);
+    }
+
+    @Test
+    void rejectsPasswordsLongerThanBcryptUses() {
+        var longest = "Secret123@" + "a".repeat(62);
+
+        assertThat(validator.validate(user("jane@school.test", "Jane", longest, Role.USER))).isEmpty();
+        assertThat(validator.validate(user("jane@school.test", "Jane", longest + "a", Role.USER)))
+                .containsExactly("Password cannot be longer than 72 characters");
+    }
+
+    @Test
+    void requiresARole() {
+        assertThat(validator.validate(user("jane@school.test", "Jane", "Secret123@", null)))
+                .containsExactly("Role is required");
+    }
+
+    @Test
+    void collectsAllViolations() {
+        assertThat(validator.validate(user("not-an-email", "", "short", null))).containsExactly(
+                "Invalid email format",
+                "Name cannot be empty",
+                PASSWORD_RULES,
+                "Role is required");
+    }
+
+    @Test
+    void checksOnlyTheFieldsPresentInAnUpdate() {
+        assertThat(validator.validate(new UpdateUserDTO())).isEmpty();
+        assertThat(validator.validate(update(null, "Jane", null))).isEmpty();
+        assertThat(validator.validate(update("jane@school.test", null, null))).isEmpty();
+        assertThat(validator.validate(update(null, null, "Secret123@"))).isEmpty();
+        assertThat(validator.validate(update("not-an-email", " ", "short"))).containsExactly(
+                "Invalid email format",
+                "Name cannot be empty",
+                PASSWORD_RULES);
+    }
+
+    @Test
+    void rejectsLongAdversarialInputQuickly() {
+        // inputs that make backtracking patterns explode: long runs almost matching the email and password rules
+        var email = "a".repeat(100_000) + "@";
+        var name = "n".repeat(100_000);
+        var password = "Aa1".repeat(100_000) + "\u0000";
+
+        var violations = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> validator.validate(user(email, name, password, Role.USER)));
+
+        assertThat(violations).containsExactly(
+                "Invalid email format",
+                "Name cannot be longer than 255 characters",
+                "Password cannot be longer than 72 characters");
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (int i = 0; i < 10_000; i++) {
+                validator.validate(user("a".repeat(200) + "@", "Jane", "Aa1Aa1Aa1" + "a".repeat(60) + "~", Role.USER));
+            }
+        });
+    }
+
+    @Test
+    void requireValidReportsEveryViolation() {
+        var violations = validator.validate(user("not-an-email", "", "Secret123@", Role.USER));
+
+        assertThatThrownBy(() -> validator.requireValid(violations))
+                .isInstanceOfSatisfying(UserException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(e.getViolations()).containsExactly("Invalid email format", "Name cannot be empty");
+                    assertThat(e.getMessage()).isEqualTo("Invalid email format; Name cannot be empty");
+                });
+        assertThatCode(() -> validator.requireValid(List.of())).doesNotThrowAnyException();
+    }
+
+    private static RegisterUserDTO user(String email, String name, String password, Role role) {
+        var user = new RegisterUserDTO();
+        user.setEmail(email);
+        user.setName(name);
+        user.setPassword(password);
+        user.setRole(role);
+        return user;
+    }
+
+    private static UpdateUserDTO update(String email, String name, String password) {
+        var update = new UpdateUserDTO();
+        update.setEmail(email);
+        update.setName(name);
+        update.setPassword(password);
+        return update;
+    }
+}